@@ -1,26 +1,44 @@
 package io.github.renhaowan.multilogin.autoconfigure;
 
 import io.github.renhaowan.multilogin.autoconfigure.config.DefaultExtractorConfig;
+import io.github.renhaowan.multilogin.autoconfigure.config.DefaultLoginAuditConfig;
 import io.github.renhaowan.multilogin.autoconfigure.config.DefaultLoginHandlerConfig;
+import io.github.renhaowan.multilogin.autoconfigure.config.DefaultPasswordVerifierConfig;
+import io.github.renhaowan.multilogin.autoconfigure.config.DefaultPostAuthenticationConfig;
+import io.github.renhaowan.multilogin.autoconfigure.config.DefaultRememberMeConfig;
+import io.github.renhaowan.multilogin.autoconfigure.config.DefaultSessionLimitConfig;
+import io.github.renhaowan.multilogin.autoconfigure.config.DefaultTenantLoginConfig;
+import io.github.renhaowan.multilogin.autoconfigure.config.DefaultVerificationCodeConfig;
+import io.github.renhaowan.multilogin.autoconfigure.config.DefaultWarmUpConfig;
 import io.github.renhaowan.multilogin.autoconfigure.factory.DynamicAuthenticationFilterFactory;
+import io.github.renhaowan.multilogin.core.cache.CandidateCacheRegistry;
+import io.github.renhaowan.multilogin.core.ip.IpAccessListRegistry;
 import io.github.renhaowan.multilogin.core.properties.MultiLoginProperties;
+import io.github.renhaowan.multilogin.core.service.existence.PrincipalExistenceFilterRegistry;
+import io.github.renhaowan.multilogin.core.service.precheck.PreAuthenticationExecutors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.web.authentication.AbstractAuthenticationProcessingFilter;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * @author wan
  * 配置过滤器
  */
 @AutoConfiguration
-@Import({DefaultLoginHandlerConfig.class, DefaultExtractorConfig.class})
+@Import({DefaultLoginHandlerConfig.class, DefaultExtractorConfig.class, DefaultVerificationCodeConfig.class,
+        DefaultLoginAuditConfig.class, DefaultTenantLoginConfig.class, DefaultWarmUpConfig.class,
+        DefaultSessionLimitConfig.class, DefaultPasswordVerifierConfig.class, DefaultPostAuthenticationConfig.class,
+        DefaultRememberMeConfig.class})
 @EnableConfigurationProperties(MultiLoginProperties.class)
 @RequiredArgsConstructor
 @ConditionalOnProperty(prefix = "multi-login", name = "enabled", havingValue = "true")
@@ -29,6 +47,40 @@ public class MultiLoginAutoConfiguration {
     private final MultiLoginProperties properties;
     private final ApplicationContext applicationContext;
 
+    /**
+     * 候选用户缓存注册中心，业务方在用户信息变更时通过它使缓存失效
+     */
+    @Bean("candidateCacheRegistry")
+    public CandidateCacheRegistry candidateCacheRegistry() {
+        return new CandidateCacheRegistry();
+    }
+
+    /**
+     * 主体存在性过滤器注册中心，业务方在新用户注册时通过它增量加入主体；容器关闭时写回快照
+     */
+    @Bean("principalExistenceFilterRegistry")
+    public PrincipalExistenceFilterRegistry principalExistenceFilterRegistry() {
+        return new PrincipalExistenceFilterRegistry();
+    }
+
+    /**
+     * IP 访问控制注册中心，网段文件变更后可通过它热更新
+     */
+    @Bean("ipAccessListRegistry")
+    public IpAccessListRegistry ipAccessListRegistry() {
+        return new IpAccessListRegistry(properties.getGlobal());
+    }
+
+    /**
+     * 认证前置检查线程池，仅在有登录方式配置前置检查时创建；JDK 21+ 使用虚拟线程
+     */
+    @Bean("preAuthenticationExecutor")
+    @Lazy
+    @ConditionalOnMissingBean(name = "preAuthenticationExecutor")
+    public ExecutorService preAuthenticationExecutor() {
+        return PreAuthenticationExecutors.newExecutor(properties.getGlobal().getPreAuthenticationThreads());
+    }
+
     /**
      * 自动装配所有的自定义认证过滤器
      * 过滤器列表将被 MultiLoginSecurityConfigurer 注入到 Spring Security 链中。
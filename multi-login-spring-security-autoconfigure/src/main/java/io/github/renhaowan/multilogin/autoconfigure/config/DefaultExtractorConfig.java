@@ -1,17 +1,28 @@
 package io.github.renhaowan.multilogin.autoconfigure.config;
 
 import io.github.renhaowan.multilogin.core.service.extractor.ClientTypeExtractor;
+import io.github.renhaowan.multilogin.core.service.extractor.ContentNegotiatingParameterExtractor;
 import io.github.renhaowan.multilogin.core.service.extractor.ParameterExtractor;
+import io.github.renhaowan.multilogin.core.service.extractor.impl.CborParameterExtractor;
 import io.github.renhaowan.multilogin.core.service.extractor.impl.FormParameterExtractor;
 import io.github.renhaowan.multilogin.core.service.extractor.impl.HeaderClientTypeExtractor;
 import io.github.renhaowan.multilogin.core.service.extractor.impl.JsonParameterExtractor;
+import io.github.renhaowan.multilogin.core.service.extractor.impl.MessagePackParameterExtractor;
+import io.github.renhaowan.multilogin.core.service.extractor.impl.SmileParameterExtractor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
 
 /**
  * 配置参数和客户端类型提取器
+ * 内置提取器持有登录方式配置，因此为原型作用域，每个登录方式获取独立实例；
+ * 二进制请求体提取器在引入对应依赖时由嵌套配置类注册
  *
  * @author wan
  */
+@Configuration
 public class DefaultExtractorConfig {
 
     /**
@@ -20,6 +31,7 @@ public class DefaultExtractorConfig {
      * @return 表单参数提取器
      */
     @Bean("formParameterExtractor")
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
     public ParameterExtractor parameterExtractor() {
         return new FormParameterExtractor();
     }
@@ -30,17 +42,72 @@ public class DefaultExtractorConfig {
      * @return JSON参数提取器
      */
     @Bean("jsonParameterExtractor")
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
     public ParameterExtractor jsonParameterExtractor() {
         return new JsonParameterExtractor();
     }
 
+    /**
+     * 按 Content-Type 分派的组合参数提取器，分派表由 parameter-extractors 映射在启动时编译
+     *
+     * @return 组合参数提取器
+     */
+    @Bean("contentNegotiatingParameterExtractor")
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+    public ParameterExtractor contentNegotiatingParameterExtractor() {
+        return new ContentNegotiatingParameterExtractor();
+    }
+
     /**
      * 默认客户端类型提取器
      *
      * @return 请求头客户端类型提取器
      */
     @Bean("headerClientTypeExtractor")
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
     public ClientTypeExtractor clientTypeExtractor() {
         return new HeaderClientTypeExtractor();
     }
+
+    /**
+     * CBOR 参数提取器，需引入 jackson-dataformat-cbor
+     */
+    @Configuration
+    @ConditionalOnClass(name = "com.fasterxml.jackson.dataformat.cbor.CBORFactory")
+    static class CborExtractorConfig {
+
+        @Bean("cborParameterExtractor")
+        @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+        public ParameterExtractor cborParameterExtractor() {
+            return new CborParameterExtractor();
+        }
+    }
+
+    /**
+     * Smile 参数提取器，需引入 jackson-dataformat-smile
+     */
+    @Configuration
+    @ConditionalOnClass(name = "com.fasterxml.jackson.dataformat.smile.SmileFactory")
+    static class SmileExtractorConfig {
+
+        @Bean("smileParameterExtractor")
+        @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+        public ParameterExtractor smileParameterExtractor() {
+            return new SmileParameterExtractor();
+        }
+    }
+
+    /**
+     * MessagePack 参数提取器，需引入 org.msgpack:jackson-dataformat-msgpack
+     */
+    @Configuration
+    @ConditionalOnClass(name = "org.msgpack.jackson.dataformat.MessagePackFactory")
+    static class MessagePackExtractorConfig {
+
+        @Bean("messagePackParameterExtractor")
+        @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+        public ParameterExtractor messagePackParameterExtractor() {
+            return new MessagePackParameterExtractor();
+        }
+    }
 }
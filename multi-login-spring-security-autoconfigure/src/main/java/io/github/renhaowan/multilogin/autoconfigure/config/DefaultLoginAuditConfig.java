@@ -0,0 +1,78 @@
+package io.github.renhaowan.multilogin.autoconfigure.config;
+
+import io.github.renhaowan.multilogin.core.audit.LoginAuditPipeline;
+import io.github.renhaowan.multilogin.core.audit.LoginAuditSink;
+import io.github.renhaowan.multilogin.core.audit.impl.FileChannelLoginAuditSink;
+import io.github.renhaowan.multilogin.core.audit.impl.JdbcLoginAuditSink;
+import io.github.renhaowan.multilogin.core.properties.MultiLoginProperties;
+import io.github.renhaowan.multilogin.core.properties.config.AuditConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * 登录审计配置
+ * 通过 multi-login.audit.enabled 开启；容器中所有 LoginAuditSink Bean（内置文件/JDBC 及业务自定义）都会收到审计事件。
+ *
+ * @author wan
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "multi-login.audit", name = "enabled", havingValue = "true")
+public class DefaultLoginAuditConfig {
+
+    /**
+     * 审计管道
+     *
+     * @return 审计管道
+     */
+    @Bean("loginAuditPipeline")
+    public LoginAuditPipeline loginAuditPipeline(MultiLoginProperties properties, ObjectProvider<LoginAuditSink> sinks) {
+        AuditConfig config = properties.getAudit();
+        return new LoginAuditPipeline(sinks.orderedStream().toList(), config.getBufferSize(), config.getBatchSize(),
+                config.getIdleWait(), config.getOverflowPolicy(), config.getSampleRate());
+    }
+
+    /**
+     * 内置滚动文件审计输出端
+     *
+     * @return 文件审计输出端
+     */
+    @Bean("fileLoginAuditSink")
+    @ConditionalOnProperty(prefix = "multi-login.audit.file", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FileChannelLoginAuditSink fileLoginAuditSink(MultiLoginProperties properties) throws IOException {
+        AuditConfig.File config = properties.getAudit().getFile();
+        return new FileChannelLoginAuditSink(Paths.get(config.getDirectory()), config.getFileName(),
+                config.getMaxFileSize().toBytes(), config.isFsync());
+    }
+
+    /**
+     * 内置 JDBC 审计输出端
+     */
+    @Configuration
+    @ConditionalOnClass(JdbcTemplate.class)
+    @ConditionalOnProperty(prefix = "multi-login.audit.jdbc", name = "enabled", havingValue = "true")
+    static class JdbcLoginAuditSinkConfig {
+
+        /**
+         * JDBC 审计输出端
+         *
+         * @return JDBC 审计输出端
+         */
+        @Bean("jdbcLoginAuditSink")
+        public JdbcLoginAuditSink jdbcLoginAuditSink(MultiLoginProperties properties, DataSource dataSource) {
+            AuditConfig.Jdbc config = properties.getAudit().getJdbc();
+            JdbcLoginAuditSink sink = new JdbcLoginAuditSink(new JdbcTemplate(dataSource), config.getTableName());
+            if (config.isCreateTableOnStartup()) {
+                sink.createTable(config.getTableName());
+            }
+            return sink;
+        }
+    }
+}
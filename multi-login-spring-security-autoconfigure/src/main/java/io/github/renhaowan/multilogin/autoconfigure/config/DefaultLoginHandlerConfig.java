@@ -1,7 +1,10 @@
 package io.github.renhaowan.multilogin.autoconfigure.config;
 
 import io.github.renhaowan.multilogin.core.service.handler.DefaultFailureHandler;
+import io.github.renhaowan.multilogin.core.properties.MultiLoginProperties;
 import io.github.renhaowan.multilogin.core.service.handler.DefaultSuccessHandler;
+import io.github.renhaowan.multilogin.core.service.handler.JwtSuccessHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.web.authentication.AuthenticationFailureHandler;
@@ -31,4 +34,14 @@ public class DefaultLoginHandlerConfig {
     public AuthenticationFailureHandler defaultFailureHandler(){
         return new DefaultFailureHandler();
     }
+
+    /**
+     * 内置 JWT 签发成功处理器，通过 handler.success-handler: jwtSuccessHandler 选用
+     * @return JWT 签发成功处理器
+     */
+    @Bean("jwtSuccessHandler")
+    @ConditionalOnProperty(prefix = "multi-login.jwt", name = "enabled", havingValue = "true")
+    public AuthenticationSuccessHandler jwtSuccessHandler(MultiLoginProperties multiLoginProperties){
+        return new JwtSuccessHandler(multiLoginProperties.getJwt());
+    }
 }
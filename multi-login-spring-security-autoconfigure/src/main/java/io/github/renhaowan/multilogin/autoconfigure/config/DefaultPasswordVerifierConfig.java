@@ -0,0 +1,43 @@
+package io.github.renhaowan.multilogin.autoconfigure.config;
+
+import io.github.renhaowan.multilogin.core.properties.MultiLoginProperties;
+import io.github.renhaowan.multilogin.core.properties.config.LoginMethodConfig;
+import io.github.renhaowan.multilogin.core.service.password.PasswordCredentialVerifier;
+import io.github.renhaowan.multilogin.core.service.password.PasswordRehashCallback;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 内置密码校验器配置
+ * 通过 multi-login.password.enabled 开启；容器中存在 PasswordRehashCallback Bean 时启用后台哈希升级。
+ *
+ * @author wan
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "multi-login.password", name = "enabled", havingValue = "true")
+public class DefaultPasswordVerifierConfig {
+
+    /**
+     * 密码校验器，启动时测算 BCrypt 强度
+     *
+     * @return 密码校验器
+     */
+    @Bean("passwordCredentialVerifier")
+    @ConditionalOnMissingBean(PasswordCredentialVerifier.class)
+    public PasswordCredentialVerifier passwordCredentialVerifier(MultiLoginProperties properties,
+                                                                 ObjectProvider<PasswordRehashCallback> rehashCallback) {
+        Map<String, String> credentialParamNames = new HashMap<>();
+        for (LoginMethodConfig method : properties.getMethods().values()) {
+            if (!method.getCredentialParamName().isEmpty()) {
+                credentialParamNames.put(method.getName(), method.getCredentialParamName().get(0));
+            }
+        }
+        return new PasswordCredentialVerifier(properties.getPassword(), credentialParamNames, rehashCallback.getIfAvailable());
+    }
+}
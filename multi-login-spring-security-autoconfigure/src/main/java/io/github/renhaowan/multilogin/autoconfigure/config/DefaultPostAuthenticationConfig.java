@@ -0,0 +1,34 @@
+package io.github.renhaowan.multilogin.autoconfigure.config;
+
+import io.github.renhaowan.multilogin.core.hook.PostAuthenticationHook;
+import io.github.renhaowan.multilogin.core.hook.PostAuthenticationHookPipeline;
+import io.github.renhaowan.multilogin.core.properties.MultiLoginProperties;
+import io.github.renhaowan.multilogin.core.properties.config.PostAuthenticationConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 登录成功钩子配置
+ * 通过 multi-login.post-authentication.enabled 开启；容器中所有 PostAuthenticationHook Bean 都会收到登录成功事件。
+ *
+ * @author wan
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "multi-login.post-authentication", name = "enabled", havingValue = "true")
+public class DefaultPostAuthenticationConfig {
+
+    /**
+     * 登录成功钩子管道，容器关闭时刷出暂存的事件
+     *
+     * @return 登录成功钩子管道
+     */
+    @Bean("postAuthenticationHookPipeline")
+    public PostAuthenticationHookPipeline postAuthenticationHookPipeline(MultiLoginProperties properties,
+                                                                         ObjectProvider<PostAuthenticationHook> hooks) {
+        PostAuthenticationConfig config = properties.getPostAuthentication();
+        return new PostAuthenticationHookPipeline(hooks.orderedStream().toList(), config.getThreads(),
+                config.getQueueCapacity(), config.getFlushInterval(), config.getMaxPendingKeys(), config.getDrainTimeout());
+    }
+}
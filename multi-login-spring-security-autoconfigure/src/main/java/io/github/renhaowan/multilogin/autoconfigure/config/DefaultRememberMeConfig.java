@@ -0,0 +1,80 @@
+package io.github.renhaowan.multilogin.autoconfigure.config;
+
+import io.github.renhaowan.multilogin.core.properties.MultiLoginProperties;
+import io.github.renhaowan.multilogin.core.properties.config.RememberMeConfig;
+import io.github.renhaowan.multilogin.core.rememberme.CachingJdbcTokenRepository;
+import io.github.renhaowan.multilogin.core.rememberme.MultiLoginRememberMeServices;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.web.authentication.rememberme.InMemoryTokenRepositoryImpl;
+import org.springframework.security.web.authentication.rememberme.PersistentTokenRepository;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 记住我配置
+ * 通过 multi-login.global.remember-me.enabled 开启；默认令牌保存在内存中，集群部署可启用带本地缓存的 JDBC 令牌存储或提供自定义 PersistentTokenRepository Bean。
+ *
+ * @author wan
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "multi-login.global.remember-me", name = "enabled", havingValue = "true")
+public class DefaultRememberMeConfig {
+
+    /**
+     * 按客户端类型路由的记住我服务，各登录方式的服务由工厂注册
+     *
+     * @return 记住我服务
+     */
+    @Bean("multiLoginRememberMeServices")
+    public MultiLoginRememberMeServices multiLoginRememberMeServices(MultiLoginProperties properties) {
+        String key = Optional.ofNullable(properties.getGlobal().getRememberMe().getKey())
+                .orElseGet(() -> UUID.randomUUID().toString());
+        return new MultiLoginRememberMeServices(key);
+    }
+
+    /**
+     * 内存令牌存储
+     *
+     * @return 令牌存储
+     */
+    @Bean("persistentTokenRepository")
+    @ConditionalOnMissingBean(PersistentTokenRepository.class)
+    @ConditionalOnProperty(prefix = "multi-login.global.remember-me.jdbc", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public InMemoryTokenRepositoryImpl persistentTokenRepository() {
+        return new InMemoryTokenRepositoryImpl();
+    }
+
+    /**
+     * JDBC 令牌存储
+     */
+    @Configuration
+    @ConditionalOnClass(JdbcTemplate.class)
+    @ConditionalOnProperty(prefix = "multi-login.global.remember-me.jdbc", name = "enabled", havingValue = "true")
+    static class JdbcTokenRepositoryConfig {
+
+        /**
+         * 带本地 series 缓存、按旧令牌条件轮换的 JDBC 令牌存储
+         *
+         * @return 令牌存储
+         */
+        @Bean("persistentTokenRepository")
+        @ConditionalOnMissingBean(PersistentTokenRepository.class)
+        public CachingJdbcTokenRepository persistentTokenRepository(MultiLoginProperties properties, DataSource dataSource) {
+            RememberMeConfig config = properties.getGlobal().getRememberMe();
+            RememberMeConfig.Jdbc jdbc = config.getJdbc();
+            CachingJdbcTokenRepository repository = new CachingJdbcTokenRepository(new JdbcTemplate(dataSource),
+                    jdbc.getTableName(), config.getCache().getMaximumSize(), config.getCache().getExpireAfterWrite());
+            if (jdbc.isCreateTableOnStartup()) {
+                repository.createTable(jdbc.getTableName());
+            }
+            return repository;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.renhaowan.multilogin.autoconfigure.config;
+
+import io.github.renhaowan.multilogin.core.properties.MultiLoginProperties;
+import io.github.renhaowan.multilogin.core.properties.config.SessionLimitConfig;
+import io.github.renhaowan.multilogin.core.session.ClientTypeSessionRegistry;
+import io.github.renhaowan.multilogin.core.session.JdbcSessionRegistry;
+import io.github.renhaowan.multilogin.core.session.StripedSessionRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.web.session.HttpSessionEventPublisher;
+
+import javax.sql.DataSource;
+
+/**
+ * 并发会话限制配置
+ * 通过 multi-login.global.session-limit.enabled 开启；默认使用内存会话注册表，集群部署可启用 JDBC 注册表或提供自定义 ClientTypeSessionRegistry Bean。
+ *
+ * @author wan
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "multi-login.global.session-limit", name = "enabled", havingValue = "true")
+public class DefaultSessionLimitConfig {
+
+    /**
+     * 内存会话注册表
+     *
+     * @return 会话注册表
+     */
+    @Bean("clientTypeSessionRegistry")
+    @ConditionalOnMissingBean(ClientTypeSessionRegistry.class)
+    @ConditionalOnProperty(prefix = "multi-login.global.session-limit.jdbc", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public StripedSessionRegistry clientTypeSessionRegistry() {
+        return new StripedSessionRegistry();
+    }
+
+    /**
+     * 会话销毁事件发布器，注册表据此清理已销毁的会话
+     *
+     * @return 会话事件发布器
+     */
+    @Bean("httpSessionEventPublisher")
+    @ConditionalOnMissingBean(HttpSessionEventPublisher.class)
+    public HttpSessionEventPublisher httpSessionEventPublisher() {
+        return new HttpSessionEventPublisher();
+    }
+
+    /**
+     * JDBC 共享会话注册表
+     */
+    @Configuration
+    @ConditionalOnClass(JdbcTemplate.class)
+    @ConditionalOnProperty(prefix = "multi-login.global.session-limit.jdbc", name = "enabled", havingValue = "true")
+    static class JdbcSessionRegistryConfig {
+
+        /**
+         * JDBC 会话注册表
+         *
+         * @return 会话注册表
+         */
+        @Bean("clientTypeSessionRegistry")
+        @ConditionalOnMissingBean(ClientTypeSessionRegistry.class)
+        public JdbcSessionRegistry clientTypeSessionRegistry(MultiLoginProperties properties, DataSource dataSource) {
+            SessionLimitConfig.Jdbc config = properties.getGlobal().getSessionLimit().getJdbc();
+            JdbcSessionRegistry registry = new JdbcSessionRegistry(new JdbcTemplate(dataSource), config.getTableName(),
+                    config.getTouchInterval(), config.getStaleTimeout(), config.getCleanupInterval(), config.getLookupCacheTtl());
+            if (config.isCreateTableOnStartup()) {
+                registry.createTable(config.getTableName());
+            }
+            return registry;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.renhaowan.multilogin.autoconfigure.config;
+
+import io.github.renhaowan.multilogin.autoconfigure.factory.TenantLoginPlanCompiler;
+import io.github.renhaowan.multilogin.core.cache.CandidateCacheRegistry;
+import io.github.renhaowan.multilogin.core.properties.MultiLoginProperties;
+import io.github.renhaowan.multilogin.core.service.existence.PrincipalExistenceFilterRegistry;
+import io.github.renhaowan.multilogin.core.service.password.PasswordCredentialVerifier;
+import io.github.renhaowan.multilogin.core.tenant.LoginMethodConfigSource;
+import io.github.renhaowan.multilogin.core.tenant.TenantLoginFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 多租户登录配置
+ * 通过 multi-login.tenant.enabled 开启，需要业务方提供 LoginMethodConfigSource Bean。
+ * 过滤器由 MultiLoginSecurity 注入 Spring Security 链，不注册为 Servlet 容器级过滤器。
+ *
+ * @author wan
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "multi-login.tenant", name = "enabled", havingValue = "true")
+public class DefaultTenantLoginConfig {
+
+    /**
+     * 多租户登录过滤器
+     *
+     * @return 多租户登录过滤器
+     */
+    @Bean("tenantLoginFilter")
+    public TenantLoginFilter tenantLoginFilter(MultiLoginProperties properties, LoginMethodConfigSource configSource,
+                                               CandidateCacheRegistry candidateCacheRegistry,
+                                               PrincipalExistenceFilterRegistry existenceFilterRegistry,
+                                               ObjectProvider<PasswordCredentialVerifier> passwordVerifier,
+                                               ApplicationContext applicationContext) {
+        TenantLoginPlanCompiler compiler = new TenantLoginPlanCompiler(properties, configSource, applicationContext);
+        // 方案淘汰时释放按登录方式名称注册的候选用户缓存、存在性过滤器与密码参数名
+        return new TenantLoginFilter(properties.getTenant(), compiler, plan -> plan.methodNames().forEach(method -> {
+            candidateCacheRegistry.remove(method);
+            existenceFilterRegistry.remove(method);
+            passwordVerifier.ifAvailable(verifier -> verifier.unregister(method));
+        }));
+    }
+
+    /**
+     * 禁止 Spring Boot 将租户登录过滤器注册到 Servlet 容器
+     *
+     * @return 已禁用的过滤器注册
+     */
+    @Bean
+    public FilterRegistrationBean<TenantLoginFilter> tenantLoginFilterRegistration(TenantLoginFilter tenantLoginFilter) {
+        FilterRegistrationBean<TenantLoginFilter> registration = new FilterRegistrationBean<>(tenantLoginFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
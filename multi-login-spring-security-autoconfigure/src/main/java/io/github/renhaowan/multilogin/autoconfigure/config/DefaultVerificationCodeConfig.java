@@ -0,0 +1,66 @@
+package io.github.renhaowan.multilogin.autoconfigure.config;
+
+import io.github.renhaowan.multilogin.core.properties.MultiLoginProperties;
+import io.github.renhaowan.multilogin.core.properties.config.VerificationCodeConfig;
+import io.github.renhaowan.multilogin.core.service.code.VerificationCodeStore;
+import io.github.renhaowan.multilogin.core.service.code.impl.InMemoryVerificationCodeStore;
+import io.github.renhaowan.multilogin.core.service.code.impl.JdbcVerificationCodeStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * 内置验证码存储配置
+ * 通过 multi-login.verification-code.enabled 开启，store-type 选择内存或 JDBC 实现；
+ * 业务方自行声明 VerificationCodeStore Bean 时以业务方为准。
+ *
+ * @author wan
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "multi-login.verification-code", name = "enabled", havingValue = "true")
+public class DefaultVerificationCodeConfig {
+
+    /**
+     * 内存验证码存储（默认）
+     *
+     * @return 内存验证码存储
+     */
+    @Bean("verificationCodeStore")
+    @ConditionalOnMissingBean(VerificationCodeStore.class)
+    @ConditionalOnProperty(prefix = "multi-login.verification-code", name = "store-type", havingValue = "memory", matchIfMissing = true)
+    public VerificationCodeStore inMemoryVerificationCodeStore(MultiLoginProperties properties) {
+        VerificationCodeConfig config = properties.getVerificationCode();
+        return new InMemoryVerificationCodeStore(config.getMaxAttempts(), config.getTickDuration(), config.getWheelSize());
+    }
+
+    /**
+     * JDBC 验证码存储
+     */
+    @Configuration
+    @ConditionalOnClass(JdbcTemplate.class)
+    @ConditionalOnProperty(prefix = "multi-login.verification-code", name = "store-type", havingValue = "jdbc")
+    static class JdbcVerificationCodeStoreConfig {
+
+        /**
+         * JDBC 验证码存储
+         *
+         * @return JDBC 验证码存储
+         */
+        @Bean("verificationCodeStore")
+        @ConditionalOnMissingBean(VerificationCodeStore.class)
+        public VerificationCodeStore jdbcVerificationCodeStore(MultiLoginProperties properties, DataSource dataSource) {
+            VerificationCodeConfig config = properties.getVerificationCode();
+            JdbcVerificationCodeStore store = new JdbcVerificationCodeStore(
+                    new JdbcTemplate(dataSource), config.getTableName(), config.getMaxAttempts());
+            if (config.isCreateTableOnStartup()) {
+                store.createTable(config.getTableName());
+            }
+            return store;
+        }
+    }
+}
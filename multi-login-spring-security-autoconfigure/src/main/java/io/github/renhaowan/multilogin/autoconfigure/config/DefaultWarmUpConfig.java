@@ -0,0 +1,33 @@
+package io.github.renhaowan.multilogin.autoconfigure.config;
+
+import io.github.renhaowan.multilogin.autoconfigure.warmup.LoginPipelineWarmUpRunner;
+import io.github.renhaowan.multilogin.core.properties.MultiLoginProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.web.authentication.AbstractAuthenticationProcessingFilter;
+
+import java.util.List;
+
+/**
+ * 登录链路启动预热配置
+ * 通过 multi-login.warm-up.enabled 开启
+ *
+ * @author wan
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "multi-login.warm-up", name = "enabled", havingValue = "true")
+public class DefaultWarmUpConfig {
+
+    /**
+     * 登录链路预热
+     *
+     * @return 预热 Runner
+     */
+    @Bean("loginPipelineWarmUpRunner")
+    public LoginPipelineWarmUpRunner loginPipelineWarmUpRunner(MultiLoginProperties properties,
+                                                               @Qualifier("multiLoginFilters") List<AbstractAuthenticationProcessingFilter> filters) {
+        return new LoginPipelineWarmUpRunner(properties, filters);
+    }
+}
@@ -1,12 +1,16 @@
 package io.github.renhaowan.multilogin.autoconfigure.config;
 
 import io.github.renhaowan.multilogin.core.DynamicAuthenticationFilter;
+import io.github.renhaowan.multilogin.core.rememberme.MultiLoginRememberMeServices;
+import io.github.renhaowan.multilogin.core.session.ClientTypeSessionRegistry;
+import io.github.renhaowan.multilogin.core.tenant.TenantLoginFilter;
 import jakarta.annotation.Resource;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.authentication.AbstractAuthenticationProcessingFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.session.ConcurrentSessionFilter;
 
 import java.util.List;
 
@@ -35,6 +39,20 @@ public class MultiLoginSecurity {
             return;
         }
 
+        // 多租户登录过滤器：租户登录地址在运行期才确定，请求由过滤器直接处理，无需放行配置
+        applicationContext.getBeanProvider(TenantLoginFilter.class)
+                .ifAvailable(filter -> http.addFilterBefore(filter, UsernamePasswordAuthenticationFilter.class));
+
+        // 并发会话限制：被淘汰的会话在下一次请求时注销
+        applicationContext.getBeanProvider(ClientTypeSessionRegistry.class)
+                .ifAvailable(registry -> http.addFilter(new ConcurrentSessionFilter(registry)));
+
+        // 按客户端类型的记住我：自动登录过滤器与各登录过滤器共用同一个路由服务，退出登录时删除令牌
+        MultiLoginRememberMeServices rememberMeServices = applicationContext.getBeanProvider(MultiLoginRememberMeServices.class).getIfAvailable();
+        if (rememberMeServices != null) {
+            http.rememberMe(rememberMe -> rememberMe.rememberMeServices(rememberMeServices).key(rememberMeServices.getKey()));
+        }
+
         // 允许配置的登录路径通过
         List<String> permittedUrls = multiLoginFilters.stream()
                 .map(filter -> (((DynamicAuthenticationFilter)filter).getAntPathRequestMatcher().getPattern()))
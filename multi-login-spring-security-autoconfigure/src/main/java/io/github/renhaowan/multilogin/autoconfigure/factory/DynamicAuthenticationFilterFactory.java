@@ -1,26 +1,68 @@
 package io.github.renhaowan.multilogin.autoconfigure.factory;
 
 import io.github.renhaowan.multilogin.core.DynamicAuthenticationFilter;
+import io.github.renhaowan.multilogin.core.LoginMethodGroupFilter;
+import io.github.renhaowan.multilogin.core.cache.BoundedLocalCache;
+import io.github.renhaowan.multilogin.core.cache.CandidateCacheRegistry;
 import io.github.renhaowan.multilogin.core.RouterAuthenticationProvider;
+import io.github.renhaowan.multilogin.core.audit.LoginAuditPipeline;
+import io.github.renhaowan.multilogin.core.group.LoginMethodDecisionTable;
+import io.github.renhaowan.multilogin.core.hook.PostAuthenticationHookPipeline;
+import io.github.renhaowan.multilogin.core.ip.IpAccessListRegistry;
 import io.github.renhaowan.multilogin.core.properties.MultiLoginProperties;
+import io.github.renhaowan.multilogin.core.properties.config.AuthoritiesConfig;
+import io.github.renhaowan.multilogin.core.properties.config.CandidateCacheConfig;
+import io.github.renhaowan.multilogin.core.properties.config.ExistenceFilterConfig;
 import io.github.renhaowan.multilogin.core.properties.config.GlobalConfig;
 import io.github.renhaowan.multilogin.core.properties.config.HandlerConfig;
 import io.github.renhaowan.multilogin.core.properties.config.LoginMethodConfig;
+import io.github.renhaowan.multilogin.core.properties.config.PreAuthenticationCheckConfig;
+import io.github.renhaowan.multilogin.core.properties.config.RememberMeConfig;
+import io.github.renhaowan.multilogin.core.properties.config.SessionLimitConfig;
+import io.github.renhaowan.multilogin.core.properties.config.SignatureConfig;
+import io.github.renhaowan.multilogin.core.rememberme.ClientTypeRememberMeServices;
+import io.github.renhaowan.multilogin.core.rememberme.MultiLoginRememberMeServices;
+import io.github.renhaowan.multilogin.core.service.AuthoritiesResolver;
 import io.github.renhaowan.multilogin.core.service.BusinessAuthenticationLogic;
+import io.github.renhaowan.multilogin.core.service.TwoPhaseBusinessAuthenticationLogic;
+import io.github.renhaowan.multilogin.core.service.existence.PrincipalBulkLoader;
+import io.github.renhaowan.multilogin.core.service.existence.PrincipalExistenceFilterRegistry;
+import io.github.renhaowan.multilogin.core.service.extractor.AbstractInlineParameterExtractor;
 import io.github.renhaowan.multilogin.core.service.extractor.ClientTypeExtractor;
+import io.github.renhaowan.multilogin.core.service.extractor.ContentNegotiatingParameterExtractor;
 import io.github.renhaowan.multilogin.core.service.extractor.ParameterExtractor;
-import io.github.renhaowan.multilogin.core.service.extractor.impl.FormParameterExtractor;
 import io.github.renhaowan.multilogin.core.service.extractor.impl.HeaderClientTypeExtractor;
+import io.github.renhaowan.multilogin.core.service.precheck.PreAuthenticationCheck;
+import io.github.renhaowan.multilogin.core.service.precheck.PreAuthenticationCheckRunner;
+import io.github.renhaowan.multilogin.core.session.ClientTypeConcurrentSessionControlStrategy;
+import io.github.renhaowan.multilogin.core.session.ClientTypeSessionRegistry;
+import io.github.renhaowan.multilogin.core.signature.AppKeyProvider;
+import io.github.renhaowan.multilogin.core.signature.RequestSignatureVerifier;
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.AbstractAuthenticationProcessingFilter;
 import org.springframework.security.web.authentication.AuthenticationFailureHandler;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
+import org.springframework.security.web.authentication.rememberme.PersistentTokenRepository;
+import org.springframework.security.web.authentication.session.ChangeSessionIdAuthenticationStrategy;
+import org.springframework.security.web.authentication.session.CompositeSessionAuthenticationStrategy;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
 
 /**
  * 动态认证过滤器工厂
@@ -46,14 +88,99 @@ public class DynamicAuthenticationFilterFactory {
     public List<AbstractAuthenticationProcessingFilter> createFilters() {
         List<AbstractAuthenticationProcessingFilter> filters = new ArrayList<>();
 
-        for (LoginMethodConfig config : properties.getMethods().values()) {
-            DynamicAuthenticationFilter filter = createFilter(config);
-            filters.add(filter);
+        // 按 processUrl + httpMethod 分组，共享登录地址的登录方式合并为一个分组过滤器
+        Map<String, List<LoginMethodConfig>> groups = new LinkedHashMap<>();
+        properties.getMethods().values().stream()
+                .sorted(Comparator.comparing(LoginMethodConfig::getName, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .forEach(config -> groups.computeIfAbsent(config.getHttpMethod() + " " + config.getProcessUrl(),
+                        key -> new ArrayList<>()).add(config));
+
+        for (List<LoginMethodConfig> group : groups.values()) {
+            if (group.size() == 1) {
+                filters.add(createFilter(group.get(0)));
+            } else {
+                filters.add(createGroupFilter(group));
+            }
         }
 
         return filters;
     }
 
+    /**
+     * 创建共享登录地址的分组过滤器：成员过滤器照常创建，判别条件编译为决策表，请求体按全组参数的并集只解析一次
+     *
+     * @param configs 共享同一 processUrl 的登录方法配置（按名称排序）
+     * @return 分组过滤器
+     */
+    private LoginMethodGroupFilter createGroupFilter(List<LoginMethodConfig> configs) {
+        GlobalConfig globalConfig = properties.getGlobal();
+        LoginMethodDecisionTable<DynamicAuthenticationFilter> decisionTable = new LoginMethodDecisionTable<>();
+        List<DynamicAuthenticationFilter> members = new ArrayList<>();
+        Set<String> paramNames = new LinkedHashSet<>();
+        for (LoginMethodConfig config : configs) {
+            DynamicAuthenticationFilter member = createFilter(config);
+            members.add(member);
+            String principalParamName = config.getPrincipalParamName().isEmpty() ? null : config.getPrincipalParamName().get(0);
+            try {
+                decisionTable.register(config.getDiscriminator(), principalParamName, member);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid discriminator of login method [" + config.getName() + "] on "
+                        + config.getProcessUrl() + ": " + e.getMessage(), e);
+            }
+            paramNames.addAll(config.getParamName());
+        }
+        paramNames.addAll(decisionTable.getParamNames());
+
+        // 分组配置：组内登录方式须使用相同的参数提取器、客户端类型提取方式与签名配置，请求体与解压上限取组内最大值
+        LoginMethodConfig first = configs.get(0);
+        String extractorBeanName = resolveParameterExtractorBeanName(first, globalConfig);
+        for (LoginMethodConfig config : configs) {
+            if (!resolveClientTypeSource(first, globalConfig).equals(resolveClientTypeSource(config, globalConfig))) {
+                throw new IllegalArgumentException("Login methods sharing processUrl " + first.getProcessUrl()
+                        + " must use the same client type extractor, request client header and client types");
+            }
+            if (!extractorBeanName.equals(resolveParameterExtractorBeanName(config, globalConfig))) {
+                throw new IllegalArgumentException("Login methods sharing processUrl " + first.getProcessUrl()
+                        + " must use the same parameter extractor");
+            }
+            if (!Objects.equals(first.getSignature(), config.getSignature())) {
+                throw new IllegalArgumentException("Login methods sharing processUrl " + first.getProcessUrl()
+                        + " must use the same signature config");
+            }
+        }
+        LoginMethodConfig groupConfig = new LoginMethodConfig();
+        groupConfig.setName(configs.stream().map(LoginMethodConfig::getName).collect(Collectors.joining(",")));
+        groupConfig.setProcessUrl(first.getProcessUrl());
+        groupConfig.setHttpMethod(first.getHttpMethod());
+        groupConfig.setParamName(new ArrayList<>(paramNames));
+        groupConfig.setParameterExtractorBeanName(extractorBeanName);
+        groupConfig.setParameterExtractors(first.getParameterExtractors());
+        groupConfig.setMaxBodySize(configs.stream()
+                .map(config -> Optional.ofNullable(config.getMaxBodySize()).orElse(globalConfig.getMaxBodySize()))
+                .max(Comparator.naturalOrder())
+                .orElse(globalConfig.getMaxBodySize()));
+        groupConfig.setMaxInflatedBodySize(configs.stream()
+                .map(config -> Optional.ofNullable(config.getMaxInflatedBodySize()).orElse(globalConfig.getMaxInflatedBodySize()))
+                .max(Comparator.naturalOrder())
+                .orElse(globalConfig.getMaxInflatedBodySize()));
+        groupConfig.setMaxCompressionRatio(configs.stream()
+                .map(config -> Optional.ofNullable(config.getMaxCompressionRatio()).orElse(globalConfig.getMaxCompressionRatio()))
+                .max(Comparator.naturalOrder())
+                .orElse(globalConfig.getMaxCompressionRatio()));
+
+        LoginMethodGroupFilter groupFilter = new LoginMethodGroupFilter(groupConfig,
+                getParameterExtractor(groupConfig, globalConfig), members, decisionTable);
+        // 签名校验在分组过滤器中执行一次，全组共用一份 nonce 表
+        groupFilter.setRequestSignatureVerifier(createRequestSignatureVerifier(first.getSignature(),
+                groupConfig.getMaxBodySize().toBytes()));
+        // IP 被拒、未命中任何登录方式、请求体格式错误或类型不受支持时同样记录审计
+        groupFilter.setAuditPipeline(applicationContext.getBeanProvider(LoginAuditPipeline.class).getIfAvailable());
+        // 未命中任何登录方式、请求体格式错误、签名校验失败时使用全局失败处理器
+        groupFilter.setAuthenticationFailureHandler(applicationContext.getBean(globalConfig.getHandler().getFailure(),
+                AuthenticationFailureHandler.class));
+        return groupFilter;
+    }
+
     /**
      * 创建单个认证过滤器
      *
@@ -68,6 +195,15 @@ public class DynamicAuthenticationFilterFactory {
         List<String> clientTypes = Optional.ofNullable(config.getClientTypes())
                 .orElse(properties.getGlobal().getClientTypes());
         RouterAuthenticationProvider routerProvider = new RouterAuthenticationProvider(businessLogics, clientTypes);
+        Map<String, String> providerBeanNames = new HashMap<>();
+        for (int i = 0; i < clientTypes.size() && i < config.getProviderBeanName().size(); i++) {
+            providerBeanNames.put(clientTypes.get(i), config.getProviderBeanName().get(i));
+        }
+        routerProvider.setProviderBeanNames(providerBeanNames);
+        configureCandidateCaches(config, businessLogics, clientTypes, routerProvider);
+        configureExistenceFilter(config, routerProvider);
+        configurePreAuthenticationChecks(config, clientTypes, routerProvider);
+        configureAuthoritiesResolvers(config, clientTypes, routerProvider);
 
         // ProviderManager
         ProviderManager providerManager = new ProviderManager(routerProvider);
@@ -84,9 +220,52 @@ public class DynamicAuthenticationFilterFactory {
         // 配置 Success/Failure Handler
         configureHandlers(config, filter);
 
+        // 登录审计（未启用时为 null）
+        filter.setAuditPipeline(applicationContext.getBeanProvider(LoginAuditPipeline.class).getIfAvailable());
+
+        // 登录成功钩子（未启用时为 null），会话限制通过后才发布
+        filter.setPostAuthenticationHooks(applicationContext.getBeanProvider(PostAuthenticationHookPipeline.class).getIfAvailable());
+
+        // 按客户端类型的并发会话限制
+        configureSessionLimit(config, filter);
+
+        // 按客户端类型的记住我
+        configureRememberMe(config, clientTypes, filter);
+
+        // IP 访问控制（全局与方法级均未配置时为 null）
+        IpAccessListRegistry ipAccessListRegistry = applicationContext.getBeanProvider(IpAccessListRegistry.class).getIfAvailable();
+        if (ipAccessListRegistry != null) {
+            filter.setIpAccessList(ipAccessListRegistry.forMethod(config));
+        }
+
+        // 请求签名校验与防重放（未配置时为 null）
+        filter.setRequestSignatureVerifier(createRequestSignatureVerifier(config.getSignature(),
+                Optional.ofNullable(config.getMaxBodySize()).orElse(properties.getGlobal().getMaxBodySize()).toBytes()));
+
         return filter;
     }
 
+    /**
+     * 创建请求签名校验阶段
+     *
+     * @param signatureConfig 签名配置
+     * @param maxBodySize     请求体最大字节数
+     * @return 请求签名校验阶段，未配置需要签名的客户端类型时返回 null
+     */
+    private RequestSignatureVerifier createRequestSignatureVerifier(SignatureConfig signatureConfig, long maxBodySize) {
+        if (signatureConfig == null || signatureConfig.getClientTypes() == null || signatureConfig.getClientTypes().isEmpty()) {
+            return null;
+        }
+        String keyProviderBeanName = signatureConfig.getKeyProviderBeanName();
+        AppKeyProvider keyProvider;
+        try {
+            keyProvider = applicationContext.getBean(keyProviderBeanName, AppKeyProvider.class);
+        } catch (BeansException e) {
+            throw new IllegalArgumentException("AppKeyProvider Bean not found: " + keyProviderBeanName, e);
+        }
+        return new RequestSignatureVerifier(signatureConfig, keyProvider, maxBodySize);
+    }
+
     /**
      * 获取参数提取器
      *
@@ -95,21 +274,87 @@ public class DynamicAuthenticationFilterFactory {
      * @return 参数提取器
      */
     private ParameterExtractor getParameterExtractor(LoginMethodConfig config, GlobalConfig globalConfig) {
-        String parameterExtractorBeanName = Optional.ofNullable(config.getParameterExtractorBeanName())
+        String parameterExtractorBeanName = resolveParameterExtractorBeanName(config, globalConfig);
+        ParameterExtractor extractor = getParameterExtractor(parameterExtractorBeanName, config, globalConfig);
+        if (extractor instanceof ContentNegotiatingParameterExtractor negotiatingExtractor) {
+            configureDispatchTable(negotiatingExtractor, config, globalConfig);
+        }
+        return extractor;
+    }
+
+    private static String resolveParameterExtractorBeanName(LoginMethodConfig config, GlobalConfig globalConfig) {
+        return Optional.ofNullable(config.getParameterExtractorBeanName())
                 .orElse(globalConfig.getParameterExtractorBeanName());
+    }
+
+    /**
+     * 按 Bean 名称获取参数提取器并注入方法配置
+     */
+    private ParameterExtractor getParameterExtractor(String beanName, LoginMethodConfig config, GlobalConfig globalConfig) {
         ParameterExtractor extractor;
         try {
-            extractor = applicationContext.getBean(parameterExtractorBeanName, ParameterExtractor.class);
+            extractor = applicationContext.getBean(beanName, ParameterExtractor.class);
         } catch (BeansException e) {
-            throw new IllegalArgumentException("ParameterExtractor Bean not found: " + parameterExtractorBeanName, e);
+            throw new IllegalArgumentException("ParameterExtractor Bean not found: " + beanName, e);
         }
-        if (extractor instanceof FormParameterExtractor formParameterExtractor) {
-            formParameterExtractor.setConfig(config);
-            return formParameterExtractor;
+        if (extractor instanceof AbstractInlineParameterExtractor inlineParameterExtractor) {
+            inlineParameterExtractor.setConfig(config);
+            inlineParameterExtractor.setMaxBodySize(Optional.ofNullable(config.getMaxBodySize())
+                    .orElse(globalConfig.getMaxBodySize()).toBytes());
+            inlineParameterExtractor.setMaxInflatedBodySize(Optional.ofNullable(config.getMaxInflatedBodySize())
+                    .orElse(globalConfig.getMaxInflatedBodySize()).toBytes());
+            inlineParameterExtractor.setMaxCompressionRatio(Optional.ofNullable(config.getMaxCompressionRatio())
+                    .orElse(globalConfig.getMaxCompressionRatio()));
         }
         return extractor;
     }
 
+    /**
+     * 编译按 Content-Type 分派的映射表：方法级映射优先，其次全局映射，都未配置时使用内置默认映射（忽略不存在的 Bean）
+     *
+     * @param negotiatingExtractor 组合提取器
+     * @param config               登录方法配置
+     * @param globalConfig         全局配置
+     */
+    private void configureDispatchTable(ContentNegotiatingParameterExtractor negotiatingExtractor,
+                                        LoginMethodConfig config, GlobalConfig globalConfig) {
+        Map<String, String> mappings = Optional.ofNullable(config.getParameterExtractors())
+                .orElse(globalConfig.getParameterExtractors());
+        boolean defaults = mappings == null || mappings.isEmpty();
+        if (defaults) {
+            mappings = ContentNegotiatingParameterExtractor.DEFAULT_MAPPINGS;
+        }
+        // 同一 Bean 对应多个媒体类型时共享一个实例
+        Map<String, ParameterExtractor> delegates = new HashMap<>();
+        for (Map.Entry<String, String> mapping : mappings.entrySet()) {
+            String beanName = mapping.getValue();
+            if (defaults && !applicationContext.containsBean(beanName)) {
+                continue;
+            }
+            ParameterExtractor delegate = delegates.computeIfAbsent(beanName,
+                    name -> getParameterExtractor(name, config, globalConfig));
+            if (delegate instanceof ContentNegotiatingParameterExtractor) {
+                throw new IllegalArgumentException("ContentNegotiatingParameterExtractor cannot delegate to itself: " + beanName);
+            }
+            negotiatingExtractor.register(mapping.getKey(), delegate);
+        }
+    }
+
+    /**
+     * 决定客户端类型的配置：提取器 Bean 名称、请求头与客户端类型列表，共享登录地址的登录方式须一致，
+     * 否则分组过滤器按其校验签名的客户端类型可能与选中登录方式提取的不同
+     *
+     * @param config       登录方法配置
+     * @param globalConfig 全局配置
+     * @return 提取器 Bean 名称、请求头与客户端类型列表
+     */
+    private List<Object> resolveClientTypeSource(LoginMethodConfig config, GlobalConfig globalConfig) {
+        return Arrays.asList(
+                Optional.ofNullable(config.getClientTypeExtractorBeanName()).orElse(globalConfig.getClientTypeExtractorBeanName()),
+                Optional.ofNullable(config.getRequestClientHeader()).orElse(globalConfig.getRequestClientHeader()),
+                Optional.ofNullable(config.getClientTypes()).orElse(globalConfig.getClientTypes()));
+    }
+
     /**
      * 获取客户端类型提取器
      *
@@ -146,6 +391,202 @@ public class DynamicAuthenticationFilterFactory {
                 .toList();
     }
 
+    /**
+     * 为两阶段认证的业务 Provider 配置候选用户缓存
+     *
+     * @param config         登录方法配置
+     * @param businessLogics 业务逻辑提供者列表
+     * @param clientTypes    客户端类型列表
+     * @param routerProvider 路由 Provider
+     */
+    private void configureCandidateCaches(LoginMethodConfig config, List<BusinessAuthenticationLogic> businessLogics,
+                                          List<String> clientTypes, RouterAuthenticationProvider routerProvider) {
+        CandidateCacheConfig cacheConfig = Optional.ofNullable(config.getCandidateCache())
+                .orElse(properties.getGlobal().getCandidateCache());
+        if (!cacheConfig.isEnabled()) {
+            return;
+        }
+        CandidateCacheRegistry registry = applicationContext.getBean(CandidateCacheRegistry.class);
+        Map<String, BoundedLocalCache<List<String>, Object>> caches = new HashMap<>();
+        for (int i = 0; i < clientTypes.size() && i < businessLogics.size(); i++) {
+            if (businessLogics.get(i) instanceof TwoPhaseBusinessAuthenticationLogic<?>) {
+                String clientType = clientTypes.get(i);
+                caches.put(clientType, registry.getOrCreate(config.getName(), clientType, cacheConfig));
+            }
+        }
+        routerProvider.setCandidateCaches(caches);
+    }
+
+    /**
+     * 配置主体存在性预过滤器
+     *
+     * @param config         登录方法配置
+     * @param routerProvider 路由 Provider
+     */
+    private void configureExistenceFilter(LoginMethodConfig config, RouterAuthenticationProvider routerProvider) {
+        ExistenceFilterConfig filterConfig = config.getExistenceFilter();
+        if (filterConfig == null || !filterConfig.isEnabled()) {
+            return;
+        }
+        PrincipalBulkLoader loader;
+        try {
+            loader = applicationContext.getBean(filterConfig.getLoaderBeanName(), PrincipalBulkLoader.class);
+        } catch (BeansException e) {
+            throw new IllegalArgumentException("PrincipalBulkLoader Bean not found: " + filterConfig.getLoaderBeanName(), e);
+        }
+        PrincipalExistenceFilterRegistry registry = applicationContext.getBean(PrincipalExistenceFilterRegistry.class);
+        routerProvider.setExistenceFilter(registry.initialize(config.getName(), filterConfig, loader));
+        routerProvider.setExistenceRejectDelay(filterConfig.getRejectDelay());
+    }
+
+    /**
+     * 按客户端类型配置认证前置检查
+     *
+     * @param config         登录方法配置
+     * @param clientTypes    客户端类型列表
+     * @param routerProvider 路由 Provider
+     */
+    private void configurePreAuthenticationChecks(LoginMethodConfig config, List<String> clientTypes,
+                                                  RouterAuthenticationProvider routerProvider) {
+        PreAuthenticationCheckConfig checkConfig = config.getPreAuthenticationCheck();
+        if (checkConfig == null) {
+            return;
+        }
+        Map<String, PreAuthenticationCheckRunner> runners = new HashMap<>();
+        for (String clientType : clientTypes) {
+            List<String> checkNames = checkConfig.getClientTypes().getOrDefault(clientType, checkConfig.getChecks());
+            if (checkNames == null || checkNames.isEmpty()) {
+                continue;
+            }
+            Map<String, PreAuthenticationCheck> checks = new LinkedHashMap<>();
+            for (String checkName : checkNames) {
+                try {
+                    checks.put(checkName, applicationContext.getBean(checkName, PreAuthenticationCheck.class));
+                } catch (BeansException e) {
+                    throw new IllegalArgumentException("PreAuthenticationCheck Bean not found: " + checkName, e);
+                }
+            }
+            ExecutorService executor = applicationContext.getBean("preAuthenticationExecutor", ExecutorService.class);
+            runners.put(clientType, new PreAuthenticationCheckRunner(checks, executor, checkConfig.getTimeout()));
+        }
+        routerProvider.setPreAuthenticationChecks(runners);
+    }
+
+    /**
+     * 按客户端类型配置权限解析器
+     *
+     * @param config         登录方法配置
+     * @param clientTypes    客户端类型列表
+     * @param routerProvider 路由 Provider
+     */
+    private void configureAuthoritiesResolvers(LoginMethodConfig config, List<String> clientTypes,
+                                               RouterAuthenticationProvider routerProvider) {
+        AuthoritiesConfig authoritiesConfig = config.getAuthorities();
+        if (authoritiesConfig == null) {
+            return;
+        }
+        Map<String, AuthoritiesResolver> resolvers = new HashMap<>();
+        for (String clientType : clientTypes) {
+            String resolverName = authoritiesConfig.getClientTypes().getOrDefault(clientType, authoritiesConfig.getResolverBeanName());
+            if (resolverName == null || resolverName.isEmpty()) {
+                continue;
+            }
+            try {
+                resolvers.put(clientType, applicationContext.getBean(resolverName, AuthoritiesResolver.class));
+            } catch (BeansException e) {
+                throw new IllegalArgumentException("AuthoritiesResolver Bean not found: " + resolverName, e);
+            }
+        }
+        routerProvider.setAuthoritiesResolvers(resolvers);
+    }
+
+    /**
+     * 配置并发会话限制：先更换会话 ID 防止会话固定，再登记会话并淘汰超出限制的会话
+     *
+     * @param config 登录方法配置
+     * @param filter 认证过滤器
+     */
+    private void configureSessionLimit(LoginMethodConfig config, DynamicAuthenticationFilter filter) {
+        SessionLimitConfig sessionLimitConfig = Optional.ofNullable(config.getSessionLimit())
+                .orElse(properties.getGlobal().getSessionLimit());
+        if (!sessionLimitConfig.isEnabled()) {
+            return;
+        }
+        ClientTypeSessionRegistry sessionRegistry = applicationContext.getBeanProvider(ClientTypeSessionRegistry.class).getIfAvailable();
+        if (sessionRegistry == null) {
+            throw new IllegalArgumentException("Session limit of login method [" + config.getName()
+                    + "] requires multi-login.global.session-limit.enabled=true");
+        }
+        filter.setSessionAuthenticationStrategy(new CompositeSessionAuthenticationStrategy(List.of(
+                new ChangeSessionIdAuthenticationStrategy(),
+                new ClientTypeConcurrentSessionControlStrategy(sessionRegistry, sessionLimitConfig))));
+    }
+
+    /**
+     * 配置记住我：为每个客户端类型创建独立有效期的记住我服务，注册到共享的 MultiLoginRememberMeServices
+     *
+     * @param config      登录方法配置
+     * @param clientTypes 客户端类型列表
+     * @param filter      认证过滤器
+     */
+    private void configureRememberMe(LoginMethodConfig config, List<String> clientTypes, DynamicAuthenticationFilter filter) {
+        RememberMeConfig globalRememberMe = properties.getGlobal().getRememberMe();
+        RememberMeConfig rememberMeConfig = Optional.ofNullable(config.getRememberMe()).orElse(globalRememberMe);
+        if (!rememberMeConfig.isEnabled()) {
+            return;
+        }
+        MultiLoginRememberMeServices rememberMeServices = applicationContext.getBeanProvider(MultiLoginRememberMeServices.class).getIfAvailable();
+        if (rememberMeServices == null) {
+            throw new IllegalArgumentException("Remember-me of login method [" + config.getName()
+                    + "] requires multi-login.global.remember-me.enabled=true");
+        }
+        PersistentTokenRepository tokenRepository = applicationContext.getBean(PersistentTokenRepository.class);
+        UserDetailsService userDetailsService = getRememberMeUserDetailsService(
+                Optional.ofNullable(rememberMeConfig.getUserDetailsServiceBeanName())
+                        .orElse(globalRememberMe.getUserDetailsServiceBeanName()));
+
+        for (String clientType : clientTypes) {
+            Duration validity = rememberMeConfig.getTokenValidity()
+                    .getOrDefault(clientType, rememberMeConfig.getDefaultTokenValidity());
+            if (validity == null || validity.isZero() || validity.isNegative()) {
+                continue;
+            }
+            ClientTypeRememberMeServices services = new ClientTypeRememberMeServices(rememberMeServices.getKey(),
+                    userDetailsService, tokenRepository, config.getName(), clientType);
+            services.setTokenValiditySeconds((int) Math.min(Integer.MAX_VALUE, validity.toSeconds()));
+            services.setParameter(rememberMeConfig.getParameter());
+            services.setAlwaysRemember(rememberMeConfig.isAlwaysRemember());
+            services.setCookieName(globalRememberMe.getCookieName());
+            if (globalRememberMe.getUseSecureCookie() != null) {
+                services.setUseSecureCookie(globalRememberMe.getUseSecureCookie());
+            }
+            rememberMeServices.register(services);
+        }
+        // 记住我参数随登录参数一起提取，JSON 等非表单请求体中的取值同样生效；复制列表，不修改配置源的对象
+        if (!config.getParamName().contains(rememberMeConfig.getParameter())) {
+            List<String> paramNames = new ArrayList<>(config.getParamName());
+            paramNames.add(rememberMeConfig.getParameter());
+            config.setParamName(paramNames);
+        }
+        filter.setRememberMeParameter(rememberMeConfig.getParameter());
+        filter.setRememberMeServices(rememberMeServices);
+    }
+
+    private UserDetailsService getRememberMeUserDetailsService(String beanName) {
+        if (beanName == null) {
+            UserDetailsService userDetailsService = applicationContext.getBeanProvider(UserDetailsService.class).getIfUnique();
+            if (userDetailsService == null) {
+                throw new IllegalArgumentException("Remember-me requires user-details-service-bean-name or a unique UserDetailsService Bean");
+            }
+            return userDetailsService;
+        }
+        try {
+            return applicationContext.getBean(beanName, UserDetailsService.class);
+        } catch (BeansException e) {
+            throw new IllegalArgumentException("UserDetailsService Bean not found: " + beanName, e);
+        }
+    }
+
     /**
      * 配置成功/失败处理器
      *
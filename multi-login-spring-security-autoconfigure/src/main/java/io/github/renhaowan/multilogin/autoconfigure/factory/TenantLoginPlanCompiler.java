@@ -0,0 +1,91 @@
+package io.github.renhaowan.multilogin.autoconfigure.factory;
+
+import io.github.renhaowan.multilogin.core.DynamicAuthenticationFilter;
+import io.github.renhaowan.multilogin.core.properties.MultiLoginProperties;
+import io.github.renhaowan.multilogin.core.properties.config.LoginMethodConfig;
+import io.github.renhaowan.multilogin.core.service.password.PasswordCredentialVerifier;
+import io.github.renhaowan.multilogin.core.tenant.LoginMethodConfigSource;
+import io.github.renhaowan.multilogin.core.tenant.TenantLoginPlan;
+import io.github.renhaowan.multilogin.core.tenant.TenantResolveStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 租户登录方案编译器
+ * 从 LoginMethodConfigSource 读取租户的登录方式配置，按与全局配置相同的规则补全后，
+ * 复用 DynamicAuthenticationFilterFactory 构建该租户的全部登录过滤器。
+ * 租户内的登录方式名称统一加上 "租户/" 前缀，使候选用户缓存、审计等按租户隔离。
+ *
+ * @author wan
+ */
+@Slf4j
+public class TenantLoginPlanCompiler implements Function<String, TenantLoginPlan> {
+
+    private final MultiLoginProperties properties;
+    private final LoginMethodConfigSource configSource;
+    private final ApplicationContext applicationContext;
+
+    public TenantLoginPlanCompiler(MultiLoginProperties properties, LoginMethodConfigSource configSource,
+                                   ApplicationContext applicationContext) {
+        this.properties = properties;
+        this.configSource = configSource;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public TenantLoginPlan apply(String tenantId) {
+        Map<String, LoginMethodConfig> methods = configSource.getMethods(tenantId);
+        if (methods == null || methods.isEmpty()) {
+            return TenantLoginPlan.empty(tenantId);
+        }
+
+        try {
+            // 复制配置，避免补全逻辑修改配置源返回的对象
+            Map<String, LoginMethodConfig> copies = new LinkedHashMap<>();
+            methods.forEach((name, config) -> {
+                LoginMethodConfig copy = new LoginMethodConfig();
+                BeanUtils.copyProperties(config, copy);
+                copies.put(name, copy);
+            });
+
+            MultiLoginProperties tenantProperties = new MultiLoginProperties();
+            tenantProperties.setGlobal(properties.getGlobal());
+            tenantProperties.setMethods(copies);
+            tenantProperties.determineProcessUrl();
+            tenantProperties.initParamName();
+
+            boolean pathPrefix = properties.getTenant().getResolveBy() == TenantResolveStrategy.PATH_PREFIX;
+            copies.forEach((name, copy) -> {
+                copy.setName(tenantId + "/" + name);
+                if (pathPrefix) {
+                    copy.setProcessUrl("/" + tenantId + copy.getProcessUrl());
+                }
+            });
+
+            List<DynamicAuthenticationFilter> filters = new DynamicAuthenticationFilterFactory(tenantProperties, applicationContext)
+                    .createFilters().stream()
+                    .map(DynamicAuthenticationFilter.class::cast)
+                    .toList();
+            List<String> methodNames = copies.values().stream().map(LoginMethodConfig::getName).toList();
+            // 内置密码校验器按登录方式名称查找密码参数名，租户登录方式在此登记，方案淘汰时移除
+            PasswordCredentialVerifier passwordVerifier = applicationContext.getBeanProvider(PasswordCredentialVerifier.class).getIfAvailable();
+            if (passwordVerifier != null) {
+                copies.values().stream()
+                        .filter(copy -> !copy.getCredentialParamName().isEmpty())
+                        .forEach(copy -> passwordVerifier.register(copy.getName(), copy.getCredentialParamName().get(0)));
+            }
+            log.debug("Compiled login plan for tenant [{}] with methods {}", tenantId, methodNames);
+            return new TenantLoginPlan(tenantId, methodNames, filters);
+        } catch (RuntimeException e) {
+            // 单个租户配置错误不影响其它租户，空方案只在未知租户缓存中保留 unknown-tenant-ttl，之后重新尝试编译
+            log.error("Failed to compile login plan for tenant [{}]", tenantId, e);
+            return TenantLoginPlan.empty(tenantId);
+        }
+    }
+}
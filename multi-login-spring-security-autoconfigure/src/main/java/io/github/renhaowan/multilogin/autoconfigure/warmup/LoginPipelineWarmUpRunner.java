@@ -0,0 +1,135 @@
+package io.github.renhaowan.multilogin.autoconfigure.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.renhaowan.multilogin.core.DynamicAuthenticationFilter;
+import io.github.renhaowan.multilogin.core.LoginMethodGroupFilter;
+import io.github.renhaowan.multilogin.core.properties.MultiLoginProperties;
+import io.github.renhaowan.multilogin.core.properties.config.LoginMethodConfig;
+import io.github.renhaowan.multilogin.core.properties.config.WarmUpConfig;
+import io.github.renhaowan.multilogin.core.service.extractor.AbstractJacksonParameterExtractor;
+import io.github.renhaowan.multilogin.core.service.extractor.ContentNegotiatingParameterExtractor;
+import io.github.renhaowan.multilogin.core.service.extractor.ParameterExtractor;
+import io.github.renhaowan.multilogin.core.warmup.SyntheticLoginRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.authentication.AbstractAuthenticationProcessingFilter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 登录链路启动预热
+ * 以合成请求驱动每个登录方式的路径匹配、参数提取（表单参数与按提取器格式编码的请求体）、客户端类型提取与 Token 构造，
+ * 让 Jackson 反序列化器、请求匹配器完成初始化并触发 JIT 编译；不调用业务逻辑。
+ * ApplicationRunner 在 Spring Boot 发布 ReadinessState.ACCEPTING_TRAFFIC 之前同步执行，预热结束前应用保持未就绪。
+ *
+ * @author wan
+ */
+@Slf4j
+public class LoginPipelineWarmUpRunner implements ApplicationRunner {
+
+    private final MultiLoginProperties properties;
+    private final List<AbstractAuthenticationProcessingFilter> filters;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public LoginPipelineWarmUpRunner(MultiLoginProperties properties, List<AbstractAuthenticationProcessingFilter> filters) {
+        this.properties = properties;
+        this.filters = filters;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        WarmUpConfig warmUp = properties.getWarmUp();
+        long start = System.nanoTime();
+        long deadline = start + warmUp.getTimeout().toNanos();
+        int requests = 0;
+        for (AbstractAuthenticationProcessingFilter filter : filters) {
+            if (filter instanceof DynamicAuthenticationFilter dynamicFilter) {
+                requests += warmUp(dynamicFilter, warmUp.getIterations(), deadline);
+            }
+            // 共享登录地址的分组：合成参数未必命中判别条件，成员各自再预热一次
+            if (filter instanceof LoginMethodGroupFilter groupFilter) {
+                for (DynamicAuthenticationFilter member : groupFilter.getMembers()) {
+                    requests += warmUp(member, warmUp.getIterations(), deadline);
+                }
+            }
+            if (System.nanoTime() - deadline > 0) {
+                log.warn("Login pipeline warm-up stopped after reaching timeout {}", warmUp.getTimeout());
+                break;
+            }
+        }
+        log.info("Login pipeline warmed up with {} synthetic requests in {} ms", requests, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private int warmUp(DynamicAuthenticationFilter filter, int iterations, long deadline) {
+        LoginMethodConfig config = filter.getConfig();
+        List<String> clientTypes = Optional.ofNullable(config.getClientTypes())
+                .orElse(properties.getGlobal().getClientTypes());
+        String clientHeader = Optional.ofNullable(config.getRequestClientHeader())
+                .orElse(properties.getGlobal().getRequestClientHeader());
+
+        Map<String, String> params = new LinkedHashMap<>();
+        config.getParamName().forEach(name -> params.put(name, "warm-up-" + name));
+        // 请求体按提取器的格式编码；组合提取器按分派表轮换各媒体类型
+        List<WarmUpBody> bodies = new ArrayList<>();
+        if (filter.getParameterExtractor() instanceof ContentNegotiatingParameterExtractor negotiatingExtractor) {
+            negotiatingExtractor.getDispatchTable().forEach((mediaType, delegate) ->
+                    bodies.add(encode(params, mediaType, delegate)));
+        } else {
+            bodies.add(encode(params, null, filter.getParameterExtractor()));
+        }
+        if (bodies.isEmpty()) {
+            return 0;
+        }
+
+        int count = 0;
+        try {
+            for (int i = 0; i < iterations; i++) {
+                // 每 256 次检查一次超时，避免 nanoTime 调用本身影响预热
+                if ((i & 0xff) == 0 && System.nanoTime() - deadline > 0) {
+                    break;
+                }
+                String clientType = clientTypes.isEmpty() ? null : clientTypes.get(i % clientTypes.size());
+                WarmUpBody body = bodies.get(i % bodies.size());
+                HttpServletRequest request = SyntheticLoginRequest.create(config.getHttpMethod(), config.getProcessUrl(),
+                        body.contentType(), body.bytes(), params,
+                        clientType == null ? Map.of() : Map.of(clientHeader, clientType));
+                filter.warmUp(request);
+                count++;
+            }
+        } catch (RuntimeException e) {
+            // 预热失败不影响启动，真实请求会暴露同样的问题
+            log.warn("Warm-up of login method [{}] aborted", config.getName(), e);
+        }
+        return count;
+    }
+
+    /**
+     * 按提取器格式编码请求体：Jackson 系提取器使用其自身格式，其余提取器使用 JSON 请求体（参数同时以表单参数提供）
+     */
+    private WarmUpBody encode(Map<String, String> params, String mediaType, ParameterExtractor extractor) {
+        ObjectMapper bodyMapper = objectMapper;
+        String contentType = mediaType != null ? mediaType : MediaType.APPLICATION_JSON_VALUE;
+        if (extractor instanceof AbstractJacksonParameterExtractor jacksonExtractor) {
+            bodyMapper = jacksonExtractor.getObjectMapper();
+            if (mediaType == null) {
+                contentType = jacksonExtractor.getSupportedMediaTypes().get(0).toString();
+            }
+        }
+        try {
+            return new WarmUpBody(contentType, bodyMapper.writeValueAsBytes(params));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to build warm-up request body", e);
+        }
+    }
+
+    private record WarmUpBody(String contentType, byte[] bytes) {
+    }
+}
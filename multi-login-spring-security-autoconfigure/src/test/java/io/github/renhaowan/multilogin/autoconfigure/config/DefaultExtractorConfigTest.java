@@ -0,0 +1,39 @@
+package io.github.renhaowan.multilogin.autoconfigure.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.github.renhaowan.multilogin.core.service.extractor.impl.CborParameterExtractor;
+import io.github.renhaowan.multilogin.core.service.extractor.impl.MessagePackParameterExtractor;
+import io.github.renhaowan.multilogin.core.service.extractor.impl.SmileParameterExtractor;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.FilteredClassLoader;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * DefaultExtractorConfig 注册的提取器
+ *
+ * @author wan
+ */
+class DefaultExtractorConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(DefaultExtractorConfig.class);
+
+    @Test
+    void registersBinaryExtractorsWhenLibrariesArePresent() {
+        contextRunner.run(context -> {
+            assertThat(context.getBean("cborParameterExtractor")).isInstanceOf(CborParameterExtractor.class);
+            assertThat(context.getBean("smileParameterExtractor")).isInstanceOf(SmileParameterExtractor.class);
+            assertThat(context.getBean("messagePackParameterExtractor")).isInstanceOf(MessagePackParameterExtractor.class);
+        });
+    }
+
+    @Test
+    void skipsExtractorWhenLibraryIsMissing() {
+        contextRunner.withClassLoader(new FilteredClassLoader(CBORFactory.class)).run(context -> {
+            assertThat(context).doesNotHaveBean("cborParameterExtractor");
+            assertThat(context).hasBean("smileParameterExtractor");
+        });
+    }
+}
@@ -11,7 +11,7 @@ import java.util.Map;
  * 多端登录基础 Token 类
  * 存储登录请求的核心参数和客户端信息
  */
-public class BaseMultiLoginToken extends AbstractAuthenticationToken {
+public class BaseMultiLoginToken extends AbstractAuthenticationToken implements MultiLoginAuthentication {
 
     /**
      * 登录请求所有参数集合
@@ -24,7 +24,23 @@ public class BaseMultiLoginToken extends AbstractAuthenticationToken {
      */
     @Getter
     private final String clientType;
+
+    /**
+     * 登录方式名称（methods 中的 key）
+     */
+    @Getter
+    private final String loginMethod;
+
+    /**
+     * 主体参数名称列表
+     */
+    @Getter
     private final List<String> principalParamNames;
+
+    /**
+     * 凭证参数名称列表
+     */
+    @Getter
     private final List<String> credentialParamNames;
 
     /**
@@ -41,10 +57,24 @@ public class BaseMultiLoginToken extends AbstractAuthenticationToken {
      */
     public BaseMultiLoginToken(Map<String, Object> allParams, String clientType,
                                List<String> principalParamNames, List<String> credentialParamNames) {
+        this(allParams, clientType, null, principalParamNames, credentialParamNames);
+    }
+
+    /**
+     * 构造带登录方式名称的多端登录基础 Token
+     * @param allParams 登录请求所有参数集合
+     * @param clientType 客户端类型
+     * @param loginMethod 登录方式名称
+     * @param principalParamNames 主体参数名称列表（如用户名、手机号）
+     * @param credentialParamNames 凭证参数名称列表（如密码、验证码）
+     */
+    public BaseMultiLoginToken(Map<String, Object> allParams, String clientType, String loginMethod,
+                               List<String> principalParamNames, List<String> credentialParamNames) {
         // 未认证状态
         super(null);
         this.allParams = allParams;
         this.clientType = clientType;
+        this.loginMethod = loginMethod;
         this.principalParamNames = principalParamNames;
         this.credentialParamNames = credentialParamNames;
         setAuthenticated(false);
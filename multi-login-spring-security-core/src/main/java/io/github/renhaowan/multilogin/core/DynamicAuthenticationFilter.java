@@ -1,29 +1,97 @@
 package io.github.renhaowan.multilogin.core;
 
+import io.github.renhaowan.multilogin.core.audit.LoginAuditEvent;
+import io.github.renhaowan.multilogin.core.audit.LoginAuditPipeline;
+import io.github.renhaowan.multilogin.core.exception.InvalidRequestSignatureException;
+import io.github.renhaowan.multilogin.core.exception.IpAccessDeniedException;
+import io.github.renhaowan.multilogin.core.hook.PostAuthenticationEvent;
+import io.github.renhaowan.multilogin.core.hook.PostAuthenticationHookPipeline;
+import io.github.renhaowan.multilogin.core.exception.UnsupportedLoginMediaTypeException;
+import io.github.renhaowan.multilogin.core.ip.IpAccessList;
+import io.github.renhaowan.multilogin.core.jfr.ClientTypeExtractionEvent;
+import io.github.renhaowan.multilogin.core.jfr.LoginRequestEvent;
+import io.github.renhaowan.multilogin.core.jfr.ParameterExtractionEvent;
 import io.github.renhaowan.multilogin.core.properties.config.LoginMethodConfig;
+import io.github.renhaowan.multilogin.core.rememberme.ClientTypeRememberMeServices;
 import io.github.renhaowan.multilogin.core.service.extractor.ClientTypeExtractor;
 import io.github.renhaowan.multilogin.core.service.extractor.ParameterExtractor;
+import io.github.renhaowan.multilogin.core.signature.RequestSignatureVerifier;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.Getter;
+import lombok.Setter;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.authentication.AbstractAuthenticationProcessingFilter;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * @author wan
  */
 public class DynamicAuthenticationFilter extends AbstractAuthenticationProcessingFilter {
+    private static final String ATTEMPT_ATTRIBUTE = DynamicAuthenticationFilter.class.getName() + ".ATTEMPT";
+    private static final String OUTCOME_SUCCESS = "SUCCESS";
+
+    /**
+     * 已提取的请求参数，由共享登录地址的 LoginMethodGroupFilter 设置，存在时不再重复解析请求体
+     */
+    public static final String PARAMETERS_ATTRIBUTE = DynamicAuthenticationFilter.class.getName() + ".PARAMETERS";
+
+    /**
+     * 分组过滤器校验签名时使用的客户端类型，成员过滤器据此确认签名校验覆盖了自己提取的客户端类型
+     */
+    public static final String SIGNED_CLIENT_TYPE_ATTRIBUTE = DynamicAuthenticationFilter.class.getName() + ".SIGNED_CLIENT_TYPE";
+
+    @Getter
     private final LoginMethodConfig config;
+    @Getter
     private final ParameterExtractor parameterExtractor;
+    @Getter
     private final ClientTypeExtractor clientTypeExtractor;
     @Getter
     private final AntPathRequestMatcher antPathRequestMatcher;
 
+    /**
+     * 登录审计管道，为 null 时不记录审计
+     */
+    @Setter
+    private LoginAuditPipeline auditPipeline;
+
+    /**
+     * 登录成功钩子管道，为 null 时不发布登录成功事件
+     */
+    @Setter
+    private PostAuthenticationHookPipeline postAuthenticationHooks;
+
+    /**
+     * IP 访问控制，为 null 时不限制
+     */
+    @Getter
+    @Setter
+    private IpAccessList ipAccessList;
+
+    /**
+     * 请求签名校验，为 null 时不校验
+     */
+    @Getter
+    @Setter
+    private RequestSignatureVerifier requestSignatureVerifier;
+
+    /**
+     * 记住我参数名，为 null 时未启用记住我；请求体中的取值交给 ClientTypeRememberMeServices 判断
+     */
+    @Setter
+    private String rememberMeParameter;
+
     public DynamicAuthenticationFilter(LoginMethodConfig config, ParameterExtractor parameterExtractor, ClientTypeExtractor clientTypeExtractor, AuthenticationManager authenticationManager) {
         // 设置 Filter 拦截路径
         super(new AntPathRequestMatcher(config.getProcessUrl(), config.getHttpMethod()));
@@ -36,17 +104,43 @@ public class DynamicAuthenticationFilter extends AbstractAuthenticationProcessin
 
     @Override
     public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response)
-            throws AuthenticationException {
+            throws AuthenticationException, IOException {
+        LoginAttempt attempt = beginAttempt(request);
 
-        // 提取所有参数
-        Map<String, Object> allParams = parameterExtractor.extractParameters(request);
+        // IP 访问控制，在解析请求体之前执行
+        if (ipAccessList != null && !ipAccessList.isAllowed(request.getRemoteAddr())) {
+            throw new IpAccessDeniedException("Login from this address is not allowed");
+        }
 
         // 提取客户端类型
-        String clientType = clientTypeExtractor.extractClientType(request);
+        String clientType = extractClientType(request);
+
+        // 请求签名校验与防重放，在解析请求体之前执行；分组过滤器已按相同的客户端类型校验过时跳过
+        if (requestSignatureVerifier != null) {
+            if (request.getAttribute(PARAMETERS_ATTRIBUTE) == null) {
+                request = requestSignatureVerifier.verify(request, clientType);
+            } else if (!clientType.equals(request.getAttribute(SIGNED_CLIENT_TYPE_ATTRIBUTE))) {
+                throw new InvalidRequestSignatureException("Request signature was not checked for client type " + clientType);
+            }
+        }
+
+        // 提取所有参数；请求体类型不受支持时直接 415，不进入失败处理
+        Map<String, Object> allParams;
+        try {
+            allParams = extractParameters(request);
+        } catch (UnsupportedLoginMediaTypeException e) {
+            rejectUnsupportedMediaType(request, response, e);
+            return null;
+        }
+
+        attempt.principal = joinPrincipal(allParams, config.getPrincipalParamName());
+        if (rememberMeParameter != null && allParams.get(rememberMeParameter) != null) {
+            request.setAttribute(ClientTypeRememberMeServices.REMEMBER_ME_ATTRIBUTE, allParams.get(rememberMeParameter));
+        }
 
         // 创建 Token 实例
         BaseMultiLoginToken token = new BaseMultiLoginToken(
-                allParams, clientType, config.getPrincipalParamName(), config.getCredentialParamName()
+                allParams, clientType, config.getName(), config.getPrincipalParamName(), config.getCredentialParamName()
         );
 
         // 设置“认证请求”的附加信息，看UsernamePasswordAuthenticationFilter的setDetail方法就可以得到，设置session和ip
@@ -56,4 +150,219 @@ public class DynamicAuthenticationFilter extends AbstractAuthenticationProcessin
         return this.getAuthenticationManager().authenticate(token);
     }
 
+    /**
+     * 预热：执行路径匹配、IP 访问控制、参数提取、客户端类型提取与 Token 构造，
+     * 不调用 AuthenticationManager，也不触发成功/失败处理与审计
+     *
+     * @param request 合成请求
+     * @return 构造出的认证请求 Token
+     */
+    public BaseMultiLoginToken warmUp(HttpServletRequest request) {
+        antPathRequestMatcher.matches(request);
+        if (ipAccessList != null) {
+            ipAccessList.isAllowed(request.getRemoteAddr());
+        }
+        Map<String, Object> allParams = extractParameters(request);
+        String clientType = extractClientType(request);
+        joinPrincipal(allParams, config.getPrincipalParamName());
+        BaseMultiLoginToken token = new BaseMultiLoginToken(
+                allParams, clientType, config.getName(), config.getPrincipalParamName(), config.getCredentialParamName()
+        );
+        token.setDetails(this.authenticationDetailsSource.buildDetails(request));
+        return token;
+    }
+
+    /**
+     * 提取请求参数，已由分组过滤器提取过时直接复用
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> extractParameters(HttpServletRequest request) {
+        if (request.getAttribute(PARAMETERS_ATTRIBUTE) instanceof Map<?, ?> parameters) {
+            return (Map<String, Object>) parameters;
+        }
+        return extractRequestParameters(request);
+    }
+
+    /**
+     * 解析请求体提取参数，并记录 JFR 参数提取事件
+     *
+     * @param request HTTP 请求对象
+     * @return 请求参数
+     */
+    protected Map<String, Object> extractRequestParameters(HttpServletRequest request) {
+        ParameterExtractionEvent event = new ParameterExtractionEvent();
+        event.begin();
+        String outcome = OUTCOME_SUCCESS;
+        try {
+            return parameterExtractor.extractParameters(request);
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.loginMethod = config.getName();
+                event.extractorType = parameterExtractor.getClass().getSimpleName();
+                event.contentType = request.getContentType();
+                event.bodySize = request.getContentLengthLong();
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * 提取客户端类型，并记录 JFR 客户端类型提取事件
+     *
+     * @param request HTTP 请求对象
+     * @return 客户端类型
+     */
+    protected String extractClientType(HttpServletRequest request) {
+        ClientTypeExtractionEvent event = new ClientTypeExtractionEvent();
+        event.begin();
+        String clientType = clientTypeExtractor.extractClientType(request);
+        if (request.getAttribute(ATTEMPT_ATTRIBUTE) instanceof LoginAttempt attempt) {
+            attempt.clientType = clientType;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.loginMethod = config.getName();
+            event.extractorType = clientTypeExtractor.getClass().getSimpleName();
+            event.clientType = clientType;
+            event.commit();
+        }
+        return clientType;
+    }
+
+    /**
+     * 开始一次登录尝试并挂到 request 属性上，供成功/失败回调记录审计与 JFR 事件；
+     * 分组过滤器已开始时沿用其尝试，耗时从分组过滤器拦截请求算起
+     *
+     * @param request HTTP 请求对象
+     */
+    protected void startAttempt(HttpServletRequest request) {
+        beginAttempt(request);
+    }
+
+    private LoginAttempt beginAttempt(HttpServletRequest request) {
+        if (request.getAttribute(ATTEMPT_ATTRIBUTE) instanceof LoginAttempt existing) {
+            return existing;
+        }
+        LoginAttempt attempt = new LoginAttempt(System.nanoTime());
+        attempt.event.begin();
+        request.setAttribute(ATTEMPT_ATTRIBUTE, attempt);
+        return attempt;
+    }
+
+    /**
+     * 请求体类型不受支持时直接 415，不进入失败处理，只记录审计与 JFR 事件
+     *
+     * @param request  HTTP 请求对象
+     * @param response HTTP 响应对象
+     * @param e        请求体类型异常
+     * @throws IOException 写响应失败
+     */
+    protected void rejectUnsupportedMediaType(HttpServletRequest request, HttpServletResponse response,
+                                              UnsupportedLoginMediaTypeException e) throws IOException {
+        audit(request, null, e);
+        recordLoginRequest(request, e.getClass().getSimpleName());
+        request.removeAttribute(ATTEMPT_ATTRIBUTE);
+        response.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE);
+    }
+
+    @Override
+    protected void successfulAuthentication(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                                            Authentication authResult) throws IOException, ServletException {
+        audit(request, authResult.getName(), null);
+        publishPostAuthentication(request, authResult);
+        // JFR 事件包含成功处理器的耗时，处理器抛出异常时同样提交
+        try {
+            super.successfulAuthentication(request, response, chain, authResult);
+        } finally {
+            recordLoginRequest(request, OUTCOME_SUCCESS);
+        }
+    }
+
+    @Override
+    protected void unsuccessfulAuthentication(HttpServletRequest request, HttpServletResponse response,
+                                              AuthenticationException failed) throws IOException, ServletException {
+        audit(request, null, failed);
+        try {
+            super.unsuccessfulAuthentication(request, response, failed);
+        } finally {
+            recordLoginRequest(request, failed.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * 发布审计事件，只做内存入队，不在登录线程上做 I/O
+     */
+    private void audit(HttpServletRequest request, String authenticatedName, AuthenticationException failed) {
+        if (auditPipeline == null || !(request.getAttribute(ATTEMPT_ATTRIBUTE) instanceof LoginAttempt attempt)) {
+            return;
+        }
+        long latencyMicros = (System.nanoTime() - attempt.startNanos) / 1000;
+        String principal = authenticatedName != null ? authenticatedName : attempt.principal;
+        auditPipeline.publish(new LoginAuditEvent(System.currentTimeMillis(), config.getName(), attempt.clientType,
+                principal, request.getRemoteAddr(), failed == null,
+                failed == null ? null : failed.getClass().getSimpleName(), latencyMicros));
+    }
+
+    /**
+     * 发布登录成功事件，钩子在后台执行，不占用响应时间；会话限制等策略拒绝的登录不会发布
+     */
+    private void publishPostAuthentication(HttpServletRequest request, Authentication authResult) {
+        if (postAuthenticationHooks == null) {
+            return;
+        }
+        String clientType = authResult instanceof MultiLoginAuthentication multiLoginAuthentication
+                ? multiLoginAuthentication.getClientType()
+                : null;
+        postAuthenticationHooks.publish(new PostAuthenticationEvent(System.currentTimeMillis(), config.getName(),
+                clientType, authResult.getPrincipal(), request.getRemoteAddr(), 1));
+    }
+
+    /**
+     * 提交 JFR 登录请求事件，未超过阈值时不填充字段
+     */
+    private void recordLoginRequest(HttpServletRequest request, String outcome) {
+        if (!(request.getAttribute(ATTEMPT_ATTRIBUTE) instanceof LoginAttempt attempt)) {
+            return;
+        }
+        LoginRequestEvent event = attempt.event;
+        event.end();
+        if (event.shouldCommit()) {
+            event.loginMethod = config.getName();
+            event.clientType = attempt.clientType;
+            event.bodySize = request.getContentLengthLong();
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    private static String joinPrincipal(Map<String, Object> allParams, List<String> principalParamNames) {
+        if (principalParamNames.size() == 1) {
+            Object value = allParams.get(principalParamNames.get(0));
+            return value == null ? null : value.toString();
+        }
+        return principalParamNames.stream()
+                .map(allParams::get)
+                .filter(Objects::nonNull)
+                .map(Object::toString)
+                .collect(Collectors.joining(":"));
+    }
+
+    /**
+     * 单次登录尝试的上下文，挂在 request 属性上供成功/失败回调读取
+     */
+    private static final class LoginAttempt {
+        private final long startNanos;
+        private final LoginRequestEvent event = new LoginRequestEvent();
+        private String clientType;
+        private String principal;
+
+        private LoginAttempt(long startNanos) {
+            this.startNanos = startNanos;
+        }
+    }
 }
@@ -0,0 +1,181 @@
+package io.github.renhaowan.multilogin.core;
+
+import io.github.renhaowan.multilogin.core.exception.IpAccessDeniedException;
+import io.github.renhaowan.multilogin.core.exception.LoginMethodNotResolvedException;
+import io.github.renhaowan.multilogin.core.exception.UnsupportedLoginMediaTypeException;
+import io.github.renhaowan.multilogin.core.group.LoginMethodDecisionTable;
+import io.github.renhaowan.multilogin.core.ip.IpAccessList;
+import io.github.renhaowan.multilogin.core.properties.config.LoginMethodConfig;
+import io.github.renhaowan.multilogin.core.service.extractor.ParameterExtractor;
+import io.github.renhaowan.multilogin.core.signature.RequestSignatureVerifier;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 共享登录地址的分组过滤器
+ * 多个登录方式配置相同的 processUrl 时由它统一拦截：按全组参数的并集只解析一次请求体，
+ * 通过决策表选出登录方式，再把已提取的参数交给该登录方式的 DynamicAuthenticationFilter 完成认证、成功/失败处理与审计。
+ * 签名校验与解析请求体之前先按组内各登录方式 IP 访问控制的并集拒绝地址（任一登录方式允许即放行，选中后由成员再校验）；
+ * 签名按分组提取的客户端类型校验一次，选中的成员提取的客户端类型与之不同时拒绝登录；
+ * IP 被拒、未命中任何登录方式、请求体格式错误或类型不受支持的请求同样记录审计。
+ *
+ * @author wan
+ */
+public class LoginMethodGroupFilter extends DynamicAuthenticationFilter {
+
+    @Getter
+    private final List<DynamicAuthenticationFilter> members;
+    private final LoginMethodDecisionTable<DynamicAuthenticationFilter> decisionTable;
+    private final Map<DynamicAuthenticationFilter, List<String>> memberParamNames = new IdentityHashMap<>();
+    /**
+     * 组内各登录方式的 IP 访问控制，任一成员不限制时为空（分组不做 IP 检查）
+     */
+    private final List<IpAccessList> memberAccessLists;
+
+    /**
+     * 构造分组过滤器
+     *
+     * @param config             分组配置（processUrl、httpMethod 与全组参数名的并集）
+     * @param parameterExtractor 分组共用的参数提取器
+     * @param members            组内各登录方式的过滤器
+     * @param decisionTable      编译好的决策表
+     */
+    public LoginMethodGroupFilter(LoginMethodConfig config, ParameterExtractor parameterExtractor,
+                                  List<DynamicAuthenticationFilter> members,
+                                  LoginMethodDecisionTable<DynamicAuthenticationFilter> decisionTable) {
+        // 认证由成员过滤器完成，分组过滤器不需要 AuthenticationManager；客户端类型提取器供签名校验使用
+        super(config, parameterExtractor, members.get(0).getClientTypeExtractor(), null);
+        this.members = List.copyOf(members);
+        this.decisionTable = decisionTable;
+        for (DynamicAuthenticationFilter member : members) {
+            memberParamNames.put(member, member.getConfig().getParamName());
+        }
+        List<IpAccessList> accessLists = new ArrayList<>(members.size());
+        for (DynamicAuthenticationFilter member : members) {
+            if (member.getIpAccessList() == null) {
+                accessLists.clear();
+                break;
+            }
+            accessLists.add(member.getIpAccessList());
+        }
+        this.memberAccessLists = List.copyOf(accessLists);
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+        if (!requiresAuthentication(request, response)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        startAttempt(request);
+        // 请求签名校验在解析请求体之前执行，全组共用一份 nonce 表
+        RequestSignatureVerifier verifier = getRequestSignatureVerifier();
+        // 全组只解析一次请求体
+        Map<String, Object> allParams;
+        String signedClientType = null;
+        try {
+            if (!isAllowedByAnyMember(request.getRemoteAddr())) {
+                throw new IpAccessDeniedException("Login from this address is not allowed");
+            }
+            if (verifier != null) {
+                signedClientType = extractClientType(request);
+                request = verifier.verify(request, signedClientType);
+            }
+            allParams = extractRequestParameters(request);
+        } catch (UnsupportedLoginMediaTypeException e) {
+            rejectUnsupportedMediaType(request, response, e);
+            return;
+        } catch (AuthenticationException e) {
+            unsuccessfulAuthentication(request, response, e);
+            return;
+        }
+
+        DynamicAuthenticationFilter member = decisionTable.select(request, allParams);
+        if (member == null) {
+            unsuccessfulAuthentication(request, response,
+                    new LoginMethodNotResolvedException("No login method matches the request"));
+            return;
+        }
+
+        request.setAttribute(PARAMETERS_ATTRIBUTE, project(member, allParams));
+        request.setAttribute(SIGNED_CLIENT_TYPE_ATTRIBUTE, signedClientType);
+        try {
+            member.doFilter(request, response, chain);
+        } finally {
+            request.removeAttribute(PARAMETERS_ATTRIBUTE);
+            request.removeAttribute(SIGNED_CLIENT_TYPE_ATTRIBUTE);
+        }
+    }
+
+    @Override
+    public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response) {
+        throw new IllegalStateException("LoginMethodGroupFilter delegates authentication to its member filters");
+    }
+
+    /**
+     * 预热：解析请求体并经决策表选择登录方式，再由选中的成员过滤器构造 Token
+     *
+     * @param request 合成请求
+     * @return 构造出的认证请求 Token，未命中任何登录方式时返回 null
+     */
+    @Override
+    public BaseMultiLoginToken warmUp(HttpServletRequest request) {
+        getAntPathRequestMatcher().matches(request);
+        Map<String, Object> allParams = extractRequestParameters(request);
+        DynamicAuthenticationFilter member = decisionTable.select(request, allParams);
+        if (member == null) {
+            return null;
+        }
+        request.setAttribute(PARAMETERS_ATTRIBUTE, project(member, allParams));
+        try {
+            return member.warmUp(request);
+        } finally {
+            request.removeAttribute(PARAMETERS_ATTRIBUTE);
+        }
+    }
+
+    private boolean isAllowedByAnyMember(String remoteAddress) {
+        if (memberAccessLists.isEmpty()) {
+            return true;
+        }
+        for (IpAccessList accessList : memberAccessLists) {
+            if (accessList.isAllowed(remoteAddress)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 只保留选中登录方式声明的参数，保证业务逻辑看到的参数与独立登录地址时一致
+     */
+    private Map<String, Object> project(DynamicAuthenticationFilter member, Map<String, Object> allParams) {
+        List<String> paramNames = memberParamNames.get(member);
+        Map<String, Object> params = new HashMap<>(paramNames.size() * 2);
+        for (String name : paramNames) {
+            Object value = allParams.get(name);
+            if (value != null) {
+                params.put(name, value);
+            }
+        }
+        return params;
+    }
+}
@@ -0,0 +1,278 @@
+package io.github.renhaowan.multilogin.core;
+
+import io.github.renhaowan.multilogin.core.authority.GrantedAuthorityPool;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * @author wan
+ * 认证成功后的精简 Token，存入 SecurityContext / Session
+ * 只保留主体、权限、客户端类型与登录方式，凭证为 null，不再携带请求参数；
+ * 权限集合来自 GrantedAuthorityPool，内容相同的会话共享同一实例（父类会复制权限列表，因此由本类自行持有）；
+ * Java 序列化时以 {@link SerializedForm} 代理写出紧凑格式，降低 Session 复制与外部存储的体积。
+ */
+public class MultiLoginAuthenticatedToken extends AbstractAuthenticationToken implements MultiLoginAuthentication {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final Object principal;
+    private final String clientType;
+    private final String loginMethod;
+    private final List<GrantedAuthority> authorities;
+
+    /**
+     * 构造无权限的已认证 Token
+     * @param principal   认证成功后的 UserDetails 或自定义 Principal
+     * @param clientType  客户端类型
+     * @param loginMethod 登录方式名称
+     * @param details     认证附加信息
+     */
+    public MultiLoginAuthenticatedToken(Object principal, String clientType, String loginMethod, Object details) {
+        this(principal, List.of(), clientType, loginMethod, details);
+    }
+
+    /**
+     * 构造已认证 Token
+     * @param principal   认证成功后的 UserDetails 或自定义 Principal
+     * @param authorities 权限集合，经 GrantedAuthorityPool 规范化
+     * @param clientType  客户端类型
+     * @param loginMethod 登录方式名称
+     * @param details     认证附加信息
+     */
+    public MultiLoginAuthenticatedToken(Object principal, Collection<? extends GrantedAuthority> authorities,
+                                        String clientType, String loginMethod, Object details) {
+        super(AuthorityUtils.NO_AUTHORITIES);
+        this.principal = principal;
+        this.authorities = GrantedAuthorityPool.shared().intern(authorities);
+        this.clientType = clientType;
+        this.loginMethod = loginMethod;
+        setDetails(details);
+        super.setAuthenticated(true);
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return principal;
+    }
+
+    /**
+     * 凭证在认证后即丢弃
+     */
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    /**
+     * 凭证本就为 null；主体可能是候选用户缓存中共享的对象（两阶段认证 verify 常直接返回候选用户），
+     * 擦除会清空缓存中的密码，导致该用户之后命中缓存的登录失败，因此只擦除附加信息
+     */
+    @Override
+    public void eraseCredentials() {
+        if (getDetails() instanceof CredentialsContainer container) {
+            container.eraseCredentials();
+        }
+    }
+
+    @Override
+    public Collection<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getClientType() {
+        return clientType;
+    }
+
+    @Override
+    public String getLoginMethod() {
+        return loginMethod;
+    }
+
+    /**
+     * 已认证 Token 不允许再被标记为已认证，只能降级为未认证
+     */
+    @Override
+    public void setAuthenticated(boolean authenticated) {
+        if (authenticated) {
+            throw new IllegalArgumentException("Cannot set this token to trusted, use the constructor instead");
+        }
+        super.setAuthenticated(false);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof MultiLoginAuthenticatedToken other)) {
+            return false;
+        }
+        return isAuthenticated() == other.isAuthenticated()
+                && Objects.equals(principal, other.principal)
+                && authorities.equals(other.authorities)
+                && Objects.equals(clientType, other.clientType)
+                && Objects.equals(loginMethod, other.loginMethod)
+                && Objects.equals(getDetails(), other.getDetails());
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hashCode(principal);
+        result = 31 * result + authorities.hashCode();
+        result = 31 * result + Objects.hashCode(clientType);
+        result = 31 * result + Objects.hashCode(loginMethod);
+        result = 31 * result + Objects.hashCode(getDetails());
+        return 31 * result + (isAuthenticated() ? 1 : 0);
+    }
+
+    @Serial
+    private Object writeReplace() {
+        return new SerializedForm(this);
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException {
+        throw new InvalidObjectException("SerializedForm required");
+    }
+
+    /**
+     * 序列化代理：字符串字段以 UTF 写出，权限只写权限字符串（反序列化时重新规范化），WebAuthenticationDetails 拆成两个字符串，
+     * 省去 AbstractAuthenticationToken 层级与 details 类的描述信息
+     */
+    static final class SerializedForm implements Externalizable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private static final byte FORMAT_VERSION = 1;
+        private static final byte DETAILS_NONE = 0;
+        private static final byte DETAILS_WEB = 1;
+        private static final byte DETAILS_OBJECT = 2;
+
+        private MultiLoginAuthenticatedToken token;
+
+        /**
+         * Externalizable 要求的公共无参构造
+         */
+        public SerializedForm() {
+        }
+
+        SerializedForm(MultiLoginAuthenticatedToken token) {
+            this.token = token;
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeByte(FORMAT_VERSION);
+            out.writeBoolean(token.isAuthenticated());
+            writeNullableUtf(out, token.clientType);
+            writeNullableUtf(out, token.loginMethod);
+            if (token.principal instanceof String name) {
+                out.writeBoolean(true);
+                out.writeUTF(name);
+            } else {
+                out.writeBoolean(false);
+                out.writeObject(token.principal);
+            }
+            writeAuthorities(out, token.authorities);
+            Object details = token.getDetails();
+            if (details == null) {
+                out.writeByte(DETAILS_NONE);
+            } else if (details.getClass() == WebAuthenticationDetails.class) {
+                WebAuthenticationDetails webDetails = (WebAuthenticationDetails) details;
+                out.writeByte(DETAILS_WEB);
+                writeNullableUtf(out, webDetails.getRemoteAddress());
+                writeNullableUtf(out, webDetails.getSessionId());
+            } else {
+                out.writeByte(DETAILS_OBJECT);
+                out.writeObject(details);
+            }
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new InvalidObjectException("Unsupported token format version: " + version);
+            }
+            boolean authenticated = in.readBoolean();
+            String clientType = readNullableUtf(in);
+            String loginMethod = readNullableUtf(in);
+            Object principal = in.readBoolean() ? in.readUTF() : in.readObject();
+            Collection<? extends GrantedAuthority> authorities = readAuthorities(in);
+            Object details = switch (in.readByte()) {
+                case DETAILS_WEB -> new WebAuthenticationDetails(readNullableUtf(in), readNullableUtf(in));
+                case DETAILS_OBJECT -> in.readObject();
+                default -> null;
+            };
+            this.token = new MultiLoginAuthenticatedToken(principal, authorities, clientType, loginMethod, details);
+            if (!authenticated) {
+                token.setAuthenticated(false);
+            }
+        }
+
+        @Serial
+        private Object readResolve() {
+            return token;
+        }
+
+        /**
+         * 全部为 SimpleGrantedAuthority 时只写字符串，否则整体写出对象（保留自定义权限类型）
+         */
+        private static void writeAuthorities(ObjectOutput out, List<GrantedAuthority> authorities) throws IOException {
+            boolean plain = authorities.stream().allMatch(authority -> authority.getClass() == SimpleGrantedAuthority.class);
+            out.writeBoolean(plain);
+            if (!plain) {
+                out.writeObject(new ArrayList<>(authorities));
+                return;
+            }
+            out.writeShort(authorities.size());
+            for (GrantedAuthority authority : authorities) {
+                out.writeUTF(authority.getAuthority());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Collection<? extends GrantedAuthority> readAuthorities(ObjectInput in) throws IOException, ClassNotFoundException {
+            if (!in.readBoolean()) {
+                return (Collection<? extends GrantedAuthority>) in.readObject();
+            }
+            int size = in.readUnsignedShort();
+            List<String> names = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                names.add(in.readUTF());
+            }
+            return GrantedAuthorityPool.shared().internNames(names);
+        }
+
+        private static void writeNullableUtf(ObjectOutput out, String value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeUTF(value);
+            }
+        }
+
+        private static String readNullableUtf(ObjectInput in) throws IOException {
+            return in.readBoolean() ? in.readUTF() : null;
+        }
+    }
+
+}
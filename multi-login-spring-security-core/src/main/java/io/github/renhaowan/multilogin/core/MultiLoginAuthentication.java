@@ -0,0 +1,20 @@
+package io.github.renhaowan.multilogin.core;
+
+import org.springframework.security.core.Authentication;
+
+/**
+ * @author wan
+ * 多端登录认证信息，认证前后的 Token 均实现此接口
+ */
+public interface MultiLoginAuthentication extends Authentication {
+
+    /**
+     * @return 客户端类型（如 PC、APP、H5）
+     */
+    String getClientType();
+
+    /**
+     * @return 登录方式名称（methods 中的 key）
+     */
+    String getLoginMethod();
+}
@@ -1,22 +1,80 @@
 package io.github.renhaowan.multilogin.core;
 
+import io.github.renhaowan.multilogin.core.cache.BoundedLocalCache;
+import io.github.renhaowan.multilogin.core.cache.CandidateCacheRegistry;
 import io.github.renhaowan.multilogin.core.exception.MultiLoginException;
+import io.github.renhaowan.multilogin.core.jfr.ProviderAuthenticationEvent;
+import io.github.renhaowan.multilogin.core.service.AuthoritiesResolver;
 import io.github.renhaowan.multilogin.core.service.BusinessAuthenticationLogic;
+import io.github.renhaowan.multilogin.core.service.TwoPhaseBusinessAuthenticationLogic;
+import io.github.renhaowan.multilogin.core.service.existence.PrincipalExistenceFilter;
+import io.github.renhaowan.multilogin.core.service.existence.PrincipalExistenceFilterRegistry;
+import io.github.renhaowan.multilogin.core.service.precheck.PreAuthenticationCheck;
+import io.github.renhaowan.multilogin.core.service.precheck.PreAuthenticationCheckRunner;
+import io.github.renhaowan.multilogin.core.service.precheck.PreAuthenticationContext;
+import lombok.Setter;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * @author wan
  */
 public class RouterAuthenticationProvider implements AuthenticationProvider {
+    private static final String OUTCOME_SUCCESS = "SUCCESS";
+
     // Map<ClientType, BusinessAuthenticationLogic>
     private final Map<String, BusinessAuthenticationLogic> businessProviders;
 
+    /**
+     * 候选用户缓存 Map<ClientType, Cache>，仅对两阶段认证生效，未配置的客户端类型不缓存
+     */
+    @Setter
+    private Map<String, BoundedLocalCache<List<String>, Object>> candidateCaches = Collections.emptyMap();
+
+    /**
+     * 主体存在性过滤器，为 null 时不做预过滤
+     */
+    @Setter
+    private PrincipalExistenceFilter existenceFilter;
+
+    /**
+     * 判定主体不存在时的固定响应耗时
+     */
+    @Setter
+    private Duration existenceRejectDelay = Duration.ZERO;
+
+    /**
+     * 前置检查 Map<ClientType, Runner>，未配置的客户端类型不做检查
+     */
+    @Setter
+    private Map<String, PreAuthenticationCheckRunner> preAuthenticationChecks = Collections.emptyMap();
+
+    /**
+     * 权限解析器 Map<ClientType, Resolver>，未配置的客户端类型使用 UserDetails.getAuthorities()
+     */
+    @Setter
+    private Map<String, AuthoritiesResolver> authoritiesResolvers = Collections.emptyMap();
+
+    /**
+     * 业务 Provider Bean 名称 Map<ClientType, BeanName>，仅用于 JFR 事件
+     */
+    @Setter
+    private Map<String, String> providerBeanNames = Collections.emptyMap();
+
     public RouterAuthenticationProvider(List<BusinessAuthenticationLogic> providers, List<String> clientTypes) {
         this.businessProviders = new HashMap<>();
         // 建立 ClientType -> BusinessLogic 的映射关系
@@ -32,6 +90,31 @@ public class RouterAuthenticationProvider implements AuthenticationProvider {
             return null;
         }
 
+        // JFR 未开启或未超过阈值时只有 begin/shouldCommit 的开销
+        ProviderAuthenticationEvent event = new ProviderAuthenticationEvent();
+        event.begin();
+        String outcome = OUTCOME_SUCCESS;
+        try {
+            return route(token);
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.loginMethod = token.getLoginMethod();
+                event.clientType = token.getClientType();
+                event.providerBeanName = providerBeanNames.get(token.getClientType());
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    private Authentication route(BaseMultiLoginToken token) {
+        // 预过滤：主体一定不存在时不再访问业务 Provider
+        rejectUnknownPrincipal(token);
+
         // 路由：根据客户端类型查找对应的业务 Provider
         String clientType = token.getClientType();
         BusinessAuthenticationLogic businessLogic = businessProviders.get(clientType);
@@ -40,16 +123,111 @@ public class RouterAuthenticationProvider implements AuthenticationProvider {
             throw new MultiLoginException("Login method provider not configured for client type: " + clientType);
         }
 
+        // 并发执行前置检查，结果随参数传递给业务逻辑
+        Map<String, Object> allParams = runPreAuthenticationChecks(token);
+
         // 执行业务逻辑
-        Object principal = businessLogic.authenticate(token.getAllParams());
+        Object principal;
+        if (businessLogic instanceof TwoPhaseBusinessAuthenticationLogic<?> twoPhaseLogic) {
+            principal = authenticateTwoPhase(twoPhaseLogic, token, allParams);
+        } else {
+            principal = businessLogic.authenticate(allParams);
+        }
 
         if (principal == null) {
             throw new MultiLoginException("Authentication failed: User details is null.");
         }
 
-        // 认证成功，设置已认证状态并返回
-        token.setPrincipalDetails(principal);
-        return token;
+        // 认证成功，返回不携带请求参数与凭证的精简 Token
+        return new MultiLoginAuthenticatedToken(principal, resolveAuthorities(token, principal),
+                clientType, token.getLoginMethod(), token.getDetails());
+    }
+
+    /**
+     * 存在性预过滤：主体一定不存在时，补足固定耗时后以与普通失败相同的异常拒绝
+     */
+    private void rejectUnknownPrincipal(BaseMultiLoginToken token) {
+        if (existenceFilter == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        Object[] principalValues = token.getPrincipalParamNames().stream()
+                .map(token.getAllParams()::get)
+                .toArray();
+        // 缺少主体参数时交由业务逻辑处理
+        if (principalValues.length == 0 || Arrays.stream(principalValues).anyMatch(Objects::isNull)) {
+            return;
+        }
+        if (existenceFilter.mightContain(PrincipalExistenceFilterRegistry.principalKey(principalValues))) {
+            return;
+        }
+        long deadline = start + existenceRejectDelay.toNanos();
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+        throw new BadCredentialsException("Bad credentials");
+    }
+
+    /**
+     * 执行前置检查，返回附带检查结果的参数集合；未配置检查时原样返回
+     */
+    private Map<String, Object> runPreAuthenticationChecks(BaseMultiLoginToken token) {
+        PreAuthenticationCheckRunner runner = preAuthenticationChecks.get(token.getClientType());
+        if (runner == null) {
+            return token.getAllParams();
+        }
+        Map<String, Object> results = runner.run(new PreAuthenticationContext(token.getLoginMethod(), token.getClientType(),
+                Collections.unmodifiableMap(token.getAllParams()), token.getDetails()));
+        Map<String, Object> allParams = new HashMap<>(token.getAllParams());
+        allParams.put(PreAuthenticationCheck.RESULTS_PARAM, results);
+        return allParams;
+    }
+
+    /**
+     * 解析权限：优先使用配置的 AuthoritiesResolver，其次取 UserDetails 的权限
+     */
+    private Collection<? extends GrantedAuthority> resolveAuthorities(BaseMultiLoginToken token, Object principal) {
+        AuthoritiesResolver resolver = authoritiesResolvers.get(token.getClientType());
+        if (resolver != null) {
+            return resolver.resolve(token.getLoginMethod(), token.getClientType(), principal);
+        }
+        if (principal instanceof UserDetails userDetails) {
+            return userDetails.getAuthorities();
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * 两阶段认证：加载候选用户（可命中缓存）后校验凭证，凭证校验每次都会执行
+     */
+    private <C> Object authenticateTwoPhase(TwoPhaseBusinessAuthenticationLogic<C> logic, BaseMultiLoginToken token,
+                                            Map<String, Object> allParams) {
+        Map<String, Object> principalParams = new HashMap<>();
+        Map<String, Object> credentialParams = new HashMap<>(allParams);
+        for (String name : token.getPrincipalParamNames()) {
+            Object value = credentialParams.remove(name);
+            if (value != null) {
+                principalParams.put(name, value);
+            }
+        }
+
+        BoundedLocalCache<List<String>, Object> cache = candidateCaches.get(token.getClientType());
+        C candidate;
+        if (cache == null) {
+            candidate = logic.loadCandidate(principalParams);
+        } else {
+            List<String> key = CandidateCacheRegistry.cacheKey(
+                    token.getPrincipalParamNames().stream().map(allParams::get).toArray());
+            @SuppressWarnings("unchecked")
+            C cached = (C) cache.get(key, k -> logic.loadCandidate(principalParams));
+            candidate = cached;
+        }
+
+        if (candidate == null) {
+            throw new BadCredentialsException("Authentication failed: candidate not found.");
+        }
+        return logic.verify(candidate, credentialParams);
     }
 
     @Override
@@ -0,0 +1,24 @@
+package io.github.renhaowan.multilogin.core.audit;
+
+/**
+ * 审计缓冲区满时的处理策略
+ *
+ * @author wan
+ */
+public enum AuditOverflowPolicy {
+
+    /**
+     * 直接丢弃新事件，登录请求不受影响
+     */
+    DROP,
+
+    /**
+     * 阻塞登录线程直到有空位，保证不丢事件
+     */
+    BLOCK,
+
+    /**
+     * 缓冲区超过半满后按比例采样，仍满时丢弃
+     */
+    SAMPLE
+}
@@ -0,0 +1,18 @@
+package io.github.renhaowan.multilogin.core.audit;
+
+/**
+ * 登录审计事件
+ *
+ * @param timestamp     事件时间（毫秒时间戳）
+ * @param loginMethod   登录方式名称
+ * @param clientType    客户端类型，未识别时为 null
+ * @param principal     主体，未提取到时为 null
+ * @param ip            客户端 IP
+ * @param success       是否认证成功
+ * @param failureReason 失败原因（异常类名），成功时为 null
+ * @param latencyMicros 认证耗时（微秒）
+ * @author wan
+ */
+public record LoginAuditEvent(long timestamp, String loginMethod, String clientType, String principal, String ip,
+                              boolean success, String failureReason, long latencyMicros) {
+}
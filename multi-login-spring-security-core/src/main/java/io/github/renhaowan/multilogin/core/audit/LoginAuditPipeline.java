@@ -0,0 +1,145 @@
+package io.github.renhaowan.multilogin.core.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步登录审计管道
+ * 登录线程只把事件写入无锁环形缓冲区，后台消费线程按批取出并依次交给各 Sink，
+ * 磁盘与数据库 I/O 不再占用登录请求的响应时间。
+ *
+ * @author wan
+ */
+@Slf4j
+public class LoginAuditPipeline implements AutoCloseable {
+
+    private static final long BLOCK_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final MpscRingBuffer<LoginAuditEvent> buffer;
+    private final List<LoginAuditSink> sinks;
+    private final int batchSize;
+    private final long idleWaitNanos;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final int sampleRate;
+    private final Thread consumer;
+
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private volatile boolean running = true;
+
+    /**
+     * 构造审计管道并启动消费线程
+     *
+     * @param sinks          审计输出端
+     * @param bufferSize     环形缓冲区容量
+     * @param batchSize      每批最大事件数
+     * @param idleWait       缓冲区为空时的等待间隔
+     * @param overflowPolicy 缓冲区满时的处理策略
+     * @param sampleRate     SAMPLE 策略的采样比例（每 N 个保留 1 个）
+     */
+    public LoginAuditPipeline(List<LoginAuditSink> sinks, int bufferSize, int batchSize, Duration idleWait,
+                              AuditOverflowPolicy overflowPolicy, int sampleRate) {
+        this.buffer = new MpscRingBuffer<>(bufferSize);
+        this.sinks = List.copyOf(sinks);
+        this.batchSize = Math.max(1, batchSize);
+        this.idleWaitNanos = idleWait.toNanos();
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.consumer = new Thread(this::consume, "multi-login-audit");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    /**
+     * 发布审计事件（登录线程调用，不做任何 I/O）
+     *
+     * @param event 审计事件
+     */
+    public void publish(LoginAuditEvent event) {
+        if (!running) {
+            dropped.increment();
+            return;
+        }
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                while (!buffer.offer(event)) {
+                    if (!running) {
+                        dropped.increment();
+                        return;
+                    }
+                    LockSupport.parkNanos(BLOCK_WAIT_NANOS);
+                }
+            }
+            case SAMPLE -> {
+                boolean pressured = buffer.size() > buffer.capacity() / 2;
+                if ((pressured && sampleCounter.getAndIncrement() % sampleRate != 0) || !buffer.offer(event)) {
+                    dropped.increment();
+                }
+            }
+            default -> {
+                if (!buffer.offer(event)) {
+                    dropped.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * 因缓冲区满或采样而丢弃的事件数
+     *
+     * @return 丢弃数
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void consume() {
+        List<LoginAuditEvent> batch = new ArrayList<>(batchSize);
+        while (true) {
+            LoginAuditEvent event;
+            while (batch.size() < batchSize && (event = buffer.poll()) != null) {
+                batch.add(event);
+            }
+            if (!batch.isEmpty()) {
+                deliver(batch);
+                batch.clear();
+                continue;
+            }
+            if (!running) {
+                return;
+            }
+            LockSupport.parkNanos(this, idleWaitNanos);
+        }
+    }
+
+    private void deliver(List<LoginAuditEvent> batch) {
+        for (LoginAuditSink sink : sinks) {
+            try {
+                sink.write(batch);
+            } catch (Exception e) {
+                log.warn("Login audit sink {} failed to write {} events", sink.getClass().getSimpleName(), batch.size(), e);
+            }
+        }
+    }
+
+    /**
+     * 停止接收新事件，并等待消费线程写完缓冲区中剩余的事件
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.renhaowan.multilogin.core.audit;
+
+import java.util.List;
+
+/**
+ * 登录审计输出端（SPI）
+ * 由审计消费线程按批调用，实现方无需考虑并发。
+ *
+ * @author wan
+ */
+public interface LoginAuditSink {
+
+    /**
+     * 写出一批审计事件
+     *
+     * @param events 审计事件，调用返回后列表会被复用，实现方不应持有引用
+     * @throws Exception 写出失败，由审计管道记录日志后继续
+     */
+    void write(List<LoginAuditEvent> events) throws Exception;
+}
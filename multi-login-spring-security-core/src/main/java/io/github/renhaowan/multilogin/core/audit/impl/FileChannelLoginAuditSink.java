@@ -0,0 +1,138 @@
+package io.github.renhaowan.multilogin.core.audit.impl;
+
+import io.github.renhaowan.multilogin.core.audit.LoginAuditEvent;
+import io.github.renhaowan.multilogin.core.audit.LoginAuditSink;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * 基于 FileChannel 的滚动审计文件
+ * 每批事件编码为 JSON Lines 写入同一个复用的缓冲区，一次 write 追加到文件，
+ * 开启 fsync 时整批只落盘一次（组提交）。文件超过上限后按时间戳重命名并新建。
+ *
+ * @author wan
+ */
+public class FileChannelLoginAuditSink implements LoginAuditSink, AutoCloseable {
+
+    private static final DateTimeFormatter ROLL_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final Path file;
+    private final long maxFileSize;
+    private final boolean fsync;
+    private final StringBuilder line = new StringBuilder(256);
+
+    private FileChannel channel;
+    private int rollSequence;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+
+    /**
+     * 构造文件审计输出端
+     *
+     * @param directory   审计文件目录
+     * @param fileName    当前审计文件名
+     * @param maxFileSize 单个文件最大字节数
+     * @param fsync       每批写入后是否落盘
+     * @throws IOException 无法创建目录或打开文件
+     */
+    public FileChannelLoginAuditSink(Path directory, String fileName, long maxFileSize, boolean fsync) throws IOException {
+        Files.createDirectories(directory);
+        this.file = directory.resolve(fileName);
+        this.maxFileSize = maxFileSize;
+        this.fsync = fsync;
+        this.channel = open();
+    }
+
+    @Override
+    public void write(List<LoginAuditEvent> events) throws IOException {
+        buffer.clear();
+        for (LoginAuditEvent event : events) {
+            encode(event);
+        }
+        buffer.flip();
+
+        if (channel.size() > 0 && channel.size() + buffer.remaining() > maxFileSize) {
+            roll();
+        }
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void encode(LoginAuditEvent event) {
+        line.setLength(0);
+        line.append("{\"ts\":").append(event.timestamp());
+        appendField("method", event.loginMethod());
+        appendField("clientType", event.clientType());
+        appendField("principal", event.principal());
+        appendField("ip", event.ip());
+        line.append(",\"success\":").append(event.success());
+        appendField("reason", event.failureReason());
+        line.append(",\"latencyUs\":").append(event.latencyMicros()).append("}\n");
+
+        byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+        if (buffer.remaining() < bytes.length) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(buffer.capacity() * 2, buffer.position() + bytes.length));
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+        buffer.put(bytes);
+    }
+
+    private void appendField(String name, String value) {
+        line.append(",\"").append(name).append("\":");
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    private void roll() throws IOException {
+        channel.close();
+        String name = file.getFileName().toString();
+        // 追加序号，避免同一毫秒内多次滚动时文件名冲突
+        Path rolled = file.resolveSibling(name + "." + LocalDateTime.now().format(ROLL_SUFFIX) + "-" + rollSequence++);
+        Files.move(file, rolled);
+        channel = open();
+    }
+
+    private FileChannel open() throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.renhaowan.multilogin.core.audit.impl;
+
+import io.github.renhaowan.multilogin.core.audit.LoginAuditEvent;
+import io.github.renhaowan.multilogin.core.audit.LoginAuditSink;
+import io.github.renhaowan.multilogin.core.jdbc.JdbcTables;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * JDBC 审计输出端
+ * 每批事件通过一次 batchUpdate 写入审计表，表结构见 {@link #CREATE_TABLE_SQL}；
+ * 主体、登录方式与失败原因来自客户端输入或异常信息，写入前按列宽截断，避免单个超长取值导致整批写入失败。
+ *
+ * @author wan
+ */
+public class JdbcLoginAuditSink implements LoginAuditSink {
+
+    /**
+     * 默认建表语句，%s 为表名
+     */
+    public static final String CREATE_TABLE_SQL = "CREATE TABLE %s ("
+            + "event_time TIMESTAMP NOT NULL, "
+            + "login_method VARCHAR(64), "
+            + "client_type VARCHAR(64), "
+            + "principal VARCHAR(128), "
+            + "ip VARCHAR(64), "
+            + "success BOOLEAN NOT NULL, "
+            + "failure_reason VARCHAR(128), "
+            + "latency_micros BIGINT NOT NULL)";
+
+    private static final int LOGIN_METHOD_LENGTH = 64;
+    private static final int CLIENT_TYPE_LENGTH = 64;
+    private static final int PRINCIPAL_LENGTH = 128;
+    private static final int IP_LENGTH = 64;
+    private static final int FAILURE_REASON_LENGTH = 128;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String insertSql;
+
+    /**
+     * 构造 JDBC 审计输出端
+     *
+     * @param jdbcTemplate JdbcTemplate
+     * @param tableName    审计表名
+     */
+    public JdbcLoginAuditSink(JdbcTemplate jdbcTemplate, String tableName) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.insertSql = "INSERT INTO " + tableName + " (event_time, login_method, client_type, principal, ip,"
+                + " success, failure_reason, latency_micros) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    }
+
+    /**
+     * 建表，表已存在时跳过
+     *
+     * @param tableName 审计表名
+     */
+    public void createTable(String tableName) {
+        JdbcTables.createIfAbsent(jdbcTemplate, tableName, String.format(CREATE_TABLE_SQL, tableName));
+    }
+
+    @Override
+    public void write(List<LoginAuditEvent> events) {
+        jdbcTemplate.batchUpdate(insertSql, events, events.size(), (ps, event) -> {
+            ps.setTimestamp(1, new Timestamp(event.timestamp()));
+            ps.setString(2, truncate(event.loginMethod(), LOGIN_METHOD_LENGTH));
+            ps.setString(3, truncate(event.clientType(), CLIENT_TYPE_LENGTH));
+            ps.setString(4, truncate(event.principal(), PRINCIPAL_LENGTH));
+            ps.setString(5, truncate(event.ip(), IP_LENGTH));
+            ps.setBoolean(6, event.success());
+            ps.setString(7, truncate(event.failureReason(), FAILURE_REASON_LENGTH));
+            ps.setLong(8, event.latencyMicros());
+        });
+    }
+
+    /**
+     * 按列宽截断，不拆开代理对
+     */
+    static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        int end = Character.isHighSurrogate(value.charAt(maxLength - 1)) ? maxLength - 1 : maxLength;
+        return value.substring(0, end);
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.renhaowan.multilogin.core.authority;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 权限集合规范化池
+ * 内容相同的权限集合（忽略顺序与重复）共享同一个不可变实例，单个权限字符串也只保留一个 SimpleGrantedAuthority，
+ * 大量在线会话只引用少量权限集合；反序列化的 Token 同样经由此池恢复。
+ * 池中集合数量达到上限后不再收录新集合，仍返回去重后的不可变集合；单个权限字符串同样有收录上限，
+ * 未收录的集合不会占用权限字符串名额。
+ * 自定义的 GrantedAuthority 实现（非 SimpleGrantedAuthority）与无法以字符串表示的权限（getAuthority() 为 null）
+ * 所在的集合按原样保留，不进入池，避免丢失自定义类型的附加信息。
+ *
+ * @author wan
+ */
+public final class GrantedAuthorityPool {
+
+    private static final GrantedAuthorityPool SHARED = new GrantedAuthorityPool(4096);
+    private static final Comparator<GrantedAuthority> BY_NAME = Comparator.comparing(GrantedAuthority::getAuthority);
+
+    private final int maxSets;
+    private final int maxAuthorities;
+    private final ConcurrentHashMap<String, GrantedAuthority> authorities = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Set<String>, List<GrantedAuthority>> sets = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxSets 最多收录的权限集合数量，权限字符串最多收录其 4 倍
+     */
+    public GrantedAuthorityPool(int maxSets) {
+        this(maxSets, maxSets * 4);
+    }
+
+    /**
+     * @param maxSets        最多收录的权限集合数量
+     * @param maxAuthorities 最多收录的权限字符串数量
+     */
+    public GrantedAuthorityPool(int maxSets, int maxAuthorities) {
+        this.maxSets = maxSets;
+        this.maxAuthorities = maxAuthorities;
+    }
+
+    /**
+     * @return 全局共享的池
+     */
+    public static GrantedAuthorityPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * 规范化单个权限
+     *
+     * @param authority 权限字符串
+     * @return 共享的权限实例，收录数量达到上限时为新实例
+     */
+    public GrantedAuthority intern(String authority) {
+        GrantedAuthority existing = authorities.get(authority);
+        if (existing != null) {
+            return existing;
+        }
+        if (authorities.size() >= maxAuthorities) {
+            return new SimpleGrantedAuthority(authority);
+        }
+        return authorities.computeIfAbsent(authority, SimpleGrantedAuthority::new);
+    }
+
+    /**
+     * 规范化权限集合
+     *
+     * @param source 权限集合，可为 null
+     * @return 共享的不可变权限集合（按权限字符串排序）；含自定义权限类型时为原集合的不可变副本
+     */
+    public List<GrantedAuthority> intern(Collection<? extends GrantedAuthority> source) {
+        if (source == null || source.isEmpty()) {
+            return List.of();
+        }
+        Set<String> names = new HashSet<>(source.size() * 2);
+        for (GrantedAuthority authority : source) {
+            if (authority.getClass() != SimpleGrantedAuthority.class || authority.getAuthority() == null) {
+                return List.copyOf(source);
+            }
+            names.add(authority.getAuthority());
+        }
+        return internNames(names);
+    }
+
+    /**
+     * 由权限字符串规范化权限集合
+     *
+     * @param source 权限字符串
+     * @return 共享的不可变权限集合（按权限字符串排序）
+     */
+    public List<GrantedAuthority> internNames(Collection<String> source) {
+        if (source.isEmpty()) {
+            return List.of();
+        }
+        Set<String> key = Set.copyOf(source);
+        List<GrantedAuthority> existing = sets.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (sets.size() >= maxSets) {
+            return build(key, false);
+        }
+        List<GrantedAuthority> created = build(key, true);
+        List<GrantedAuthority> raced = sets.putIfAbsent(key, created);
+        return raced != null ? raced : created;
+    }
+
+    /**
+     * @return 已收录的权限集合数量
+     */
+    public int size() {
+        return sets.size();
+    }
+
+    /**
+     * @param names  权限字符串
+     * @param pooled 集合是否收录入池；不收录时只复用已有的权限实例，不新增权限字符串
+     */
+    private List<GrantedAuthority> build(Set<String> names, boolean pooled) {
+        List<GrantedAuthority> list = new ArrayList<>(names.size());
+        for (String name : names) {
+            if (pooled) {
+                list.add(intern(name));
+            } else {
+                GrantedAuthority existing = authorities.get(name);
+                list.add(existing != null ? existing : new SimpleGrantedAuthority(name));
+            }
+        }
+        list.sort(BY_NAME);
+        return List.copyOf(list);
+    }
+}
@@ -0,0 +1,335 @@
+package io.github.renhaowan.multilogin.core.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * 有界本地缓存
+ * 按 key 哈希分段，每段是一个按访问顺序排列的 LinkedHashMap，超出容量时淘汰该段最久未访问的条目；
+ * 支持写入后过期（TTL）与空闲过期，过期条目在访问时惰性清除。
+ * 加载函数在锁外执行，避免慢加载阻塞同段的其它请求；同一 key 的并发加载只执行一次，其余请求等待同一个结果（single-flight）。
+ * 加载期间 key 被移除时，该次加载的结果只返回给已在等待的请求，不写入缓存，之后的请求重新加载。
+ * 可选的移除监听器在条目被淘汰、过期或主动移除时回调（在段锁内执行，应保持轻量）。
+ *
+ * @param <K> key 类型
+ * @param <V> value 类型
+ * @author wan
+ */
+public class BoundedLocalCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final BiConsumer<K, V> removalListener;
+    private final Map<K, Load<V>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * 构造有界本地缓存
+     *
+     * @param maximumSize       最大条目数
+     * @param expireAfterWrite  写入后过期时间，null 或 0 表示不按写入时间过期
+     * @param expireAfterAccess 空闲过期时间，null 或 0 表示不按访问时间过期
+     */
+    public BoundedLocalCache(int maximumSize, Duration expireAfterWrite, Duration expireAfterAccess) {
+        this(maximumSize, expireAfterWrite, expireAfterAccess, null);
+    }
+
+    /**
+     * 构造带移除监听器的有界本地缓存
+     *
+     * @param maximumSize       最大条目数
+     * @param expireAfterWrite  写入后过期时间，null 或 0 表示不按写入时间过期
+     * @param expireAfterAccess 空闲过期时间，null 或 0 表示不按访问时间过期
+     * @param removalListener   移除监听器，可为 null
+     */
+    @SuppressWarnings("unchecked")
+    public BoundedLocalCache(int maximumSize, Duration expireAfterWrite, Duration expireAfterAccess,
+                             BiConsumer<K, V> removalListener) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maximumSize));
+        int segmentCapacity = (maximumSize + segmentCount - 1) / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(segmentCapacity, removalListener);
+        }
+        this.segmentMask = segmentCount - 1;
+        this.expireAfterWriteNanos = toNanos(expireAfterWrite);
+        this.expireAfterAccessNanos = toNanos(expireAfterAccess);
+        this.removalListener = removalListener;
+    }
+
+    /**
+     * 获取缓存值
+     *
+     * @param key key
+     * @return 缓存值，不存在或已过期返回 null
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        long now = System.nanoTime();
+        synchronized (segment) {
+            Entry<V> entry = segment.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (isExpired(entry, now)) {
+                segment.remove(key);
+                notifyRemoval(key, entry.value);
+                return null;
+            }
+            entry.accessTime = now;
+            return entry.value;
+        }
+    }
+
+    /**
+     * 获取缓存值，不存在时调用加载函数并缓存非 null 结果
+     * 同一 key 同时只有一个线程执行加载函数，其余线程等待并得到同一个结果（加载异常同样传递给等待的线程）；
+     * 加载期间已有其他值写入时保留已写入的值，加载期间 key 被移除时不写入缓存，这两种情况都不触发移除监听器。
+     *
+     * @param key    key
+     * @param loader 加载函数
+     * @return 缓存值或加载结果
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        Load<V> own = new Load<>();
+        Load<V> inFlight = loading.putIfAbsent(key, own);
+        if (inFlight != null) {
+            return await(inFlight.future);
+        }
+        try {
+            // 另一个线程可能刚完成加载并移除了 future
+            value = get(key);
+            if (value == null) {
+                value = loader.apply(key);
+                if (value != null) {
+                    value = publish(key, value, own);
+                }
+            }
+            own.future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            own.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, own);
+        }
+    }
+
+    /**
+     * 写入缓存
+     *
+     * @param key   key
+     * @param value value
+     */
+    public void put(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        long now = System.nanoTime();
+        synchronized (segment) {
+            Entry<V> previous = segment.put(key, new Entry<>(value, now));
+            if (previous != null && previous.value != value) {
+                notifyRemoval(key, previous.value);
+            }
+        }
+    }
+
+    /**
+     * 写入加载结果：已有未过期的值时保留已有值，加载期间 key 已被移除时不写入
+     *
+     * @return 最终缓存的值
+     */
+    private V publish(K key, V value, Load<V> load) {
+        Segment<K, V> segment = segmentFor(key);
+        long now = System.nanoTime();
+        synchronized (segment) {
+            if (load.invalidated) {
+                return value;
+            }
+            Entry<V> existing = segment.get(key);
+            if (existing != null && !isExpired(existing, now)) {
+                return existing.value;
+            }
+            segment.put(key, new Entry<>(value, now));
+            if (existing != null) {
+                notifyRemoval(key, existing.value);
+            }
+            return value;
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 移除缓存值
+     *
+     * @param key key
+     * @return 被移除的值，不存在返回 null
+     */
+    public V invalidate(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            abandonLoad(key);
+            Entry<V> entry = segment.remove(key);
+            if (entry == null) {
+                return null;
+            }
+            notifyRemoval(key, entry.value);
+            return entry.value;
+        }
+    }
+
+    /**
+     * 按条件批量移除
+     *
+     * @param predicate 条件
+     */
+    public void invalidateIf(BiPredicate<? super K, ? super V> predicate) {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                Iterator<Map.Entry<K, Entry<V>>> iterator = segment.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<K, Entry<V>> next = iterator.next();
+                    if (predicate.test(next.getKey(), next.getValue().value)) {
+                        iterator.remove();
+                        notifyRemoval(next.getKey(), next.getValue().value);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                for (K key : loading.keySet()) {
+                    if (segmentFor(key) == segment) {
+                        abandonLoad(key);
+                    }
+                }
+                if (removalListener != null) {
+                    segment.forEach((key, entry) -> notifyRemoval(key, entry.value));
+                }
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * 当前条目数（可能包含尚未清除的过期条目）
+     *
+     * @return 条目数
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 标记进行中的加载已失效并让出 single-flight 位置，需持有 key 所在段的锁
+     */
+    private void abandonLoad(K key) {
+        Load<V> load = loading.remove(key);
+        if (load != null) {
+            load.invalidated = true;
+        }
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return (expireAfterWriteNanos > 0 && now - entry.writeTime >= expireAfterWriteNanos)
+                || (expireAfterAccessNanos > 0 && now - entry.accessTime >= expireAfterAccessNanos);
+    }
+
+    private void notifyRemoval(K key, V value) {
+        if (removalListener != null) {
+            removalListener.accept(key, value);
+        }
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & segmentMask];
+    }
+
+    private static long toNanos(Duration duration) {
+        return duration == null ? 0 : duration.toNanos();
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long writeTime;
+        private long accessTime;
+
+        private Entry(V value, long now) {
+            this.value = value;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+    }
+
+    private static final class Load<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        /**
+         * 读写都在 key 所在段的锁内
+         */
+        private boolean invalidated;
+    }
+
+    private static final class Segment<K, V> extends LinkedHashMap<K, Entry<V>> {
+        private final int capacity;
+        private final BiConsumer<K, V> removalListener;
+
+        private Segment(int capacity, BiConsumer<K, V> removalListener) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.removalListener = removalListener;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+            if (size() <= capacity) {
+                return false;
+            }
+            if (removalListener != null) {
+                removalListener.accept(eldest.getKey(), eldest.getValue().value);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.renhaowan.multilogin.core.cache;
+
+import io.github.renhaowan.multilogin.core.properties.config.CandidateCacheConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 候选用户缓存注册中心
+ * 按 登录方式 + 客户端类型 管理 TwoPhaseBusinessAuthenticationLogic 加载的候选用户缓存，
+ * 并对外提供失效入口：用户资料、密码或状态变更后，业务方应调用 invalidate 使缓存失效。
+ *
+ * @author wan
+ */
+public class CandidateCacheRegistry {
+
+    private final Map<String, BoundedLocalCache<List<String>, Object>> caches = new ConcurrentHashMap<>();
+
+    /**
+     * 获取或创建缓存
+     *
+     * @param loginMethod 登录方式名称
+     * @param clientType  客户端类型
+     * @param config      缓存配置
+     * @return 候选用户缓存
+     */
+    public BoundedLocalCache<List<String>, Object> getOrCreate(String loginMethod, String clientType, CandidateCacheConfig config) {
+        return caches.computeIfAbsent(cacheName(loginMethod, clientType),
+                name -> new BoundedLocalCache<>(config.getMaximumSize(), config.getTtl(), null));
+    }
+
+    /**
+     * 使指定登录方式、指定客户端类型下某个主体的缓存失效
+     * （不与 invalidate 重载，避免 invalidate(loginMethod, username) 被解析为客户端类型版本）
+     *
+     * @param loginMethod     登录方式名称
+     * @param clientType      客户端类型
+     * @param principalValues 主体参数值，顺序与 principalParamName 配置一致
+     */
+    public void invalidateForClientType(String loginMethod, String clientType, Object... principalValues) {
+        BoundedLocalCache<List<String>, Object> cache = caches.get(cacheName(loginMethod, clientType));
+        if (cache != null) {
+            cache.invalidate(cacheKey(principalValues));
+        }
+    }
+
+    /**
+     * 使指定登录方式下（所有客户端类型）某个主体的缓存失效
+     *
+     * @param loginMethod     登录方式名称
+     * @param principalValues 主体参数值，顺序与 principalParamName 配置一致
+     */
+    public void invalidate(String loginMethod, Object... principalValues) {
+        List<String> key = cacheKey(principalValues);
+        String prefix = loginMethod + ':';
+        caches.forEach((name, cache) -> {
+            if (name.startsWith(prefix)) {
+                cache.invalidate(key);
+            }
+        });
+    }
+
+    /**
+     * 移除登录方式的全部缓存（如租户登录方案被淘汰时释放内存）
+     *
+     * @param loginMethod 登录方式名称
+     */
+    public void remove(String loginMethod) {
+        String prefix = loginMethod + ':';
+        caches.keySet().removeIf(name -> name.startsWith(prefix));
+    }
+
+    /**
+     * 清空所有候选用户缓存
+     */
+    public void invalidateAll() {
+        caches.values().forEach(BoundedLocalCache::invalidateAll);
+    }
+
+    /**
+     * 由主体参数值构建缓存 key，统一转为字符串，避免 JSON 数字与表单字符串命中不同条目
+     *
+     * @param principalValues 主体参数值
+     * @return 缓存 key
+     */
+    public static List<String> cacheKey(Object... principalValues) {
+        List<String> key = new ArrayList<>(principalValues.length);
+        Arrays.stream(principalValues).map(String::valueOf).forEach(key::add);
+        return key;
+    }
+
+    private static String cacheName(String loginMethod, String clientType) {
+        return loginMethod + ':' + clientType;
+    }
+}
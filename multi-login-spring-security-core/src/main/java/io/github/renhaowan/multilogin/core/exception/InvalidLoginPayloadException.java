@@ -0,0 +1,13 @@
+package io.github.renhaowan.multilogin.core.exception;
+
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * @author wan
+ * 登录请求体格式错误
+ */
+public class InvalidLoginPayloadException extends AuthenticationException {
+    public InvalidLoginPayloadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
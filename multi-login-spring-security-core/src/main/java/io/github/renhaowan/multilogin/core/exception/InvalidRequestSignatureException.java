@@ -0,0 +1,13 @@
+package io.github.renhaowan.multilogin.core.exception;
+
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * @author wan
+ * 登录请求签名无效、时间戳过期或 nonce 重放
+ */
+public class InvalidRequestSignatureException extends AuthenticationException {
+    public InvalidRequestSignatureException(String message) {
+        super(message);
+    }
+}
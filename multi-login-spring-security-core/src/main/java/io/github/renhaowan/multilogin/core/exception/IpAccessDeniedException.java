@@ -0,0 +1,13 @@
+package io.github.renhaowan.multilogin.core.exception;
+
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * @author wan
+ * 来源 IP 不允许使用该登录方式
+ */
+public class IpAccessDeniedException extends AuthenticationException {
+    public IpAccessDeniedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.renhaowan.multilogin.core.exception;
+
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * @author wan
+ * 共享登录地址的请求未命中任何登录方式的判别条件
+ */
+public class LoginMethodNotResolvedException extends AuthenticationException {
+    public LoginMethodNotResolvedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.renhaowan.multilogin.core.exception;
+
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * @author wan
+ * 登录请求体超过允许的大小
+ */
+public class LoginPayloadTooLargeException extends AuthenticationException {
+    public LoginPayloadTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.renhaowan.multilogin.core.exception;
+
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * @author wan
+ * 登录请求体类型不受支持，由 DynamicAuthenticationFilter 直接以 415 响应。
+ * 属于预期内的快速拒绝，不收集堆栈。
+ */
+public class UnsupportedLoginMediaTypeException extends AuthenticationException {
+    public UnsupportedLoginMediaTypeException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
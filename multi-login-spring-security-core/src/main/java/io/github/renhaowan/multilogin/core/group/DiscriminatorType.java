@@ -0,0 +1,21 @@
+package io.github.renhaowan.multilogin.core.group;
+
+/**
+ * 共享登录地址时选择登录方式的判别方式
+ *
+ * @author wan
+ */
+public enum DiscriminatorType {
+    /**
+     * 按请求参数取值（或是否存在）选择
+     */
+    PARAM,
+    /**
+     * 按主体参数是否匹配正则选择，如手机号、邮箱、账号
+     */
+    PRINCIPAL_PATTERN,
+    /**
+     * 按请求头取值（或是否存在）选择
+     */
+    HEADER
+}
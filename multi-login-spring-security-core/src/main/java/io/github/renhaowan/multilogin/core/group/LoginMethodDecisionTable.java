@@ -0,0 +1,132 @@
+package io.github.renhaowan.multilogin.core.group;
+
+import io.github.renhaowan.multilogin.core.properties.config.DiscriminatorConfig;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 登录方式决策表
+ * 启动时把同一登录地址下各登录方式的判别条件编译为查找表：请求头与参数的取值条件按 名称 → 取值 建立索引，
+ * 一次哈希查找即可命中；正则条件预编译后按注册顺序依次匹配。选择顺序为 请求头、参数、正则，最后是未声明判别条件的默认登录方式。
+ *
+ * @param <T> 选择结果类型
+ * @author wan
+ */
+public class LoginMethodDecisionTable<T> {
+
+    private final Map<String, Rules<T>> headerRules = new LinkedHashMap<>();
+    private final Map<String, Rules<T>> paramRules = new LinkedHashMap<>();
+    private final List<PatternRule<T>> patternRules = new ArrayList<>();
+    private T fallback;
+
+    /**
+     * 注册判别条件，仅在启动阶段调用
+     *
+     * @param discriminator      判别条件，为 null 时作为默认登录方式
+     * @param principalParamName PRINCIPAL_PATTERN 未指定参数名时使用的主体参数名
+     * @param target             命中时返回的结果
+     */
+    public void register(DiscriminatorConfig discriminator, String principalParamName, T target) {
+        if (discriminator == null) {
+            if (fallback != null) {
+                throw new IllegalArgumentException("Only one login method sharing a processUrl may omit the discriminator");
+            }
+            fallback = target;
+            return;
+        }
+        switch (discriminator.getType()) {
+            case HEADER -> rulesFor(headerRules, discriminator).add(discriminator.getValue(), target);
+            case PARAM -> rulesFor(paramRules, discriminator).add(discriminator.getValue(), target);
+            case PRINCIPAL_PATTERN -> {
+                String name = discriminator.getName() != null ? discriminator.getName() : principalParamName;
+                if (name == null || discriminator.getPattern() == null) {
+                    throw new IllegalArgumentException("PRINCIPAL_PATTERN discriminator requires a parameter name and a pattern");
+                }
+                patternRules.add(new PatternRule<>(name, Pattern.compile(discriminator.getPattern()), target));
+            }
+        }
+    }
+
+    /**
+     * 选择登录方式
+     *
+     * @param request HTTP 请求对象
+     * @param params  已提取的请求参数
+     * @return 命中的结果，都未命中且没有默认登录方式时返回 null
+     */
+    public T select(HttpServletRequest request, Map<String, Object> params) {
+        for (Map.Entry<String, Rules<T>> rules : headerRules.entrySet()) {
+            T target = rules.getValue().match(request.getHeader(rules.getKey()));
+            if (target != null) {
+                return target;
+            }
+        }
+        for (Map.Entry<String, Rules<T>> rules : paramRules.entrySet()) {
+            Object value = params.get(rules.getKey());
+            T target = rules.getValue().match(value == null ? null : value.toString());
+            if (target != null) {
+                return target;
+            }
+        }
+        for (PatternRule<T> rule : patternRules) {
+            Object value = params.get(rule.paramName());
+            if (value != null && rule.pattern().matcher(value.toString()).matches()) {
+                return rule.target();
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * @return 判别时需要从请求体中读取的参数名
+     */
+    public List<String> getParamNames() {
+        List<String> names = new ArrayList<>(paramRules.keySet());
+        patternRules.stream().map(PatternRule::paramName).filter(name -> !names.contains(name)).forEach(names::add);
+        return names;
+    }
+
+    private static <T> Rules<T> rulesFor(Map<String, Rules<T>> rules, DiscriminatorConfig discriminator) {
+        if (discriminator.getName() == null) {
+            throw new IllegalArgumentException(discriminator.getType() + " discriminator requires a name");
+        }
+        return rules.computeIfAbsent(discriminator.getName(), name -> new Rules<>());
+    }
+
+    /**
+     * 同一名称下的取值索引
+     */
+    private static final class Rules<T> {
+        private final Map<String, T> values = new HashMap<>();
+        private T present;
+
+        private void add(String value, T target) {
+            T previous = value == null ? present : values.get(value);
+            if (previous != null) {
+                throw new IllegalArgumentException("Duplicate login method discriminator value: " + value);
+            }
+            if (value == null) {
+                present = target;
+            } else {
+                values.put(value, target);
+            }
+        }
+
+        private T match(String value) {
+            if (value == null) {
+                return null;
+            }
+            T target = values.get(value);
+            return target != null ? target : present;
+        }
+    }
+
+    private record PatternRule<T>(String paramName, Pattern pattern, T target) {
+    }
+}
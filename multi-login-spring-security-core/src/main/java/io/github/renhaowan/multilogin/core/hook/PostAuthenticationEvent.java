@@ -0,0 +1,28 @@
+package io.github.renhaowan.multilogin.core.hook;
+
+/**
+ * 登录成功事件
+ * 声明了合并键的钩子收到的是合并后的事件：字段取最近一次登录，occurrences 为合并的登录次数。
+ *
+ * @param timestamp   登录时间（毫秒时间戳），合并后为最近一次
+ * @param loginMethod 登录方式名称
+ * @param clientType  客户端类型
+ * @param principal   认证成功后的主体
+ * @param ip          客户端 IP，未知时为 null
+ * @param occurrences 合并的登录次数，未合并时为 1
+ * @author wan
+ */
+public record PostAuthenticationEvent(long timestamp, String loginMethod, String clientType, Object principal,
+                                      String ip, int occurrences) {
+
+    /**
+     * 与同一合并键下较早的事件合并
+     *
+     * @param previous 较早的事件
+     * @return 合并后的事件
+     */
+    public PostAuthenticationEvent mergeWith(PostAuthenticationEvent previous) {
+        return new PostAuthenticationEvent(timestamp, loginMethod, clientType, principal, ip,
+                occurrences + previous.occurrences);
+    }
+}
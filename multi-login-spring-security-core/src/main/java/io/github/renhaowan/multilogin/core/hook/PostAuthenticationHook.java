@@ -0,0 +1,32 @@
+package io.github.renhaowan.multilogin.core.hook;
+
+import java.util.List;
+
+/**
+ * 登录成功后的异步钩子（SPI）
+ * 用于更新最近登录时间、登录次数、设备记录等不影响登录结果的写操作，在后台线程池中执行，不占用登录请求的响应时间。
+ * {@link #coalescingKey} 返回非 null 时，同一合并键在一个刷新周期内的多次登录合并为一个事件，
+ * 周期结束时整批交给 {@link #onAuthenticated}，便于实现方写成一条批量 UPDATE；返回 null 时每次登录单独执行。
+ *
+ * @author wan
+ */
+public interface PostAuthenticationHook {
+
+    /**
+     * 合并键，例如按用户合并最近登录时间时返回主体标识
+     *
+     * @param event 登录成功事件
+     * @return 合并键，null 表示不合并
+     */
+    default Object coalescingKey(PostAuthenticationEvent event) {
+        return null;
+    }
+
+    /**
+     * 处理登录成功事件
+     *
+     * @param events 未合并时只有一个事件；合并时为一个刷新周期内各合并键的事件，调用返回后列表不再使用
+     * @throws Exception 处理失败，由钩子管道记录日志后继续
+     */
+    void onAuthenticated(List<PostAuthenticationEvent> events) throws Exception;
+}
@@ -0,0 +1,245 @@
+package io.github.renhaowan.multilogin.core.hook;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 登录成功钩子管道
+ * 登录成功（会话限制等策略通过）后由 DynamicAuthenticationFilter 发布事件，登录线程不做任何 I/O：
+ * 未声明合并键的事件提交到有界线程池执行；声明了合并键的事件按 钩子 → 合并键 暂存并合并，
+ * 每个钩子各自按 flushInterval 整批刷出（写后合并），一个钩子执行缓慢不会推迟其他钩子的刷新。
+ * 线程池队列或暂存表已满时丢弃事件并计数。
+ * 关闭时停止接收新事件，等待正在发布的事件写入暂存表后刷出，并等待线程池中的任务完成。
+ *
+ * @author wan
+ */
+@Slf4j
+public class PostAuthenticationHookPipeline implements AutoCloseable {
+
+    private final List<PostAuthenticationHook> hooks;
+    private final Map<PostAuthenticationHook, ConcurrentHashMap<Object, PostAuthenticationEvent>> pending;
+    private final int maxPendingKeys;
+    private final Duration drainTimeout;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService flusher;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicInteger publishing = new AtomicInteger();
+    private volatile boolean running = true;
+
+    /**
+     * 构造钩子管道并启动刷新线程
+     *
+     * @param hooks          登录成功钩子
+     * @param threads        执行线程数
+     * @param queueCapacity  线程池队列容量
+     * @param flushInterval  合并事件的刷新间隔
+     * @param maxPendingKeys 每个钩子最多暂存的合并键数
+     * @param drainTimeout   关闭时等待剩余任务完成的最长时间
+     */
+    public PostAuthenticationHookPipeline(List<PostAuthenticationHook> hooks, int threads, int queueCapacity,
+                                          Duration flushInterval, int maxPendingKeys, Duration drainTimeout) {
+        this.hooks = List.copyOf(hooks);
+        this.pending = new IdentityHashMap<>();
+        for (PostAuthenticationHook hook : this.hooks) {
+            pending.put(hook, new ConcurrentHashMap<>());
+        }
+        this.maxPendingKeys = maxPendingKeys;
+        this.drainTimeout = drainTimeout;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "multi-login-post-auth-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        // 每个钩子一个刷新线程，各自按固定间隔刷新
+        AtomicInteger flusherIndex = new AtomicInteger();
+        this.flusher = Executors.newScheduledThreadPool(Math.max(1, this.hooks.size()), runnable -> {
+            Thread thread = new Thread(runnable, "multi-login-post-auth-flush-" + flusherIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1, flushInterval.toMillis());
+        for (PostAuthenticationHook hook : this.hooks) {
+            this.flusher.scheduleWithFixedDelay(() -> flush(hook), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 发布登录成功事件（登录线程调用，不做任何 I/O）
+     *
+     * @param event 登录成功事件
+     */
+    public void publish(PostAuthenticationEvent event) {
+        // 先登记再检查 running，关闭时等待已通过检查的发布完成，最后一次刷新不会漏掉事件
+        publishing.incrementAndGet();
+        try {
+            if (!running) {
+                dropped.add(hooks.size());
+                return;
+            }
+            published.increment();
+            dispatch(event);
+        } finally {
+            publishing.decrementAndGet();
+        }
+    }
+
+    private void dispatch(PostAuthenticationEvent event) {
+        for (PostAuthenticationHook hook : hooks) {
+            Object key;
+            try {
+                key = hook.coalescingKey(event);
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.warn("Post-authentication hook {} failed to compute coalescing key", hook.getClass().getSimpleName(), e);
+                continue;
+            }
+            if (key == null) {
+                execute(hook, event);
+            } else {
+                coalesce(hook, key, event);
+            }
+        }
+    }
+
+    private void execute(PostAuthenticationHook hook, PostAuthenticationEvent event) {
+        try {
+            executor.execute(() -> deliver(hook, List.of(event)));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    private void coalesce(PostAuthenticationHook hook, Object key, PostAuthenticationEvent event) {
+        ConcurrentHashMap<Object, PostAuthenticationEvent> events = pending.get(hook);
+        // 已暂存的合并键总能合并，暂存表满时只拒绝新的合并键
+        if (events.size() >= maxPendingKeys && !events.containsKey(key)) {
+            dropped.increment();
+            return;
+        }
+        if (events.merge(key, event, (previous, current) -> current.mergeWith(previous)) != event) {
+            coalesced.increment();
+        }
+    }
+
+    /**
+     * 刷出钩子暂存的合并事件，在该钩子的刷新任务中执行
+     */
+    private void flush(PostAuthenticationHook hook) {
+        ConcurrentHashMap<Object, PostAuthenticationEvent> events = pending.get(hook);
+        if (events.isEmpty()) {
+            return;
+        }
+        List<PostAuthenticationEvent> batch = new ArrayList<>(events.size());
+        for (Object key : events.keySet()) {
+            PostAuthenticationEvent event = events.remove(key);
+            if (event != null) {
+                batch.add(event);
+            }
+        }
+        if (!batch.isEmpty()) {
+            deliver(hook, batch);
+        }
+    }
+
+    private void deliver(PostAuthenticationHook hook, List<PostAuthenticationEvent> events) {
+        try {
+            hook.onAuthenticated(events);
+        } catch (Exception e) {
+            failed.increment();
+            log.warn("Post-authentication hook {} failed to handle {} events", hook.getClass().getSimpleName(), events.size(), e);
+        }
+    }
+
+    /**
+     * @return 已发布的登录成功事件数
+     */
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    /**
+     * @return 被合并进已暂存事件的次数
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * @return 因线程池队列、暂存表已满或管道已关闭而丢弃的事件数
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return 钩子执行失败次数
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * @return 线程池队列中等待执行的事件数
+     */
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return 各钩子暂存的合并键总数
+     */
+    public int getPendingCount() {
+        int count = 0;
+        for (ConcurrentHashMap<Object, PostAuthenticationEvent> events : pending.values()) {
+            count += events.size();
+        }
+        return count;
+    }
+
+    /**
+     * 停止接收新事件，等待正在进行的发布完成后刷出暂存的合并事件，并等待线程池中剩余的任务完成
+     */
+    @Override
+    public void close() {
+        running = false;
+        flusher.shutdown();
+        try {
+            long deadline = System.nanoTime() + drainTimeout.toNanos();
+            while (publishing.get() > 0 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            if (flusher.awaitTermination(drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                hooks.forEach(this::flush);
+            } else {
+                log.warn("Post-authentication flush did not finish within {}", drainTimeout);
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Post-authentication executor did not finish {} pending events", executor.getQueue().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
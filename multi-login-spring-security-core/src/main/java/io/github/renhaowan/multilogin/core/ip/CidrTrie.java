@@ -0,0 +1,264 @@
+package io.github.renhaowan.multilogin.core.ip;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * 不可变的 CIDR 二叉前缀树，IPv4 与 IPv6 各一棵，节点以数组存储。
+ * 构建时被更短前缀覆盖的网段不再展开，查询沿地址位逐位下行，遇到终结节点即命中，
+ * 耗时只与地址位数有关，与网段数量无关。
+ *
+ * @author wan
+ */
+public final class CidrTrie {
+
+    private static final CidrTrie EMPTY = new Builder().build();
+    private static final int ROOT_V4 = 0;
+    private static final int ROOT_V6 = 1;
+
+    /**
+     * children[2 * node + bit] 为子节点下标，0 表示不存在（根节点不会成为子节点）
+     */
+    private final int[] children;
+    private final BitSet terminal;
+    private final int size;
+
+    private CidrTrie(int[] children, BitSet terminal, int size) {
+        this.children = children;
+        this.terminal = terminal;
+        this.size = size;
+    }
+
+    public static CidrTrie empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 由 CIDR 列表构建，单个地址视为全长前缀
+     *
+     * @param cidrs CIDR 列表，如 10.0.0.0/8、2001:db8::/32、192.168.1.1
+     * @return 前缀树
+     */
+    public static CidrTrie of(Iterable<String> cidrs) {
+        Builder builder = new Builder();
+        for (String cidr : cidrs) {
+            builder.add(cidr);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 判断地址是否落在任一网段内
+     *
+     * @param address IP 地址字面量，非法地址视为不匹配
+     * @return 是否匹配
+     */
+    public boolean contains(String address) {
+        byte[] bytes = parseAddress(address);
+        return bytes != null && contains(bytes);
+    }
+
+    /**
+     * 判断地址是否落在任一网段内
+     *
+     * @param address 4 字节（IPv4）或 16 字节（IPv6）地址
+     * @return 是否匹配
+     */
+    public boolean contains(byte[] address) {
+        int node = address.length == 4 ? ROOT_V4 : ROOT_V6;
+        int bits = address.length * 8;
+        for (int i = 0; i < bits; i++) {
+            if (terminal.get(node)) {
+                return true;
+            }
+            node = children[2 * node + ((address[i >>> 3] >>> (7 - (i & 7))) & 1)];
+            if (node == 0) {
+                return false;
+            }
+        }
+        return terminal.get(node);
+    }
+
+    /**
+     * @return 去重合并后的网段数量
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 解析 IP 地址字面量，不做 DNS 解析
+     *
+     * @param address 地址字面量，IPv6 可带方括号与 zone
+     * @return 地址字节，非法时返回 null
+     */
+    static byte[] parseAddress(String address) {
+        if (address == null || address.isEmpty()) {
+            return null;
+        }
+        if (address.indexOf(':') < 0) {
+            return parseIpv4(address);
+        }
+        String literal = address;
+        if (literal.charAt(0) == '[' && literal.charAt(literal.length() - 1) == ']') {
+            literal = literal.substring(1, literal.length() - 1);
+        }
+        int zone = literal.indexOf('%');
+        if (zone >= 0) {
+            literal = literal.substring(0, zone);
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            char c = literal.charAt(i);
+            if (Character.digit(c, 16) < 0 && c != ':' && c != '.') {
+                return null;
+            }
+        }
+        try {
+            // 含 ':' 的字面量按 IPv6 解析，不会触发 DNS 查询；IPv4 映射地址返回 4 字节
+            return InetAddress.getByName(literal).getAddress();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private static byte[] parseIpv4(String address) {
+        byte[] bytes = new byte[4];
+        int octet = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = 0; i < address.length(); i++) {
+            char c = address.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (++digits > 3 || value > 255) {
+                    return null;
+                }
+            } else if (c == '.' && digits > 0 && octet < 3) {
+                bytes[octet++] = (byte) value;
+                value = 0;
+                digits = 0;
+            } else {
+                return null;
+            }
+        }
+        if (octet != 3 || digits == 0) {
+            return null;
+        }
+        bytes[3] = (byte) value;
+        return bytes;
+    }
+
+    /**
+     * 前缀树构建器
+     */
+    public static final class Builder {
+
+        private int[] children = new int[64];
+        private final BitSet terminal = new BitSet();
+        private int nodeCount = 2;
+
+        /**
+         * 加入一个网段
+         *
+         * @param cidr CIDR 或单个地址
+         * @return this
+         */
+        public Builder add(String cidr) {
+            String value = cidr.trim();
+            int slash = value.indexOf('/');
+            byte[] address = parseAddress(slash < 0 ? value : value.substring(0, slash));
+            if (address == null) {
+                throw new IllegalArgumentException("Invalid CIDR: " + cidr);
+            }
+            int maxPrefix = address.length * 8;
+            int prefix = maxPrefix;
+            if (slash >= 0) {
+                try {
+                    prefix = Integer.parseInt(value.substring(slash + 1));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid CIDR: " + cidr, e);
+                }
+                if (prefix < 0 || prefix > maxPrefix) {
+                    throw new IllegalArgumentException("Invalid CIDR: " + cidr);
+                }
+            }
+            insert(address, prefix);
+            return this;
+        }
+
+        private void insert(byte[] address, int prefix) {
+            int node = address.length == 4 ? ROOT_V4 : ROOT_V6;
+            for (int i = 0; i < prefix; i++) {
+                if (terminal.get(node)) {
+                    // 已被更短的前缀覆盖
+                    return;
+                }
+                int slot = 2 * node + ((address[i >>> 3] >>> (7 - (i & 7))) & 1);
+                if (children[slot] == 0) {
+                    // 先扩容再写入，避免写到扩容前的旧数组
+                    int child = newNode();
+                    children[slot] = child;
+                }
+                node = children[slot];
+            }
+            terminal.set(node);
+            // 更长的前缀已无意义，剪掉子树（节点留作空洞，构建结束时压缩掉）
+            children[2 * node] = 0;
+            children[2 * node + 1] = 0;
+        }
+
+        private int newNode() {
+            int node = nodeCount++;
+            if (2 * nodeCount > children.length) {
+                children = Arrays.copyOf(children, children.length * 2);
+            }
+            return node;
+        }
+
+        /**
+         * 构建不可变前缀树：只保留可达节点并按广度优先重新编号，数组按实际节点数收紧
+         *
+         * @return 前缀树
+         */
+        public CidrTrie build() {
+            int[] mapping = new int[nodeCount];
+            int[] order = new int[nodeCount];
+            int head = 0;
+            int tail = 0;
+            order[tail++] = ROOT_V4;
+            order[tail++] = ROOT_V6;
+            mapping[ROOT_V4] = ROOT_V4;
+            mapping[ROOT_V6] = ROOT_V6;
+            while (head < tail) {
+                int node = order[head++];
+                for (int bit = 0; bit < 2; bit++) {
+                    int child = children[2 * node + bit];
+                    if (child != 0) {
+                        mapping[child] = tail;
+                        order[tail++] = child;
+                    }
+                }
+            }
+
+            int[] compact = new int[2 * tail];
+            BitSet compactTerminal = new BitSet(tail);
+            int size = 0;
+            for (int i = 0; i < tail; i++) {
+                int node = order[i];
+                if (terminal.get(node)) {
+                    compactTerminal.set(i);
+                    size++;
+                }
+                compact[2 * i] = mapping[children[2 * node]];
+                compact[2 * i + 1] = mapping[children[2 * node + 1]];
+            }
+            return new CidrTrie(compact, compactTerminal, size);
+        }
+    }
+}
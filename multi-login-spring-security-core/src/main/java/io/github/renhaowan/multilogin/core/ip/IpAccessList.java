@@ -0,0 +1,44 @@
+package io.github.renhaowan.multilogin.core.ip;
+
+import java.util.List;
+
+/**
+ * 单个登录方式的 IP 访问控制：命中任一拒绝列表即拒绝；
+ * 存在允许列表时（方法级优先，否则全局），不在其中的地址也拒绝。
+ *
+ * @author wan
+ */
+public class IpAccessList {
+
+    private final IpRuleSet allow;
+    private final List<IpRuleSet> denies;
+
+    /**
+     * @param allow  允许列表，为 null 表示不限制
+     * @param denies 拒绝列表
+     */
+    public IpAccessList(IpRuleSet allow, List<IpRuleSet> denies) {
+        this.allow = allow;
+        this.denies = List.copyOf(denies);
+    }
+
+    /**
+     * 判断地址是否允许登录
+     *
+     * @param remoteAddress 远端地址字面量
+     * @return 是否允许
+     */
+    public boolean isAllowed(String remoteAddress) {
+        byte[] address = CidrTrie.parseAddress(remoteAddress);
+        if (address == null) {
+            // 无法解析的地址只在未配置允许列表时放行
+            return allow == null || allow.isEmpty();
+        }
+        for (IpRuleSet deny : denies) {
+            if (deny.contains(address)) {
+                return false;
+            }
+        }
+        return allow == null || allow.isEmpty() || allow.contains(address);
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.renhaowan.multilogin.core.ip;
+
+import io.github.renhaowan.multilogin.core.properties.config.GlobalConfig;
+import io.github.renhaowan.multilogin.core.properties.config.LoginMethodConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IP 访问控制注册中心
+ * 全局允许/拒绝列表只编译一次并被所有登录方式共享；配置了文件的列表可调用 {@link #reload()} 热更新，
+ * 或配置 ip-refresh-interval 后由后台线程按文件修改时间自动重新加载。
+ *
+ * @author wan
+ */
+@Slf4j
+public class IpAccessListRegistry implements AutoCloseable {
+
+    private final IpRuleSet globalAllow;
+    private final IpRuleSet globalDeny;
+    /**
+     * 文件型规则集，弱引用持有，已淘汰的租户登录方式不会因此常驻
+     */
+    private final Set<IpRuleSet> fileRuleSets = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private final ScheduledExecutorService refresher;
+
+    public IpAccessListRegistry(GlobalConfig global) {
+        this.globalAllow = ruleSet(global.getIpAllow(), global.getIpAllowFile());
+        this.globalDeny = ruleSet(global.getIpDeny(), global.getIpDenyFile());
+        Duration interval = global.getIpRefreshInterval();
+        if (interval != null && !interval.isZero() && !interval.isNegative()) {
+            this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "multi-login-ip-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            refresher.scheduleWithFixedDelay(this::refreshQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            this.refresher = null;
+        }
+    }
+
+    /**
+     * 创建登录方式的访问控制
+     *
+     * @param config 登录方式配置
+     * @return 访问控制，全局与方法级均未配置时返回 null
+     */
+    public IpAccessList forMethod(LoginMethodConfig config) {
+        IpRuleSet methodAllow = ruleSet(config.getIpAllow(), config.getIpAllowFile());
+        IpRuleSet methodDeny = ruleSet(config.getIpDeny(), config.getIpDenyFile());
+        IpRuleSet allow = methodAllow != null ? methodAllow : globalAllow;
+        List<IpRuleSet> denies = new ArrayList<>(2);
+        if (globalDeny != null) {
+            denies.add(globalDeny);
+        }
+        if (methodDeny != null) {
+            denies.add(methodDeny);
+        }
+        if (allow == null && denies.isEmpty()) {
+            return null;
+        }
+        return new IpAccessList(allow, denies);
+    }
+
+    /**
+     * 重新加载所有有变化的网段文件
+     */
+    public void reload() {
+        List<IpRuleSet> snapshot;
+        synchronized (fileRuleSets) {
+            snapshot = new ArrayList<>(fileRuleSets);
+        }
+        for (IpRuleSet ruleSet : snapshot) {
+            if (ruleSet.reloadIfModified()) {
+                log.info("IP rule file reloaded, {} ranges", ruleSet.size());
+            }
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            // 保留旧规则，下个周期重试
+            log.warn("Failed to reload IP rule files", e);
+        }
+    }
+
+    private IpRuleSet ruleSet(List<String> inline, String file) {
+        boolean hasInline = inline != null && !inline.isEmpty();
+        if (!hasInline && !StringUtils.hasText(file)) {
+            return null;
+        }
+        Path path = StringUtils.hasText(file) ? Paths.get(file) : null;
+        IpRuleSet ruleSet = new IpRuleSet(inline, path);
+        if (path != null) {
+            fileRuleSets.add(ruleSet);
+        }
+        return ruleSet;
+    }
+
+    @Override
+    public void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+}
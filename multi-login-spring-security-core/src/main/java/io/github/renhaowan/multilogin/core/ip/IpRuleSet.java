@@ -0,0 +1,103 @@
+package io.github.renhaowan.multilogin.core.ip;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 一组可热更新的网段：配置中的内联网段加上可选的本地文件（每行一个网段，# 开头为注释）。
+ * 重新加载时先在旁路完整构建新的前缀树，再整体替换引用，查询线程不会看到中间状态。
+ *
+ * @author wan
+ */
+public class IpRuleSet {
+
+    private final List<String> inline;
+    private final Path file;
+    private volatile CidrTrie trie;
+    private volatile FileTime loadedModifiedTime;
+
+    /**
+     * @param inline 内联网段，可为 null
+     * @param file   网段文件，可为 null
+     */
+    public IpRuleSet(List<String> inline, Path file) {
+        this.inline = inline == null ? List.of() : List.copyOf(inline);
+        this.file = file;
+        reload();
+    }
+
+    public boolean contains(byte[] address) {
+        return trie.contains(address);
+    }
+
+    public boolean isEmpty() {
+        return trie.isEmpty();
+    }
+
+    public int size() {
+        return trie.size();
+    }
+
+    public boolean hasFile() {
+        return file != null;
+    }
+
+    /**
+     * 文件自上次加载后有变化时重新加载
+     *
+     * @return 是否重新加载
+     */
+    public boolean reloadIfModified() {
+        if (file == null) {
+            return false;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            if (modified.equals(loadedModifiedTime)) {
+                return false;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to stat IP rule file: " + file, e);
+        }
+        reload();
+        return true;
+    }
+
+    /**
+     * 重新读取文件并整体替换前缀树
+     */
+    public synchronized void reload() {
+        CidrTrie.Builder builder = new CidrTrie.Builder();
+        inline.forEach(builder::add);
+        FileTime modified = null;
+        if (file != null) {
+            try {
+                modified = Files.getLastModifiedTime(file);
+                for (String line : readRules(file)) {
+                    builder.add(line);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read IP rule file: " + file, e);
+            }
+        }
+        this.trie = builder.build();
+        this.loadedModifiedTime = modified;
+    }
+
+    private static List<String> readRules(Path file) throws IOException {
+        List<String> rules = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            int comment = line.indexOf('#');
+            String rule = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (!rule.isEmpty()) {
+                rules.add(rule);
+            }
+        }
+        return rules;
+    }
+}
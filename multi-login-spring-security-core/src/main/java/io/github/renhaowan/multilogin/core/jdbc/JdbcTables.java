@@ -0,0 +1,59 @@
+package io.github.renhaowan.multilogin.core.jdbc;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 建表工具
+ * 各 JDBC 存储的 create-table-on-startup 在表已存在时跳过，重启不再因重复建表失败；
+ * 不使用 CREATE TABLE IF NOT EXISTS，兼容不支持该语法的数据库。
+ *
+ * @author wan
+ */
+public final class JdbcTables {
+
+    private JdbcTables() {
+    }
+
+    /**
+     * 判断表是否存在
+     *
+     * @param jdbcTemplate JdbcTemplate
+     * @param tableName    表名
+     * @return 表是否存在
+     */
+    public static boolean exists(JdbcTemplate jdbcTemplate, String tableName) {
+        try {
+            jdbcTemplate.execute("SELECT 1 FROM " + tableName + " WHERE 1 = 0");
+            return true;
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 表不存在时依次执行建表、建索引语句
+     *
+     * @param jdbcTemplate JdbcTemplate
+     * @param tableName    表名
+     * @param statements   建表、建索引语句
+     * @return 是否新建了表
+     */
+    public static boolean createIfAbsent(JdbcTemplate jdbcTemplate, String tableName, String... statements) {
+        if (exists(jdbcTemplate, tableName)) {
+            return false;
+        }
+        try {
+            for (String statement : statements) {
+                jdbcTemplate.execute(statement);
+            }
+        } catch (DataAccessException e) {
+            // 多个节点同时启动时表可能已由其他节点创建
+            if (exists(jdbcTemplate, tableName)) {
+                return false;
+            }
+            throw e;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.renhaowan.multilogin.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR 事件：客户端类型提取，默认只记录超过 1 ms 的提取
+ *
+ * @author wan
+ */
+@Name("io.github.renhaowan.multilogin.ClientTypeExtraction")
+@Label("Multi-Login Client Type Extraction")
+@Description("Client type resolved for a login request")
+@Category({"Multi-Login", "Authentication"})
+@Threshold("1 ms")
+@StackTrace(false)
+public class ClientTypeExtractionEvent extends jdk.jfr.Event {
+
+    @Label("Login Method")
+    public String loginMethod;
+
+    @Label("Extractor Type")
+    public String extractorType;
+
+    @Label("Client Type")
+    public String clientType;
+}
@@ -0,0 +1,38 @@
+package io.github.renhaowan.multilogin.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR 事件：一次登录请求的完整处理（DynamicAuthenticationFilter 从尝试认证到成功/失败处理）
+ * 默认只记录超过 20 ms 的登录，可在 JFR 配置中调整 io.github.renhaowan.multilogin.LoginRequest#threshold。
+ *
+ * @author wan
+ */
+@Name("io.github.renhaowan.multilogin.LoginRequest")
+@Label("Multi-Login Request")
+@Description("A login request handled by a multi-login authentication filter")
+@Category({"Multi-Login", "Authentication"})
+@Threshold("20 ms")
+@StackTrace(false)
+public class LoginRequestEvent extends jdk.jfr.Event {
+
+    @Label("Login Method")
+    public String loginMethod;
+
+    @Label("Client Type")
+    public String clientType;
+
+    @Label("Body Size")
+    @DataAmount
+    public long bodySize;
+
+    @Label("Outcome")
+    @Description("SUCCESS, or the simple name of the authentication exception")
+    public String outcome;
+}
@@ -0,0 +1,40 @@
+package io.github.renhaowan.multilogin.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR 事件：请求参数提取（含请求体解析），默认只记录超过 5 ms 的提取
+ *
+ * @author wan
+ */
+@Name("io.github.renhaowan.multilogin.ParameterExtraction")
+@Label("Multi-Login Parameter Extraction")
+@Description("Login parameters extracted from the request body")
+@Category({"Multi-Login", "Authentication"})
+@Threshold("5 ms")
+@StackTrace(false)
+public class ParameterExtractionEvent extends jdk.jfr.Event {
+
+    @Label("Login Method")
+    public String loginMethod;
+
+    @Label("Extractor Type")
+    public String extractorType;
+
+    @Label("Content Type")
+    public String contentType;
+
+    @Label("Body Size")
+    @DataAmount
+    public long bodySize;
+
+    @Label("Outcome")
+    @Description("SUCCESS, or the simple name of the exception")
+    public String outcome;
+}
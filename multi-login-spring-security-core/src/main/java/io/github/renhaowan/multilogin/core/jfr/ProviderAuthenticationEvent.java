@@ -0,0 +1,35 @@
+package io.github.renhaowan.multilogin.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR 事件：RouterAuthenticationProvider 的一次认证（预过滤、前置检查、业务逻辑与权限解析），默认只记录超过 20 ms 的认证
+ *
+ * @author wan
+ */
+@Name("io.github.renhaowan.multilogin.ProviderAuthentication")
+@Label("Multi-Login Provider Authentication")
+@Description("Authentication delegated to a business provider")
+@Category({"Multi-Login", "Authentication"})
+@Threshold("20 ms")
+@StackTrace(false)
+public class ProviderAuthenticationEvent extends jdk.jfr.Event {
+
+    @Label("Login Method")
+    public String loginMethod;
+
+    @Label("Client Type")
+    public String clientType;
+
+    @Label("Provider Bean Name")
+    public String providerBeanName;
+
+    @Label("Outcome")
+    @Description("SUCCESS, or the simple name of the exception")
+    public String outcome;
+}
@@ -1,8 +1,15 @@
 package io.github.renhaowan.multilogin.core.properties;
 
 import io.github.renhaowan.multilogin.core.exception.MultiLoginException;
+import io.github.renhaowan.multilogin.core.properties.config.AuditConfig;
 import io.github.renhaowan.multilogin.core.properties.config.GlobalConfig;
+import io.github.renhaowan.multilogin.core.properties.config.JwtConfig;
 import io.github.renhaowan.multilogin.core.properties.config.LoginMethodConfig;
+import io.github.renhaowan.multilogin.core.properties.config.PasswordConfig;
+import io.github.renhaowan.multilogin.core.properties.config.PostAuthenticationConfig;
+import io.github.renhaowan.multilogin.core.properties.config.TenantConfig;
+import io.github.renhaowan.multilogin.core.properties.config.VerificationCodeConfig;
+import io.github.renhaowan.multilogin.core.properties.config.WarmUpConfig;
 import jakarta.annotation.PostConstruct;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -25,6 +32,35 @@ public class MultiLoginProperties {
     // key 表示登录的名称/策略
     private Map<String, LoginMethodConfig> methods = new HashMap<>();
 
+    // 内置验证码存储配置
+    private VerificationCodeConfig verificationCode = new VerificationCodeConfig();
+
+    // 登录审计配置
+    private AuditConfig audit = new AuditConfig();
+
+    // 多租户登录配置
+    private TenantConfig tenant = new TenantConfig();
+
+    // 内置 JWT 签发配置
+    private JwtConfig jwt = new JwtConfig();
+
+    // 启动预热配置
+    private WarmUpConfig warmUp = new WarmUpConfig();
+
+    // 内置密码校验器配置
+    private PasswordConfig password = new PasswordConfig();
+
+    // 登录成功钩子配置
+    private PostAuthenticationConfig postAuthentication = new PostAuthenticationConfig();
+
+    // 将 methods 的 key 回填为登录方式名称，供缓存、审计等按方式区分的组件使用
+    @PostConstruct
+    public void initMethodName() {
+        for (Map.Entry<String, LoginMethodConfig> method : methods.entrySet()) {
+            method.getValue().setName(method.getKey());
+        }
+    }
+
     // 如果配置了 processUrl 则直接使用；如果未配置但有 name，则用 "/login/" + key 生成
     @PostConstruct
     public void determineProcessUrl() {
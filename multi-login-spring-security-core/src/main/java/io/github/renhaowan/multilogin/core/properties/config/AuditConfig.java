@@ -0,0 +1,77 @@
+package io.github.renhaowan.multilogin.core.properties.config;
+
+import io.github.renhaowan.multilogin.core.audit.AuditOverflowPolicy;
+import lombok.Data;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * @author wan
+ * 登录审计配置
+ */
+@Data
+public class AuditConfig {
+
+    // 是否启用登录审计
+    private boolean enabled = false;
+
+    // 环形缓冲区容量（向上取整为 2 的幂）
+    private int bufferSize = 8192;
+
+    // 每批最多投递给 Sink 的事件数
+    private int batchSize = 512;
+
+    // 缓冲区为空时消费线程的等待间隔
+    private Duration idleWait = Duration.ofMillis(20);
+
+    // 缓冲区满时的处理策略
+    private AuditOverflowPolicy overflowPolicy = AuditOverflowPolicy.DROP;
+
+    // SAMPLE 策略下，缓冲区超过半满后每 N 个事件保留 1 个
+    private int sampleRate = 10;
+
+    // 文件 Sink
+    private File file = new File();
+
+    // JDBC Sink
+    private Jdbc jdbc = new Jdbc();
+
+    /**
+     * 文件 Sink 配置
+     */
+    @Data
+    public static class File {
+
+        // 是否启用
+        private boolean enabled = true;
+
+        // 审计文件目录
+        private String directory = "logs";
+
+        // 当前审计文件名
+        private String fileName = "login-audit.log";
+
+        // 单个文件最大大小，超过后滚动
+        private DataSize maxFileSize = DataSize.ofMegabytes(100);
+
+        // 每批写入后是否落盘（组提交）
+        private boolean fsync = true;
+    }
+
+    /**
+     * JDBC Sink 配置
+     */
+    @Data
+    public static class Jdbc {
+
+        // 是否启用
+        private boolean enabled = false;
+
+        // 审计表名
+        private String tableName = "multi_login_audit";
+
+        // 是否在启动时建表
+        private boolean createTableOnStartup = false;
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.renhaowan.multilogin.core.properties.config;
+
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author wan
+ * 权限解析配置（仅方法级），未配置时使用 UserDetails.getAuthorities()
+ */
+@Data
+public class AuthoritiesConfig {
+
+    // 默认的 AuthoritiesResolver Bean 名称
+    private String resolverBeanName;
+
+    // 按客户端类型覆盖 AuthoritiesResolver Bean 名称
+    private Map<String, String> clientTypes = new HashMap<>();
+}
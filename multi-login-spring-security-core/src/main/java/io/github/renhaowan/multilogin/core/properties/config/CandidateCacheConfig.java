@@ -0,0 +1,22 @@
+package io.github.renhaowan.multilogin.core.properties.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * @author wan
+ * 候选用户缓存配置（仅对 TwoPhaseBusinessAuthenticationLogic 生效）
+ */
+@Data
+public class CandidateCacheConfig {
+
+    // 是否启用候选用户缓存
+    private boolean enabled = false;
+
+    // 每个 登录方式 + 客户端类型 的最大缓存条目数
+    private int maximumSize = 10000;
+
+    // 写入后过期时间
+    private Duration ttl = Duration.ofMinutes(5);
+}
@@ -0,0 +1,24 @@
+package io.github.renhaowan.multilogin.core.properties.config;
+
+import io.github.renhaowan.multilogin.core.group.DiscriminatorType;
+import lombok.Data;
+
+/**
+ * @author wan
+ * 登录方式判别条件：多个登录方式共享同一 processUrl 时，据此选择本次请求使用的登录方式
+ */
+@Data
+public class DiscriminatorConfig {
+
+    // 判别方式：PARAM（请求参数）、PRINCIPAL_PATTERN（主体参数正则）、HEADER（请求头）
+    private DiscriminatorType type = DiscriminatorType.PARAM;
+
+    // 参数名或请求头名；PRINCIPAL_PATTERN 未配置时使用第一个 principalParamName
+    private String name;
+
+    // PARAM / HEADER 要求的取值，未配置时只要求参数或请求头存在
+    private String value;
+
+    // PRINCIPAL_PATTERN 使用的正则，需完整匹配
+    private String pattern;
+}
@@ -0,0 +1,34 @@
+package io.github.renhaowan.multilogin.core.properties.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * @author wan
+ * 主体存在性预过滤配置（布隆过滤器）
+ */
+@Data
+public class ExistenceFilterConfig {
+
+    // 是否启用
+    private boolean enabled = false;
+
+    // 预计主体数量
+    private long expectedInsertions = 1_000_000;
+
+    // 期望误判率
+    private double falsePositiveProbability = 0.01;
+
+    // 全量加载主体的 PrincipalBulkLoader Bean 名称
+    private String loaderBeanName;
+
+    // 快照文件路径，未配置则不做快照
+    private String snapshotPath;
+
+    // 快照最长有效期，超过则忽略快照重新全量加载
+    private Duration snapshotMaxAge = Duration.ofHours(1);
+
+    // 判定为不存在时的固定响应耗时，避免通过响应时间区分用户是否存在
+    private Duration rejectDelay = Duration.ofMillis(200);
+}
@@ -1,8 +1,11 @@
 package io.github.renhaowan.multilogin.core.properties.config;
 
 import lombok.Data;
+import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author wan
@@ -23,6 +26,45 @@ public class GlobalConfig {
     // 自定义参数提取器 Bean 名称
     private String parameterExtractorBeanName = "formParameterExtractor";
 
+    // contentNegotiatingParameterExtractor 的 媒体类型 -> 参数提取器 Bean 名称 映射，未配置时使用内置默认映射
+    private Map<String, String> parameterExtractors;
+
+    // 请求体参数提取器（JSON、CBOR、Smile、MessagePack 及压缩的表单请求体）允许的最大请求体，压缩时为压缩后的大小
+    private DataSize maxBodySize = DataSize.ofKilobytes(64);
+
+    // gzip / deflate 压缩的请求体解压后允许的最大大小
+    private DataSize maxInflatedBodySize = DataSize.ofKilobytes(512);
+
+    // gzip / deflate 压缩的请求体允许的最大压缩比
+    private int maxCompressionRatio = 50;
+
     // 自定义客户端类型提取器 Bean 名称
     private String clientTypeExtractorBeanName = "headerClientTypeExtractor";
+
+    // 候选用户缓存（两阶段认证）
+    private CandidateCacheConfig candidateCache = new CandidateCacheConfig();
+
+    // 按客户端类型的并发会话限制
+    private SessionLimitConfig sessionLimit = new SessionLimitConfig();
+
+    // 按客户端类型区分有效期的记住我
+    private RememberMeConfig rememberMe = new RememberMeConfig();
+
+    // 前置检查平台线程池最大线程数（JDK 21+ 使用虚拟线程，不受此限制）
+    private int preAuthenticationThreads = 64;
+
+    // 允许登录的网段（CIDR），为空表示不限制
+    private List<String> ipAllow;
+
+    // 允许登录的网段文件，每行一个 CIDR，# 开头为注释
+    private String ipAllowFile;
+
+    // 拒绝登录的网段（CIDR），对所有登录方式生效
+    private List<String> ipDeny;
+
+    // 拒绝登录的网段文件，对所有登录方式生效
+    private String ipDenyFile;
+
+    // 网段文件变更检查间隔，未配置则只在调用 IpAccessListRegistry.reload() 时重新加载
+    private Duration ipRefreshInterval;
 }
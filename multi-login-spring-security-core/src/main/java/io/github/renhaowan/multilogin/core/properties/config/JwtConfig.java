@@ -0,0 +1,52 @@
+package io.github.renhaowan.multilogin.core.properties.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author wan
+ * 内置 JWT 签发成功处理器配置
+ */
+@Data
+public class JwtConfig {
+
+    // 是否注册 jwtSuccessHandler
+    private boolean enabled = false;
+
+    // 签名算法：HS256、HS384、HS512、ES256、ES384、ES512
+    private String algorithm = "HS256";
+
+    // HMAC 密钥（HS* 算法使用），长度不少于算法摘要长度
+    private String secret;
+
+    // EC 私钥（ES* 算法使用），PKCS#8 PEM 或其 Base64 内容
+    private String privateKey;
+
+    // 写入 JWT 头的 kid
+    private String keyId;
+
+    // 签发者 iss
+    private String issuer;
+
+    // 默认有效期
+    private Duration ttl = Duration.ofHours(2);
+
+    // 按客户端类型覆盖有效期与附加声明
+    private Map<String, ClientType> clientTypes = new HashMap<>();
+
+    /**
+     * 客户端类型级配置
+     */
+    @Data
+    public static class ClientType {
+
+        // 有效期，未配置则使用默认有效期
+        private Duration ttl;
+
+        // 附加的固定声明
+        private Map<String, String> claims = new HashMap<>();
+    }
+}
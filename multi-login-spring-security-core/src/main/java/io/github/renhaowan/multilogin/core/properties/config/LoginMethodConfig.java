@@ -1,9 +1,11 @@
 package io.github.renhaowan.multilogin.core.properties.config;
 
 import lombok.Data;
+import org.springframework.util.unit.DataSize;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author wan
@@ -12,6 +14,9 @@ import java.util.List;
 @Data
 public class LoginMethodConfig {
 
+    // 登录方式名称（即 methods 中的 key，启动时自动回填，无需配置）
+    private String name;
+
     // 登录的URL
     private String processUrl;
 
@@ -42,6 +47,54 @@ public class LoginMethodConfig {
     // 如果配置，则覆盖 Global
     private String parameterExtractorBeanName;
 
+    // 如果配置，则覆盖 Global
+    private Map<String, String> parameterExtractors;
+
+    // 如果配置，则覆盖 Global
+    private DataSize maxBodySize;
+
+    // 如果配置，则覆盖 Global
+    private DataSize maxInflatedBodySize;
+
+    // 如果配置，则覆盖 Global
+    private Integer maxCompressionRatio;
+
     // 如果配置，则覆盖 Global
     private String clientTypeExtractorBeanName;
+
+    // 如果配置，则覆盖 Global
+    private CandidateCacheConfig candidateCache;
+
+    // 如果配置，则覆盖 Global
+    private SessionLimitConfig sessionLimit;
+
+    // 如果配置，则覆盖 Global
+    private RememberMeConfig rememberMe;
+
+    // 与其它登录方式共享 processUrl 时的判别条件（仅方法级）
+    private DiscriminatorConfig discriminator;
+
+    // 主体存在性预过滤（仅方法级）
+    private ExistenceFilterConfig existenceFilter;
+
+    // 请求签名校验与防重放（仅方法级）
+    private SignatureConfig signature;
+
+    // 认证前置检查（仅方法级）
+    private PreAuthenticationCheckConfig preAuthenticationCheck;
+
+    // 权限解析（仅方法级）
+    private AuthoritiesConfig authorities;
+
+    // 允许登录的网段（CIDR），如果配置，则覆盖 Global
+    private List<String> ipAllow;
+
+    // 允许登录的网段文件，每行一个 CIDR，如果配置，则覆盖 Global
+    private String ipAllowFile;
+
+    // 拒绝登录的网段（CIDR），与 Global 叠加生效
+    private List<String> ipDeny;
+
+    // 拒绝登录的网段文件，与 Global 叠加生效
+    private String ipDenyFile;
 }
@@ -0,0 +1,37 @@
+package io.github.renhaowan.multilogin.core.properties.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * @author wan
+ * 内置密码校验器配置
+ */
+@Data
+public class PasswordConfig {
+
+    // 是否启用内置 PasswordCredentialVerifier
+    private boolean enabled = false;
+
+    // 单次校验的耗时预算，启动时据此选择 BCrypt 强度
+    private Duration latencyBudget = Duration.ofMillis(100);
+
+    // 固定 BCrypt 强度（4~31），配置后不再做启动测算
+    private Integer strength;
+
+    // 测算结果的下限
+    private int minStrength = 10;
+
+    // 测算结果的上限
+    private int maxStrength = 14;
+
+    // 不带 {id} 前缀的存量哈希使用的算法 id，如 bcrypt、MD5、SHA-256
+    private String unprefixedEncodingId = "bcrypt";
+
+    // 后台重新哈希的线程数
+    private int rehashThreads = 1;
+
+    // 后台重新哈希的队列容量，队列满时放弃本次升级，下次登录再尝试
+    private int rehashQueueCapacity = 1024;
+}
@@ -0,0 +1,31 @@
+package io.github.renhaowan.multilogin.core.properties.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * @author wan
+ * 登录成功钩子配置
+ */
+@Data
+public class PostAuthenticationConfig {
+
+    // 是否启用登录成功钩子
+    private boolean enabled = false;
+
+    // 执行线程数
+    private int threads = 2;
+
+    // 线程池队列容量，已满时丢弃事件并计数
+    private int queueCapacity = 4096;
+
+    // 合并事件的刷新间隔
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    // 每个钩子最多暂存的合并键数，已满时丢弃新合并键的事件
+    private int maxPendingKeys = 65536;
+
+    // 关闭时等待剩余事件处理完成的最长时间
+    private Duration drainTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,26 @@
+package io.github.renhaowan.multilogin.core.properties.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author wan
+ * 认证前置检查配置（仅方法级）
+ */
+@Data
+public class PreAuthenticationCheckConfig {
+
+    // 默认执行的 PreAuthenticationCheck Bean 名称
+    private List<String> checks = new ArrayList<>();
+
+    // 按客户端类型覆盖检查列表，配置为空列表表示该客户端类型不做检查
+    private Map<String, List<String>> clientTypes = new HashMap<>();
+
+    // 所有检查的总超时
+    private Duration timeout = Duration.ofMillis(500);
+}
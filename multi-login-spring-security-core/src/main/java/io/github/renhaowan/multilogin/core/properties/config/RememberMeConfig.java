@@ -0,0 +1,77 @@
+package io.github.renhaowan.multilogin.core.properties.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author wan
+ * 按客户端类型区分有效期的记住我配置
+ */
+@Data
+public class RememberMeConfig {
+
+    // 是否启用记住我（需先在 Global 中启用，方法级可覆盖有效期或关闭）
+    private boolean enabled = false;
+
+    // 各客户端类型的记住我有效期，如 app: 30d、h5: 7d
+    private Map<String, Duration> tokenValidity = new HashMap<>();
+
+    // 未在 tokenValidity 中配置的客户端类型的有效期，小于等于 0 表示这些客户端类型不记住
+    private Duration defaultTokenValidity = Duration.ofDays(14);
+
+    // 请求记住我的参数名
+    private String parameter = "remember-me";
+
+    // 是否总是记住，无需请求参数
+    private boolean alwaysRemember = false;
+
+    // 自动登录时按用户名加载用户的 UserDetailsService Bean 名称
+    private String userDetailsServiceBeanName;
+
+    // 签名 key（仅 Global 生效），未配置时启动时随机生成，集群部署需显式配置
+    private String key;
+
+    // Cookie 名称（仅 Global 生效）
+    private String cookieName = "remember-me";
+
+    // 是否只通过 HTTPS 发送 Cookie（仅 Global 生效），未配置时跟随请求
+    private Boolean useSecureCookie;
+
+    // 令牌缓存（仅 Global 生效）
+    private Cache cache = new Cache();
+
+    // JDBC 令牌存储（仅 Global 生效）
+    private Jdbc jdbc = new Jdbc();
+
+    /**
+     * 令牌缓存配置
+     */
+    @Data
+    public static class Cache {
+
+        // 最多缓存的 series 数（含不存在的 series）
+        private int maximumSize = 10000;
+
+        // 缓存写入后过期时间，过期后重新从数据库读取
+        private Duration expireAfterWrite = Duration.ofMinutes(5);
+    }
+
+    /**
+     * JDBC 令牌存储配置
+     */
+    @Data
+    public static class Jdbc {
+
+        // 是否启用，未启用时令牌只保存在内存中
+        private boolean enabled = false;
+
+        // 令牌表名
+        private String tableName = "multi_login_remember_me";
+
+        // 是否在启动时建表，表已存在时跳过
+        private boolean createTableOnStartup = false;
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.renhaowan.multilogin.core.properties.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author wan
+ * 按客户端类型限制同一用户的并发会话数
+ */
+@Data
+public class SessionLimitConfig {
+
+    // 是否启用并发会话限制（需先在 Global 中启用，方法级可覆盖限制或关闭）
+    private boolean enabled = false;
+
+    // 各客户端类型允许的最大会话数，如 app: 1、web: 3
+    private Map<String, Integer> maxSessions = new HashMap<>();
+
+    // 未在 maxSessions 中配置的客户端类型允许的最大会话数，小于等于 0 表示不限制
+    private int defaultMaxSessions = -1;
+
+    // 超出限制时拒绝新的登录，默认淘汰最早的会话
+    private boolean preventLogin = false;
+
+    // JDBC 共享会话注册表（仅 Global 生效，集群部署时使用）
+    private Jdbc jdbc = new Jdbc();
+
+    /**
+     * JDBC 会话注册表配置
+     */
+    @Data
+    public static class Jdbc {
+
+        // 是否启用
+        private boolean enabled = false;
+
+        // 会话表名
+        private String tableName = "multi_login_session";
+
+        // 是否在启动时建表
+        private boolean createTableOnStartup = false;
+
+        // 最近访问时间的最小写回间隔，间隔内的请求只更新本地时间
+        private Duration touchInterval = Duration.ofMinutes(1);
+
+        // 最近访问时间早于此时长的会话视为失效（如节点宕机后遗留的会话），不计入会话数；应大于会话超时时间与 touchInterval 之和
+        private Duration staleTimeout = Duration.ofMinutes(35);
+
+        // 删除失效会话的间隔，0 表示不清理
+        private Duration cleanupInterval = Duration.ofMinutes(5);
+
+        // 按会话 ID 查询的本地缓存时间，其他节点淘汰的会话最迟在该时间后注销，0 表示不缓存
+        private Duration lookupCacheTtl = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.renhaowan.multilogin.core.properties.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author wan
+ * 请求签名校验配置（仅方法级）
+ */
+@Data
+public class SignatureConfig {
+
+    // 需要校验签名的客户端类型，为空表示不校验
+    private List<String> clientTypes = new ArrayList<>();
+
+    // 按 appId 提供签名密钥的 AppKeyProvider Bean 名称
+    private String keyProviderBeanName;
+
+    // HMAC 算法
+    private String algorithm = "HmacSHA256";
+
+    // 时间戳允许的偏差，超出视为过期请求
+    private Duration window = Duration.ofMinutes(5);
+
+    // nonce 时间桶宽度，nonce 只在 2 * window 内保留
+    private Duration bucketWidth = Duration.ofSeconds(30);
+
+    // nonce 最大长度
+    private int maxNonceLength = 64;
+
+    // 应用 ID 请求头
+    private String appIdHeader = "X-App-Id";
+
+    // 时间戳请求头（秒或毫秒）
+    private String timestampHeader = "X-Timestamp";
+
+    // nonce 请求头
+    private String nonceHeader = "X-Nonce";
+
+    // 签名请求头（Base64）
+    private String signatureHeader = "X-Signature";
+
+    // 密钥缓存条目数
+    private int keyCacheSize = 1024;
+
+    // 密钥缓存写入后过期时间
+    private Duration keyCacheTtl = Duration.ofMinutes(10);
+}
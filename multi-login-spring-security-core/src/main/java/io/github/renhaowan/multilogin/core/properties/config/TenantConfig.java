@@ -0,0 +1,46 @@
+package io.github.renhaowan.multilogin.core.properties.config;
+
+import io.github.renhaowan.multilogin.core.tenant.TenantResolveStrategy;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author wan
+ * 多租户登录配置
+ */
+@Data
+public class TenantConfig {
+
+    // 是否启用多租户登录方式（需提供 LoginMethodConfigSource Bean）
+    private boolean enabled = false;
+
+    // 租户识别方式：HOST（按域名）或 PATH_PREFIX（按路径第一段）
+    private TenantResolveStrategy resolveBy = TenantResolveStrategy.HOST;
+
+    // HOST 模式下从域名中去掉的后缀，如 .example.com（acme.example.com -> acme）；HOST 模式下 hostSuffix 与 tenants 至少配置一个
+    private String hostSuffix;
+
+    // 已知租户标识，配置后只识别这些租户，其余请求不查询配置源
+    private List<String> tenants;
+
+    // 只有匹配这些路径的请求才会识别租户并加载登录方案，未配置时只匹配默认登录地址（HOST：/login/**，PATH_PREFIX：/*/login/**）
+    private List<String> requestPatterns = new ArrayList<>();
+
+    // 最多同时缓存的租户登录方案数
+    private int maxTenants = 1000;
+
+    // 租户登录方案空闲过期时间
+    private Duration idleTimeout = Duration.ofMinutes(30);
+
+    // 租户登录方案写入后过期时间，过期后重新从配置源加载
+    private Duration ttl = Duration.ofMinutes(10);
+
+    // 不存在、未配置登录方式或编译失败的租户单独缓存的最大条目数，不占用登录方案缓存
+    private int maxUnknownTenants = 10000;
+
+    // 不存在或编译失败的租户的缓存时间，过期后重新查询配置源
+    private Duration unknownTenantTtl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,34 @@
+package io.github.renhaowan.multilogin.core.properties.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * @author wan
+ * 内置验证码存储配置（短信/邮箱验证码登录）
+ */
+@Data
+public class VerificationCodeConfig {
+
+    // 是否启用内置验证码存储
+    private boolean enabled = false;
+
+    // 存储类型：memory（单机内存）或 jdbc（集群共享）
+    private String storeType = "memory";
+
+    // 单个验证码允许的最大校验次数，超过后验证码作废
+    private int maxAttempts = 5;
+
+    // 时间轮每格的时长，即过期清理的精度
+    private Duration tickDuration = Duration.ofSeconds(1);
+
+    // 时间轮格数（会向上取整为 2 的幂）
+    private int wheelSize = 512;
+
+    // JDBC 存储使用的表名
+    private String tableName = "multi_login_verification_code";
+
+    // JDBC 存储是否在启动时建表
+    private boolean createTableOnStartup = false;
+}
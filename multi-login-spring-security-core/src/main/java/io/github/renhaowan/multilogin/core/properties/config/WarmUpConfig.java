@@ -0,0 +1,22 @@
+package io.github.renhaowan.multilogin.core.properties.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * @author wan
+ * 启动预热配置
+ */
+@Data
+public class WarmUpConfig {
+
+    // 是否在启动时预热登录链路（预热完成前应用不会进入就绪状态）
+    private boolean enabled = false;
+
+    // 每个登录方式、每个客户端类型的预热次数
+    private int iterations = 2000;
+
+    // 预热总时长上限，超过后提前结束
+    private Duration timeout = Duration.ofSeconds(30);
+}
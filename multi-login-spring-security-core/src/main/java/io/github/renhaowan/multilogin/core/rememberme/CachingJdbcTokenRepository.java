@@ -0,0 +1,162 @@
+package io.github.renhaowan.multilogin.core.rememberme;
+
+import io.github.renhaowan.multilogin.core.cache.BoundedLocalCache;
+import io.github.renhaowan.multilogin.core.jdbc.JdbcTables;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.web.authentication.rememberme.PersistentRememberMeToken;
+import org.springframework.security.web.authentication.rememberme.PersistentTokenRepository;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 带本地缓存的 JDBC 记住我令牌存储，表结构见 {@link #CREATE_TABLE_SQL}
+ * series 查询经本地有界缓存（不存在的 series 同样缓存），自动登录不再每次读库；
+ * 令牌轮换通过 {@link #replaceToken} 按 series + 旧令牌条件同步写库，缓存中的令牌已被其他节点轮换或删除时更新 0 行，
+ * 按并发轮换拒绝而不是误判为令牌被盗；出示的令牌与缓存不一致时由调用方先 {@link #reloadTokenForSeries 重新读库} 再判断。
+ *
+ * @author wan
+ */
+public class CachingJdbcTokenRepository implements PersistentTokenRepository {
+
+    /**
+     * 默认建表语句，%s 为表名；series 带有客户端类型与登录方式后缀，长度大于 Spring 默认表结构
+     */
+    public static final String CREATE_TABLE_SQL = "CREATE TABLE %s ("
+            + "series VARCHAR(192) NOT NULL PRIMARY KEY, "
+            + "username VARCHAR(128) NOT NULL, "
+            + "token VARCHAR(64) NOT NULL, "
+            + "last_used BIGINT NOT NULL)";
+
+    /**
+     * 默认索引语句，%s 依次为表名、表名
+     */
+    public static final String CREATE_INDEX_SQL = "CREATE INDEX %s_username ON %s (username)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BoundedLocalCache<String, Optional<PersistentRememberMeToken>> tokens;
+
+    private final String insertSql;
+    private final String updateSql;
+    private final String replaceSql;
+    private final String selectSql;
+    private final String deleteSql;
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+
+    /**
+     * 构造令牌存储
+     *
+     * @param jdbcTemplate     JdbcTemplate
+     * @param tableName        令牌表名
+     * @param maximumSize      最多缓存的 series 数
+     * @param expireAfterWrite 缓存写入后过期时间，过期后重新从数据库读取
+     */
+    public CachingJdbcTokenRepository(JdbcTemplate jdbcTemplate, String tableName, int maximumSize,
+                                      Duration expireAfterWrite) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tokens = new BoundedLocalCache<>(maximumSize, expireAfterWrite, null);
+        this.insertSql = "INSERT INTO " + tableName + " (series, username, token, last_used) VALUES (?, ?, ?, ?)";
+        this.updateSql = "UPDATE " + tableName + " SET token = ?, last_used = ? WHERE series = ?";
+        this.replaceSql = updateSql + " AND token = ?";
+        this.selectSql = "SELECT series, username, token, last_used FROM " + tableName + " WHERE series = ?";
+        this.deleteSql = "DELETE FROM " + tableName + " WHERE username = ?";
+    }
+
+    /**
+     * 表不存在时建表
+     *
+     * @param tableName 令牌表名
+     */
+    public void createTable(String tableName) {
+        JdbcTables.createIfAbsent(jdbcTemplate, tableName, String.format(CREATE_TABLE_SQL, tableName),
+                String.format(CREATE_INDEX_SQL, tableName, tableName));
+    }
+
+    @Override
+    public void createNewToken(PersistentRememberMeToken token) {
+        jdbcTemplate.update(insertSql, token.getSeries(), token.getUsername(), token.getTokenValue(),
+                token.getDate().getTime());
+        tokens.invalidate(token.getSeries());
+    }
+
+    @Override
+    public void updateToken(String series, String tokenValue, Date lastUsed) {
+        jdbcTemplate.update(updateSql, tokenValue, lastUsed.getTime(), series);
+        tokens.invalidate(series);
+    }
+
+    /**
+     * 按旧令牌条件轮换令牌，成功后更新本地缓存
+     *
+     * @param token      出示且与缓存一致的旧令牌
+     * @param tokenValue 新令牌
+     * @param lastUsed   使用时间
+     * @return 是否轮换成功，旧令牌已被并发请求或其他节点轮换、删除时返回 false
+     */
+    public boolean replaceToken(PersistentRememberMeToken token, String tokenValue, Date lastUsed) {
+        String series = token.getSeries();
+        if (jdbcTemplate.update(replaceSql, tokenValue, lastUsed.getTime(), series, token.getTokenValue()) == 1) {
+            tokens.put(series, Optional.of(new PersistentRememberMeToken(token.getUsername(), series, tokenValue, lastUsed)));
+            return true;
+        }
+        conflicts.increment();
+        tokens.invalidate(series);
+        return false;
+    }
+
+    @Override
+    public PersistentRememberMeToken getTokenForSeries(String seriesId) {
+        return tokens.get(seriesId, this::load).orElse(null);
+    }
+
+    /**
+     * 丢弃缓存重新从数据库读取，出示的令牌与缓存不一致时在判定令牌被盗之前调用
+     *
+     * @param seriesId series
+     * @return 数据库中的令牌，不存在时返回 null
+     */
+    public PersistentRememberMeToken reloadTokenForSeries(String seriesId) {
+        tokens.invalidate(seriesId);
+        return getTokenForSeries(seriesId);
+    }
+
+    @Override
+    public void removeUserTokens(String username) {
+        jdbcTemplate.update(deleteSql, username);
+        tokens.invalidateIf((series, token) -> token.isPresent() && username.equals(token.get().getUsername()));
+    }
+
+    private Optional<PersistentRememberMeToken> load(String seriesId) {
+        loads.increment();
+        List<PersistentRememberMeToken> rows = jdbcTemplate.query(selectSql, (rs, rowNum) -> new PersistentRememberMeToken(
+                rs.getString("username"), rs.getString("series"), rs.getString("token"), new Date(rs.getLong("last_used"))),
+                seriesId);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    /**
+     * @return 从数据库加载 series 的次数
+     */
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    /**
+     * @return 条件轮换因令牌已被轮换或删除而失败的次数
+     */
+    public long getConflictCount() {
+        return conflicts.sum();
+    }
+
+    /**
+     * @return 缓存的 series 数（含不存在的 series）
+     */
+    public int getCachedSeriesCount() {
+        return tokens.size();
+    }
+}
@@ -0,0 +1,173 @@
+package io.github.renhaowan.multilogin.core.rememberme;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.rememberme.CookieTheftException;
+import org.springframework.security.web.authentication.rememberme.InvalidCookieException;
+import org.springframework.security.web.authentication.rememberme.PersistentRememberMeToken;
+import org.springframework.security.web.authentication.rememberme.PersistentTokenBasedRememberMeServices;
+import org.springframework.security.web.authentication.rememberme.PersistentTokenRepository;
+import org.springframework.security.web.authentication.rememberme.RememberMeAuthenticationException;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * 单个 登录方式 × 客户端类型 的记住我服务
+ * series 以 .客户端类型.登录方式 为后缀，自动登录时 {@link MultiLoginRememberMeServices} 据此找回签发令牌的服务，
+ * 使用该客户端类型的有效期与 UserDetailsService，自动登录结果为 {@link MultiLoginRememberMeAuthenticationToken}。
+ * 令牌存储为 {@link CachingJdbcTokenRepository} 时令牌轮换按旧令牌条件写入，集群内同一令牌只会被轮换一次，
+ * 本地缓存中的过期令牌不会导致误判为令牌被盗。
+ *
+ * @author wan
+ */
+public class ClientTypeRememberMeServices extends PersistentTokenBasedRememberMeServices {
+
+    /**
+     * 登录参数中的记住我取值，由 DynamicAuthenticationFilter 设置，用于 JSON 等非表单请求体
+     */
+    public static final String REMEMBER_ME_ATTRIBUTE = ClientTypeRememberMeServices.class.getName() + ".REQUESTED";
+
+    private final PersistentTokenRepository tokenRepository;
+
+    @Getter
+    private final String loginMethod;
+
+    @Getter
+    private final String clientType;
+
+    /**
+     * @param key             记住我密钥
+     * @param userDetails     自动登录时加载用户的 UserDetailsService
+     * @param tokenRepository 令牌存储
+     * @param loginMethod     登录方式名称
+     * @param clientType      客户端类型
+     */
+    public ClientTypeRememberMeServices(String key, UserDetailsService userDetails, PersistentTokenRepository tokenRepository,
+                                        String loginMethod, String clientType) {
+        super(key, userDetails, tokenRepository);
+        this.tokenRepository = tokenRepository;
+        this.loginMethod = loginMethod;
+        this.clientType = clientType;
+    }
+
+    /**
+     * @return series 后缀中的路由键
+     */
+    public String getRoutingKey() {
+        return routingKey(clientType, loginMethod);
+    }
+
+    /**
+     * @param clientType  客户端类型
+     * @param loginMethod 登录方式名称
+     * @return 路由键
+     */
+    public static String routingKey(String clientType, String loginMethod) {
+        return clientType + '.' + loginMethod;
+    }
+
+    /**
+     * 从记住我 Cookie 中取出 series
+     *
+     * @param request HTTP 请求对象
+     * @return series，Cookie 不存在或格式错误时返回 null
+     */
+    public String extractSeries(HttpServletRequest request) {
+        String cookie = extractRememberMeCookie(request);
+        if (cookie == null || cookie.isEmpty()) {
+            return null;
+        }
+        try {
+            String[] tokens = decodeCookie(cookie);
+            return tokens.length == 2 ? tokens[0] : null;
+        } catch (InvalidCookieException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Base64 编码的随机 series 不含 '.'，后缀从第一个 '.' 开始
+     */
+    @Override
+    protected String generateSeriesData() {
+        return super.generateSeriesData() + '.' + getRoutingKey();
+    }
+
+    /**
+     * 与父类流程一致；令牌存储为 {@link CachingJdbcTokenRepository} 时 series 从本地缓存读取，
+     * 出示的令牌与缓存不一致时先重新读库，仍不一致才判定令牌被盗；按出示的旧令牌条件轮换，
+     * 同一令牌的并发自动登录只有一方成功，其余本次自动登录失败（不视为令牌被盗）
+     */
+    @Override
+    protected UserDetails processAutoLoginCookie(String[] cookieTokens, HttpServletRequest request,
+                                                 HttpServletResponse response) {
+        if (!(tokenRepository instanceof CachingJdbcTokenRepository repository)) {
+            return super.processAutoLoginCookie(cookieTokens, request, response);
+        }
+        if (cookieTokens.length != 2) {
+            throw new InvalidCookieException("Cookie token did not contain 2 tokens, but contained '"
+                    + Arrays.asList(cookieTokens) + "'");
+        }
+        String presentedSeries = cookieTokens[0];
+        String presentedToken = cookieTokens[1];
+        PersistentRememberMeToken token = repository.getTokenForSeries(presentedSeries);
+        if (token == null) {
+            throw new RememberMeAuthenticationException("No persistent token found for series id: " + presentedSeries);
+        }
+        if (!presentedToken.equals(token.getTokenValue())) {
+            // 缓存可能持有其他节点轮换前的令牌
+            token = repository.reloadTokenForSeries(presentedSeries);
+            if (token == null) {
+                throw new RememberMeAuthenticationException("No persistent token found for series id: " + presentedSeries);
+            }
+        }
+        if (!presentedToken.equals(token.getTokenValue())) {
+            repository.removeUserTokens(token.getUsername());
+            throw new CookieTheftException("Invalid remember-me token (Series/token) mismatch. Implies previous cookie theft attack.");
+        }
+        if (token.getDate().getTime() + getTokenValiditySeconds() * 1000L < System.currentTimeMillis()) {
+            throw new RememberMeAuthenticationException("Remember-me login has expired");
+        }
+
+        String newToken = generateTokenData();
+        boolean replaced;
+        try {
+            replaced = repository.replaceToken(token, newToken, new Date());
+        } catch (DataAccessException e) {
+            throw new RememberMeAuthenticationException("Autologin failed due to data access problem", e);
+        }
+        if (!replaced) {
+            throw new RememberMeAuthenticationException("Remember-me token was rotated by a concurrent request");
+        }
+        setCookie(new String[]{presentedSeries, newToken}, getTokenValiditySeconds(), request, response);
+        return getUserDetailsService().loadUserByUsername(token.getUsername());
+    }
+
+    @Override
+    protected boolean rememberMeRequested(HttpServletRequest request, String parameter) {
+        if (super.rememberMeRequested(request, parameter)) {
+            return true;
+        }
+        Object value = request.getAttribute(REMEMBER_ME_ATTRIBUTE);
+        if (value == null) {
+            return false;
+        }
+        String requested = value.toString();
+        return requested.equalsIgnoreCase("true") || requested.equalsIgnoreCase("on")
+                || requested.equalsIgnoreCase("yes") || requested.equals("1");
+    }
+
+    @Override
+    protected Authentication createSuccessfulAuthentication(HttpServletRequest request, UserDetails user) {
+        MultiLoginRememberMeAuthenticationToken auth = new MultiLoginRememberMeAuthenticationToken(
+                getKey(), user, user.getAuthorities(), clientType, loginMethod);
+        auth.setDetails(getAuthenticationDetailsSource().buildDetails(request));
+        return auth;
+    }
+}
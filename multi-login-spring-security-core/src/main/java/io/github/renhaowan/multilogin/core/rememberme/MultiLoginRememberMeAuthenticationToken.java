@@ -0,0 +1,63 @@
+package io.github.renhaowan.multilogin.core.rememberme;
+
+import io.github.renhaowan.multilogin.core.MultiLoginAuthentication;
+import org.springframework.security.authentication.RememberMeAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.Serial;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * @author wan
+ * 记住我自动登录后的 Token，保留签发令牌时的客户端类型与登录方式，供授权判断与业务代码按客户端类型区分；
+ * 自动登录不经过 DynamicAuthenticationFilter，不做并发会话控制，也不发布登录成功事件
+ */
+public class MultiLoginRememberMeAuthenticationToken extends RememberMeAuthenticationToken implements MultiLoginAuthentication {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String clientType;
+    private final String loginMethod;
+
+    /**
+     * @param key         记住我密钥
+     * @param principal   UserDetails
+     * @param authorities 权限集合
+     * @param clientType  客户端类型
+     * @param loginMethod 登录方式名称
+     */
+    public MultiLoginRememberMeAuthenticationToken(String key, Object principal,
+                                                   Collection<? extends GrantedAuthority> authorities,
+                                                   String clientType, String loginMethod) {
+        super(key, principal, authorities);
+        this.clientType = clientType;
+        this.loginMethod = loginMethod;
+    }
+
+    @Override
+    public String getClientType() {
+        return clientType;
+    }
+
+    @Override
+    public String getLoginMethod() {
+        return loginMethod;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!super.equals(obj) || !(obj instanceof MultiLoginRememberMeAuthenticationToken other)) {
+            return false;
+        }
+        return Objects.equals(clientType, other.clientType) && Objects.equals(loginMethod, other.loginMethod);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + Objects.hashCode(clientType);
+        return 31 * result + Objects.hashCode(loginMethod);
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.renhaowan.multilogin.core.rememberme;
+
+import io.github.renhaowan.multilogin.core.MultiLoginAuthentication;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.RememberMeServices;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按客户端类型路由的记住我服务
+ * 各登录过滤器与 RememberMeAuthenticationFilter 共用此实例：登录成功时按认证结果的 客户端类型 × 登录方式 选择服务签发令牌，
+ * 自动登录时按 Cookie 中 series 的后缀选择签发令牌的服务；未注册的组合不记住、不自动登录。
+ *
+ * @author wan
+ */
+public class MultiLoginRememberMeServices implements RememberMeServices, LogoutHandler {
+
+    @Getter
+    private final String key;
+
+    private final Map<String, ClientTypeRememberMeServices> services = new ConcurrentHashMap<>();
+
+    /**
+     * @param key 记住我密钥，所有服务共用
+     */
+    public MultiLoginRememberMeServices(String key) {
+        this.key = key;
+    }
+
+    /**
+     * 注册 登录方式 × 客户端类型 的记住我服务
+     *
+     * @param service 记住我服务
+     */
+    public void register(ClientTypeRememberMeServices service) {
+        services.put(service.getRoutingKey(), service);
+    }
+
+    /**
+     * @return 是否注册了任何记住我服务
+     */
+    public boolean isEmpty() {
+        return services.isEmpty();
+    }
+
+    @Override
+    public Authentication autoLogin(HttpServletRequest request, HttpServletResponse response) {
+        ClientTypeRememberMeServices service = resolve(request);
+        return service == null ? null : service.autoLogin(request, response);
+    }
+
+    @Override
+    public void loginFail(HttpServletRequest request, HttpServletResponse response) {
+        ClientTypeRememberMeServices service = resolveOrAny(request);
+        if (service != null) {
+            service.loginFail(request, response);
+        }
+    }
+
+    @Override
+    public void loginSuccess(HttpServletRequest request, HttpServletResponse response, Authentication successfulAuthentication) {
+        if (!(successfulAuthentication instanceof MultiLoginAuthentication authentication)) {
+            return;
+        }
+        ClientTypeRememberMeServices service = services.get(
+                ClientTypeRememberMeServices.routingKey(authentication.getClientType(), authentication.getLoginMethod()));
+        if (service != null) {
+            service.loginSuccess(request, response, successfulAuthentication);
+        }
+    }
+
+    @Override
+    public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+        ClientTypeRememberMeServices service = resolveOrAny(request);
+        if (service != null) {
+            service.logout(request, response, authentication);
+        }
+    }
+
+    /**
+     * 按 Cookie 中 series 的后缀找回签发令牌的服务（所有服务共用 Cookie 名，任一服务都能解析 Cookie）
+     */
+    private ClientTypeRememberMeServices resolve(HttpServletRequest request) {
+        if (services.isEmpty()) {
+            return null;
+        }
+        String series = services.values().iterator().next().extractSeries(request);
+        if (series == null) {
+            return null;
+        }
+        int separator = series.indexOf('.');
+        return separator < 0 ? null : services.get(series.substring(separator + 1));
+    }
+
+    /**
+     * 清除 Cookie 与删除用户令牌不依赖具体服务，找不到签发服务时任取一个
+     */
+    private ClientTypeRememberMeServices resolveOrAny(HttpServletRequest request) {
+        ClientTypeRememberMeServices service = resolve(request);
+        if (service != null || services.isEmpty()) {
+            return service;
+        }
+        return services.values().iterator().next();
+    }
+}
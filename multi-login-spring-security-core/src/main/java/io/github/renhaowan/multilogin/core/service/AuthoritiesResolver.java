@@ -0,0 +1,22 @@
+package io.github.renhaowan.multilogin.core.service;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * @author wan
+ * 权限解析器：为业务逻辑返回的主体解析权限。
+ * 配置后优先于 UserDetails.getAuthorities()，返回结果会经 GrantedAuthorityPool 规范化。
+ */
+public interface AuthoritiesResolver {
+
+    /**
+     * 解析权限
+     * @param loginMethod 登录方式名称
+     * @param clientType  客户端类型
+     * @param principal   业务逻辑返回的主体
+     * @return 权限集合，可为 null
+     */
+    Collection<? extends GrantedAuthority> resolve(String loginMethod, String clientType, Object principal);
+}
@@ -0,0 +1,45 @@
+package io.github.renhaowan.multilogin.core.service;
+
+import org.springframework.security.core.AuthenticationException;
+
+import java.util.Map;
+
+/**
+ * @author wan
+ * 两阶段业务认证接口（可选）
+ * 将认证拆分为“按主体加载候选用户”和“校验凭证”两步：
+ * 加载结果可由 RouterAuthenticationProvider 按 登录方式 + 客户端类型 缓存，凭证校验每次都会执行。
+ *
+ * @param <C> 候选用户类型（如 UserDetails 或业务用户实体）
+ */
+public interface TwoPhaseBusinessAuthenticationLogic<C> extends BusinessAuthenticationLogic {
+
+    /**
+     * 根据主体参数加载候选用户
+     * @param principalParams 主体参数（仅包含 principalParamName 配置的参数）
+     * @return 候选用户，不存在时返回 null
+     */
+    C loadCandidate(Map<String, Object> principalParams) throws AuthenticationException;
+
+    /**
+     * 校验凭证
+     * @param candidate 候选用户（可能来自缓存，实现方不应修改它；可直接作为结果返回，认证成功后不会被擦除凭证）
+     * @param credentialParams 除主体参数外的其余参数（凭证及附加参数）
+     * @return 认证成功后的用户主体信息
+     */
+    Object verify(C candidate, Map<String, Object> credentialParams) throws AuthenticationException;
+
+    /**
+     * 未经 Router 调用时，按两阶段顺序执行
+     * @param allParams 登录请求所有参数集合
+     * @return 认证成功后的用户主体信息
+     */
+    @Override
+    default Object authenticate(Map<String, Object> allParams) throws AuthenticationException {
+        C candidate = loadCandidate(allParams);
+        if (candidate == null) {
+            return null;
+        }
+        return verify(candidate, allParams);
+    }
+}
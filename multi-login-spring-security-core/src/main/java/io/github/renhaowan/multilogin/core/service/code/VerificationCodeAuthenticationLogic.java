@@ -0,0 +1,77 @@
+package io.github.renhaowan.multilogin.core.service.code;
+
+import io.github.renhaowan.multilogin.core.properties.config.LoginMethodConfig;
+import io.github.renhaowan.multilogin.core.service.BusinessAuthenticationLogic;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 基于验证码的业务认证逻辑
+ * 从参数中取出主体与验证码，交由 {@link VerificationCodeStore} 校验，通过后再加载用户信息。
+ *
+ * @author wan
+ */
+public class VerificationCodeAuthenticationLogic implements BusinessAuthenticationLogic {
+
+    private final VerificationCodeStore verificationCodeStore;
+    private final String loginMethod;
+    private final String principalParamName;
+    private final String codeParamName;
+    private final Function<String, Object> userLoader;
+
+    /**
+     * 构造验证码认证逻辑
+     *
+     * @param verificationCodeStore 验证码存储
+     * @param loginMethod           登录方式名称（与发送验证码时使用的一致）
+     * @param principalParamName    主体参数名（如 phone）
+     * @param codeParamName         验证码参数名（如 captcha）
+     * @param userLoader            根据主体加载用户信息，返回 null 表示用户不存在
+     */
+    public VerificationCodeAuthenticationLogic(VerificationCodeStore verificationCodeStore, String loginMethod,
+                                               String principalParamName, String codeParamName,
+                                               Function<String, Object> userLoader) {
+        this.verificationCodeStore = verificationCodeStore;
+        this.loginMethod = loginMethod;
+        this.principalParamName = principalParamName;
+        this.codeParamName = codeParamName;
+        this.userLoader = userLoader;
+    }
+
+    /**
+     * 使用登录方式配置中的第一个主体参数名和第一个凭证参数名构造
+     *
+     * @param verificationCodeStore 验证码存储
+     * @param config                登录方法配置
+     * @param userLoader            根据主体加载用户信息，返回 null 表示用户不存在
+     */
+    public VerificationCodeAuthenticationLogic(VerificationCodeStore verificationCodeStore, LoginMethodConfig config,
+                                               Function<String, Object> userLoader) {
+        this(verificationCodeStore, config.getName(), config.getPrincipalParamName().get(0),
+                config.getCredentialParamName().get(0), userLoader);
+    }
+
+    @Override
+    public Object authenticate(Map<String, Object> allParams) throws AuthenticationException {
+        Object principal = allParams.get(principalParamName);
+        Object code = allParams.get(codeParamName);
+        if (principal == null || code == null) {
+            throw new BadCredentialsException("Principal and verification code are required.");
+        }
+
+        VerificationCodeResult result = verificationCodeStore.verify(loginMethod, principal.toString(), code.toString());
+        if (result != VerificationCodeResult.SUCCESS) {
+            throw new BadCredentialsException("Verification code rejected: " + result);
+        }
+
+        Object user = userLoader.apply(principal.toString());
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found: " + principal);
+        }
+        return user;
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.renhaowan.multilogin.core.service.code;
+
+/**
+ * 验证码校验结果
+ *
+ * @author wan
+ */
+public enum VerificationCodeResult {
+
+    /**
+     * 校验通过，验证码已被消费
+     */
+    SUCCESS,
+
+    /**
+     * 验证码不匹配
+     */
+    MISMATCH,
+
+    /**
+     * 验证码不存在（未发送或已被消费）
+     */
+    NOT_FOUND,
+
+    /**
+     * 验证码已过期
+     */
+    EXPIRED,
+
+    /**
+     * 校验次数超过上限，验证码已作废
+     */
+    TOO_MANY_ATTEMPTS
+}
@@ -0,0 +1,40 @@
+package io.github.renhaowan.multilogin.core.service.code;
+
+import java.time.Duration;
+
+/**
+ * 验证码存储接口（SPI）
+ * 验证码以 登录方式 + 主体（手机号、邮箱等）为键存储，校验成功即被消费（一次性）。
+ *
+ * @author wan
+ */
+public interface VerificationCodeStore {
+
+    /**
+     * 保存验证码，同一 登录方式 + 主体 的旧验证码会被覆盖
+     *
+     * @param loginMethod 登录方式名称
+     * @param principal   主体（如手机号、邮箱）
+     * @param code        验证码
+     * @param ttl         有效期
+     */
+    void save(String loginMethod, String principal, String code, Duration ttl);
+
+    /**
+     * 校验验证码。每次调用计为一次尝试，校验通过后验证码立即失效。
+     *
+     * @param loginMethod 登录方式名称
+     * @param principal   主体
+     * @param code        用户提交的验证码
+     * @return 校验结果
+     */
+    VerificationCodeResult verify(String loginMethod, String principal, String code);
+
+    /**
+     * 删除验证码
+     *
+     * @param loginMethod 登录方式名称
+     * @param principal   主体
+     */
+    void remove(String loginMethod, String principal);
+}
@@ -0,0 +1,124 @@
+package io.github.renhaowan.multilogin.core.service.code.impl;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 哈希时间轮
+ * 所有过期任务共用一个工作线程按格推进，不为单个条目创建定时任务。
+ * 新任务先进入无锁队列，由工作线程在每次推进时转入对应的格子，格子本身只被工作线程访问。
+ *
+ * @param <T> 过期回调参数类型
+ * @author wan
+ */
+@Slf4j
+class HashedTimerWheel<T> implements AutoCloseable {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Queue<Timeout<T>>[] wheel;
+    private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+    private final Consumer<T> expireAction;
+    private final Thread worker;
+    private final long startTime;
+
+    private volatile boolean running = true;
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    HashedTimerWheel(String name, long tickMillis, int wheelSize, Consumer<T> expireAction) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.wheel = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        this.expireAction = expireAction;
+        this.startTime = System.currentTimeMillis();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * 注册一个过期任务
+     *
+     * @param target   过期时回调的对象
+     * @param deadline 过期时间点（毫秒时间戳）
+     */
+    void schedule(T target, long deadline) {
+        pending.add(new Timeout<>(target, deadline));
+    }
+
+    private void run() {
+        long nextTick = startTime + tickMillis;
+        while (running) {
+            long sleep = nextTick - System.currentTimeMillis();
+            if (sleep > 0) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(sleep);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            transferPending();
+            expireCurrentBucket();
+            tick++;
+            nextTick += tickMillis;
+        }
+    }
+
+    private void transferPending() {
+        Timeout<T> timeout;
+        while ((timeout = pending.poll()) != null) {
+            long ticks = Math.max((timeout.deadline - startTime) / tickMillis, tick);
+            timeout.remainingRounds = (ticks - tick) / wheel.length;
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void expireCurrentBucket() {
+        Iterator<Timeout<T>> iterator = wheel[(int) (tick & mask)].iterator();
+        while (iterator.hasNext()) {
+            Timeout<T> timeout = iterator.next();
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                continue;
+            }
+            iterator.remove();
+            try {
+                expireAction.accept(timeout.target);
+            } catch (RuntimeException e) {
+                log.warn("Timer wheel expire action failed", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private static final class Timeout<T> {
+        private final T target;
+        private final long deadline;
+        private long remainingRounds;
+
+        private Timeout(T target, long deadline) {
+            this.target = target;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.renhaowan.multilogin.core.service.code.impl;
+
+import io.github.renhaowan.multilogin.core.service.code.VerificationCodeResult;
+import io.github.renhaowan.multilogin.core.service.code.VerificationCodeStore;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 内存验证码存储
+ * 以 登录方式 + 主体 为键存放在 ConcurrentHashMap 中，过期清理由单个哈希时间轮统一驱动；
+ * 校验时同样按过期时间判断，时间轮只负责回收内存，精度不影响正确性。
+ *
+ * @author wan
+ */
+public class InMemoryVerificationCodeStore implements VerificationCodeStore, AutoCloseable {
+
+    private final ConcurrentMap<String, CodeEntry> codes = new ConcurrentHashMap<>();
+    private final HashedTimerWheel<CodeEntry> timerWheel;
+    private final int maxAttempts;
+
+    /**
+     * 构造内存验证码存储
+     *
+     * @param maxAttempts  单个验证码允许的最大校验次数
+     * @param tickDuration 时间轮每格时长
+     * @param wheelSize    时间轮格数
+     */
+    public InMemoryVerificationCodeStore(int maxAttempts, Duration tickDuration, int wheelSize) {
+        this.maxAttempts = maxAttempts;
+        this.timerWheel = new HashedTimerWheel<>("multi-login-code-expiry", tickDuration.toMillis(), wheelSize,
+                entry -> codes.remove(entry.key, entry));
+    }
+
+    @Override
+    public void save(String loginMethod, String principal, String code, Duration ttl) {
+        String key = key(loginMethod, principal);
+        CodeEntry entry = new CodeEntry(key, code, System.currentTimeMillis() + ttl.toMillis());
+        codes.put(key, entry);
+        timerWheel.schedule(entry, entry.expireAt);
+    }
+
+    @Override
+    public VerificationCodeResult verify(String loginMethod, String principal, String code) {
+        String key = key(loginMethod, principal);
+        CodeEntry entry = codes.get(key);
+        if (entry == null) {
+            return VerificationCodeResult.NOT_FOUND;
+        }
+        if (entry.expireAt <= System.currentTimeMillis()) {
+            codes.remove(key, entry);
+            return VerificationCodeResult.EXPIRED;
+        }
+        // 先计数再比较，超过上限后即使验证码正确也不再放行
+        int attempts = entry.attempts.incrementAndGet();
+        if (attempts > maxAttempts) {
+            codes.remove(key, entry);
+            return VerificationCodeResult.TOO_MANY_ATTEMPTS;
+        }
+        if (!entry.matches(code)) {
+            if (attempts == maxAttempts) {
+                codes.remove(key, entry);
+            }
+            return VerificationCodeResult.MISMATCH;
+        }
+        // 一次性消费：并发校验时只有一个请求能移除成功
+        return codes.remove(key, entry) ? VerificationCodeResult.SUCCESS : VerificationCodeResult.NOT_FOUND;
+    }
+
+    @Override
+    public void remove(String loginMethod, String principal) {
+        codes.remove(key(loginMethod, principal));
+    }
+
+    @Override
+    public void close() {
+        timerWheel.close();
+        codes.clear();
+    }
+
+    private static String key(String loginMethod, String principal) {
+        return loginMethod + ':' + principal;
+    }
+
+    private static final class CodeEntry {
+        private final String key;
+        private final byte[] code;
+        private final long expireAt;
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        private CodeEntry(String key, String code, long expireAt) {
+            this.key = key;
+            this.code = code.getBytes(StandardCharsets.UTF_8);
+            this.expireAt = expireAt;
+        }
+
+        private boolean matches(String candidate) {
+            // 定长比较，避免通过响应时间逐位猜测验证码
+            return candidate != null && MessageDigest.isEqual(code, candidate.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
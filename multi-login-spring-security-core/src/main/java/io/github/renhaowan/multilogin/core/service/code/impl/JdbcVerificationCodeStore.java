@@ -0,0 +1,135 @@
+package io.github.renhaowan.multilogin.core.service.code.impl;
+
+import io.github.renhaowan.multilogin.core.jdbc.JdbcTables;
+import io.github.renhaowan.multilogin.core.service.code.VerificationCodeResult;
+import io.github.renhaowan.multilogin.core.service.code.VerificationCodeStore;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * JDBC 验证码存储
+ * 适用于多实例部署，所有节点共享同一张验证码表。表结构见 {@link #CREATE_TABLE_SQL}。
+ * 校验成功通过带条件的 DELETE 完成消费，多节点并发校验同一验证码时只有一个能成功；
+ * 保存先 UPDATE 再 INSERT，插入遇到主键冲突（并发发送）时再 UPDATE 一次，不需要事务或方言相关的 UPSERT 语法。
+ *
+ * @author wan
+ */
+public class JdbcVerificationCodeStore implements VerificationCodeStore {
+
+    /**
+     * 默认建表语句，%s 为表名
+     */
+    public static final String CREATE_TABLE_SQL = "CREATE TABLE %s ("
+            + "login_method VARCHAR(64) NOT NULL, "
+            + "principal VARCHAR(128) NOT NULL, "
+            + "code VARCHAR(64) NOT NULL, "
+            + "expire_at BIGINT NOT NULL, "
+            + "attempts INT NOT NULL, "
+            + "PRIMARY KEY (login_method, principal))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxAttempts;
+
+    private final String insertSql;
+    private final String replaceSql;
+    private final String deleteSql;
+    private final String discardSql;
+    private final String countAttemptSql;
+    private final String consumeSql;
+    private final String selectSql;
+    private final String purgeSql;
+
+    /**
+     * 构造 JDBC 验证码存储
+     *
+     * @param jdbcTemplate JdbcTemplate
+     * @param tableName    表名
+     * @param maxAttempts  单个验证码允许的最大校验次数
+     */
+    public JdbcVerificationCodeStore(JdbcTemplate jdbcTemplate, String tableName, int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxAttempts = maxAttempts;
+        this.insertSql = "INSERT INTO " + tableName
+                + " (login_method, principal, code, expire_at, attempts) VALUES (?, ?, ?, ?, 0)";
+        this.replaceSql = "UPDATE " + tableName + " SET code = ?, expire_at = ?, attempts = 0"
+                + " WHERE login_method = ? AND principal = ?";
+        this.deleteSql = "DELETE FROM " + tableName + " WHERE login_method = ? AND principal = ?";
+        this.discardSql = "DELETE FROM " + tableName
+                + " WHERE login_method = ? AND principal = ? AND (expire_at <= ? OR attempts >= ?)";
+        this.countAttemptSql = "UPDATE " + tableName + " SET attempts = attempts + 1"
+                + " WHERE login_method = ? AND principal = ? AND expire_at > ? AND attempts < ?";
+        this.consumeSql = "DELETE FROM " + tableName
+                + " WHERE login_method = ? AND principal = ? AND code = ? AND expire_at > ?";
+        this.selectSql = "SELECT expire_at, attempts FROM " + tableName + " WHERE login_method = ? AND principal = ?";
+        this.purgeSql = "DELETE FROM " + tableName + " WHERE expire_at <= ?";
+    }
+
+    /**
+     * 建表，表已存在时跳过
+     *
+     * @param tableName 表名
+     */
+    public void createTable(String tableName) {
+        JdbcTables.createIfAbsent(jdbcTemplate, tableName, String.format(CREATE_TABLE_SQL, tableName));
+    }
+
+    @Override
+    public void save(String loginMethod, String principal, String code, Duration ttl) {
+        long expireAt = System.currentTimeMillis() + ttl.toMillis();
+        if (jdbcTemplate.update(replaceSql, code, expireAt, loginMethod, principal) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(insertSql, loginMethod, principal, code, expireAt);
+        } catch (DuplicateKeyException e) {
+            // 并发发送时另一个请求先插入了，以后到的验证码为准
+            jdbcTemplate.update(replaceSql, code, expireAt, loginMethod, principal);
+        }
+    }
+
+    @Override
+    public VerificationCodeResult verify(String loginMethod, String principal, String code) {
+        long now = System.currentTimeMillis();
+        // 计数与次数上限判断在一条 UPDATE 中完成，避免多节点并发绕过上限
+        if (jdbcTemplate.update(countAttemptSql, loginMethod, principal, now, maxAttempts) == 0) {
+            return classifyRejected(loginMethod, principal, now);
+        }
+        if (code != null && jdbcTemplate.update(consumeSql, loginMethod, principal, code, now) == 1) {
+            return VerificationCodeResult.SUCCESS;
+        }
+        return VerificationCodeResult.MISMATCH;
+    }
+
+    @Override
+    public void remove(String loginMethod, String principal) {
+        jdbcTemplate.update(deleteSql, loginMethod, principal);
+    }
+
+    /**
+     * 清理已过期的验证码，可由业务方定时调用
+     *
+     * @return 清理条数
+     */
+    public int purgeExpired() {
+        return jdbcTemplate.update(purgeSql, System.currentTimeMillis());
+    }
+
+    private VerificationCodeResult classifyRejected(String loginMethod, String principal, long now) {
+        List<long[]> rows = jdbcTemplate.query(selectSql,
+                (rs, rowNum) -> new long[]{rs.getLong("expire_at"), rs.getInt("attempts")}, loginMethod, principal);
+        if (rows.isEmpty()) {
+            return VerificationCodeResult.NOT_FOUND;
+        }
+        long expireAt = rows.get(0)[0];
+        if (expireAt > now && rows.get(0)[1] < maxAttempts) {
+            // 计数失败后验证码被重新发送，本次按不匹配处理
+            return VerificationCodeResult.MISMATCH;
+        }
+        // 已过期或次数用尽的验证码直接作废；带条件删除，不会误删期间重新发送的验证码
+        jdbcTemplate.update(discardSql, loginMethod, principal, now, maxAttempts);
+        return expireAt <= now ? VerificationCodeResult.EXPIRED : VerificationCodeResult.TOO_MANY_ATTEMPTS;
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.renhaowan.multilogin.core.service.existence;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * 主体全量加载器（SPI）
+ * 启动时用于为存在性过滤器灌入全部已有主体，建议分页流式读取，避免一次性载入内存。
+ *
+ * @author wan
+ */
+public interface PrincipalBulkLoader {
+
+    /**
+     * 加载指定登录方式的全部主体
+     *
+     * @param loginMethod 登录方式名称
+     * @param sink        接收主体的回调，多个主体参数时需与 PrincipalExistenceFilterRegistry.principalKey 的拼接规则一致
+     */
+    void load(String loginMethod, Consumer<String> sink);
+
+    /**
+     * 增量加载指定时间之后新增的主体，从快照恢复后用于补齐本节点停机期间其他节点注册的主体
+     *
+     * @param loginMethod 登录方式名称
+     * @param since       起始时间（已预留时钟偏差余量）
+     * @param sink        接收主体的回调
+     * @return 是否支持增量加载；返回 false 时恢复的过滤器在后台全量补齐完成前不拒绝任何主体
+     */
+    default boolean loadSince(String loginMethod, Instant since, Consumer<String> sink) {
+        return false;
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.renhaowan.multilogin.core.service.existence;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 主体存在性过滤器
+ * 概率型结构：返回 false 表示主体一定不存在，返回 true 表示可能存在。
+ *
+ * @author wan
+ */
+public interface PrincipalExistenceFilter {
+
+    /**
+     * 判断主体是否可能存在
+     *
+     * @param principal 主体（如手机号、邮箱、用户名）
+     * @return false 表示一定不存在
+     */
+    boolean mightContain(String principal);
+
+    /**
+     * 加入主体（新用户注册时增量调用）
+     *
+     * @param principal 主体
+     */
+    void put(String principal);
+
+    /**
+     * 将当前状态写入快照文件
+     *
+     * @param path 快照文件路径
+     * @throws IOException 写入失败
+     */
+    void writeSnapshot(Path path) throws IOException;
+}
@@ -0,0 +1,212 @@
+package io.github.renhaowan.multilogin.core.service.existence;
+
+import io.github.renhaowan.multilogin.core.properties.config.ExistenceFilterConfig;
+import io.github.renhaowan.multilogin.core.service.existence.impl.BloomPrincipalExistenceFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 主体存在性过滤器注册中心
+ * 启动时按登录方式优先从快照恢复过滤器，快照不存在或过期时调用 PrincipalBulkLoader 全量加载；
+ * 快照恢复后先补齐快照之后新增的主体（本节点停机期间其他节点注册的用户）再信任“一定不存在”：
+ * 加载器支持 loadSince 时同步增量补齐，否则在后台全量补齐，完成前不拒绝任何主体；
+ * 运行期新用户注册后需调用 {@link #put(String, Object...)} 增量加入（集群部署时每个节点都要收到）；
+ * 关闭时写回快照。
+ *
+ * @author wan
+ */
+@Slf4j
+public class PrincipalExistenceFilterRegistry implements AutoCloseable {
+
+    /**
+     * 增量补齐的起始时间比快照写入时间提前的余量，覆盖节点间的时钟偏差与快照写入期间的注册
+     */
+    private static final Duration CATCH_UP_MARGIN = Duration.ofMinutes(5);
+
+    private final Map<String, PrincipalExistenceFilter> filters = new ConcurrentHashMap<>();
+    private final Map<String, Path> snapshotPaths = new ConcurrentHashMap<>();
+
+    /**
+     * 初始化指定登录方式的过滤器
+     *
+     * @param loginMethod 登录方式名称
+     * @param config      过滤器配置
+     * @param loader      全量加载器
+     * @return 过滤器
+     */
+    public PrincipalExistenceFilter initialize(String loginMethod, ExistenceFilterConfig config, PrincipalBulkLoader loader) {
+        return filters.computeIfAbsent(loginMethod, method -> {
+            Path snapshot = StringUtils.hasText(config.getSnapshotPath()) ? Paths.get(config.getSnapshotPath()) : null;
+            if (snapshot != null) {
+                snapshotPaths.put(method, snapshot);
+                PrincipalExistenceFilter restored = restore(method, snapshot, config.getSnapshotMaxAge());
+                if (restored != null) {
+                    return catchUp(method, restored, snapshot, loader);
+                }
+            }
+
+            BloomPrincipalExistenceFilter filter = new BloomPrincipalExistenceFilter(
+                    config.getExpectedInsertions(), config.getFalsePositiveProbability());
+            long start = System.currentTimeMillis();
+            loader.load(method, filter::put);
+            log.info("Principal existence filter for [{}] loaded in {} ms", method, System.currentTimeMillis() - start);
+            if (snapshot != null) {
+                writeSnapshot(method, filter, snapshot);
+            }
+            return filter;
+        });
+    }
+
+    /**
+     * 新增主体（如新用户注册）
+     *
+     * @param loginMethod     登录方式名称
+     * @param principalValues 主体参数值，顺序与 principalParamName 配置一致
+     */
+    public void put(String loginMethod, Object... principalValues) {
+        PrincipalExistenceFilter filter = filters.get(loginMethod);
+        if (filter != null) {
+            filter.put(principalKey(principalValues));
+        }
+    }
+
+    /**
+     * 移除登录方式的过滤器（如租户登录方案被淘汰时释放内存），不写快照
+     *
+     * @param loginMethod 登录方式名称
+     */
+    public void remove(String loginMethod) {
+        filters.remove(loginMethod);
+        snapshotPaths.remove(loginMethod);
+    }
+
+    /**
+     * 将所有过滤器写入快照
+     */
+    public void snapshotAll() {
+        snapshotPaths.forEach((method, path) -> {
+            PrincipalExistenceFilter filter = filters.get(method);
+            if (filter != null) {
+                writeSnapshot(method, filter, path);
+            }
+        });
+    }
+
+    /**
+     * 由主体参数值构建过滤器 key：单个主体参数即其字符串值，多个时以冒号拼接
+     *
+     * @param principalValues 主体参数值
+     * @return 过滤器 key
+     */
+    public static String principalKey(Object... principalValues) {
+        if (principalValues.length == 1) {
+            return String.valueOf(principalValues[0]);
+        }
+        return Stream.of(principalValues).map(String::valueOf).collect(Collectors.joining(":"));
+    }
+
+    @Override
+    public void close() {
+        snapshotAll();
+    }
+
+    /**
+     * 补齐快照之后新增的主体
+     */
+    private PrincipalExistenceFilter catchUp(String method, PrincipalExistenceFilter restored, Path snapshot,
+                                             PrincipalBulkLoader loader) {
+        Instant since;
+        try {
+            since = Files.getLastModifiedTime(snapshot).toInstant().minus(CATCH_UP_MARGIN);
+        } catch (IOException e) {
+            since = Instant.EPOCH;
+        }
+        try {
+            if (loader.loadSince(method, since, restored::put)) {
+                log.info("Principal existence filter for [{}] restored from snapshot and caught up since {}", method, since);
+                return restored;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Incremental catch-up of principal existence filter for [{}] failed, reseeding in background", method, e);
+        }
+        ReseedingFilter reseeding = new ReseedingFilter(restored);
+        Thread thread = new Thread(() -> {
+            long start = System.currentTimeMillis();
+            try {
+                loader.load(method, restored::put);
+                reseeding.ready = true;
+                log.info("Principal existence filter for [{}] reseeded in {} ms", method, System.currentTimeMillis() - start);
+                writeSnapshot(method, restored, snapshot);
+            } catch (RuntimeException e) {
+                log.warn("Reseeding principal existence filter for [{}] failed, filter stays open", method, e);
+            }
+        }, "multi-login-existence-reseed-" + method);
+        thread.setDaemon(true);
+        thread.start();
+        return reseeding;
+    }
+
+    private PrincipalExistenceFilter restore(String method, Path snapshot, Duration maxAge) {
+        if (!Files.isRegularFile(snapshot)) {
+            return null;
+        }
+        try {
+            long age = System.currentTimeMillis() - Files.getLastModifiedTime(snapshot).toMillis();
+            if (maxAge != null && age > maxAge.toMillis()) {
+                log.info("Principal existence filter snapshot for [{}] is stale, reloading", method);
+                return null;
+            }
+            return BloomPrincipalExistenceFilter.readSnapshot(snapshot);
+        } catch (IOException e) {
+            log.warn("Failed to restore principal existence filter snapshot: {}", snapshot, e);
+            return null;
+        }
+    }
+
+    private void writeSnapshot(String method, PrincipalExistenceFilter filter, Path path) {
+        try {
+            filter.writeSnapshot(path);
+        } catch (IOException e) {
+            log.warn("Failed to write principal existence filter snapshot for [{}]: {}", method, path, e);
+        }
+    }
+
+    /**
+     * 后台全量补齐期间的过滤器：补齐完成前任何主体都视为可能存在（放行），新增主体直接写入恢复的过滤器
+     */
+    private static final class ReseedingFilter implements PrincipalExistenceFilter {
+
+        private final PrincipalExistenceFilter delegate;
+        private volatile boolean ready;
+
+        private ReseedingFilter(PrincipalExistenceFilter delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean mightContain(String principal) {
+            return !ready || delegate.mightContain(principal);
+        }
+
+        @Override
+        public void put(String principal) {
+            delegate.put(principal);
+        }
+
+        @Override
+        public void writeSnapshot(Path path) throws IOException {
+            delegate.writeSnapshot(path);
+        }
+    }
+}
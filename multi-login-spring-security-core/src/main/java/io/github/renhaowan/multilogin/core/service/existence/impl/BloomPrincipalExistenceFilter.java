@@ -0,0 +1,146 @@
+package io.github.renhaowan.multilogin.core.service.existence.impl;
+
+import io.github.renhaowan.multilogin.core.service.existence.PrincipalExistenceFilter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 布隆过滤器实现
+ * 位图使用 AtomicLongArray，读无锁、写通过 CAS 置位，支持运行期并发增量加入。
+ * 快照为紧凑的二进制格式，写入临时文件后原子替换。
+ *
+ * @author wan
+ */
+public class BloomPrincipalExistenceFilter implements PrincipalExistenceFilter {
+
+    private static final int SNAPSHOT_MAGIC = 0x4D4C4246;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int numHashes;
+
+    /**
+     * 按预计数量和误判率构造
+     *
+     * @param expectedInsertions       预计主体数量
+     * @param falsePositiveProbability 期望误判率
+     */
+    public BloomPrincipalExistenceFilter(long expectedInsertions, double falsePositiveProbability) {
+        long n = Math.max(expectedInsertions, 1);
+        double p = Math.min(Math.max(falsePositiveProbability, Double.MIN_VALUE), 0.5);
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) >>> 6);
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words << 6;
+        this.numHashes = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+    }
+
+    private BloomPrincipalExistenceFilter(AtomicLongArray bits, int numHashes) {
+        this.bits = bits;
+        this.bitSize = (long) bits.length() << 6;
+        this.numHashes = numHashes;
+    }
+
+    /**
+     * 从快照文件恢复
+     *
+     * @param path 快照文件路径
+     * @return 布隆过滤器
+     * @throws IOException 文件不存在或格式不正确
+     */
+    public static BloomPrincipalExistenceFilter readSnapshot(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Not a principal existence filter snapshot: " + path);
+            }
+            int numHashes = in.readInt();
+            int words = in.readInt();
+            AtomicLongArray bits = new AtomicLongArray(words);
+            for (int i = 0; i < words; i++) {
+                bits.set(i, in.readLong());
+            }
+            return new BloomPrincipalExistenceFilter(bits, numHashes);
+        }
+    }
+
+    @Override
+    public boolean mightContain(String principal) {
+        long hash = hash(principal);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long index = ((h1 + i * h2) & Long.MAX_VALUE) % bitSize;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void put(String principal) {
+        long hash = hash(principal);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long index = ((h1 + i * h2) & Long.MAX_VALUE) % bitSize;
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            while (((current = bits.get(word)) & mask) == 0) {
+                if (bits.compareAndSet(word, current, current | mask)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void writeSnapshot(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(numHashes);
+            out.writeInt(bits.length());
+            for (int i = 0; i < bits.length(); i++) {
+                out.writeLong(bits.get(i));
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * FNV-1a 64 位哈希，直接按字符计算，不产生中间字节数组
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /**
+     * SplitMix64 终结函数，打散 FNV 结果的低位相关性
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
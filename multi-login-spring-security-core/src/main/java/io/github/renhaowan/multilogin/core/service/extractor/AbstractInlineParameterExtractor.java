@@ -2,9 +2,13 @@ package io.github.renhaowan.multilogin.core.service.extractor;
 
 import io.github.renhaowan.multilogin.core.properties.config.LoginMethodConfig;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
 import lombok.Setter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.util.CollectionUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
@@ -13,6 +17,7 @@ import java.util.Set;
 /**
  * 抽象框架内置参数提取器
  * 内置参数提取器从配置中封装参数。
+ * 带 Content-Encoding: gzip / deflate 的请求体经 {@link #openBody} 边读边解压。
  *
  * @author wan
  */
@@ -24,6 +29,23 @@ public abstract class AbstractInlineParameterExtractor implements ParameterExtra
      */
     protected LoginMethodConfig config;
 
+    /**
+     * 请求体最大字节数，压缩时为压缩后的大小
+     */
+    @Getter
+    private long maxBodySize = 64 * 1024;
+
+    /**
+     * 压缩的请求体解压后的最大字节数
+     */
+    @Getter
+    private long maxInflatedBodySize = 512 * 1024;
+
+    /**
+     * 压缩的请求体允许的最大压缩比
+     */
+    @Getter
+    private int maxCompressionRatio = 50;
 
     /**
      * 对外暴露的统一入口（通用流程）
@@ -53,6 +75,23 @@ public abstract class AbstractInlineParameterExtractor implements ParameterExtra
     }
 
 
+    /**
+     * 打开请求体：未压缩时原样返回；gzip / deflate 时返回有界的解压流，压缩字节数、解压字节数与压缩比超限时读取抛出
+     * {@link InflatingInputStream.LimitExceededException}
+     *
+     * @param request HTTP请求对象
+     * @param body    请求体输入流
+     * @return 可直接交给解析器的输入流
+     * @throws IOException 压缩头格式错误或读取失败
+     */
+    protected InputStream openBody(HttpServletRequest request, InputStream body) throws IOException {
+        String contentEncoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (InflatingInputStream.isIdentity(contentEncoding)) {
+            return body;
+        }
+        return InflatingInputStream.open(contentEncoding, body, maxBodySize, maxInflatedBodySize, maxCompressionRatio);
+    }
+
     /**
      * 模板方法：子类实现具体的参数提取逻辑
      * @param request HTTP请求对象
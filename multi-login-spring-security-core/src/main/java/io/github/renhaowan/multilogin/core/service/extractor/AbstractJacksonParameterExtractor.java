@@ -0,0 +1,167 @@
+package io.github.renhaowan.multilogin.core.service.extractor;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.renhaowan.multilogin.core.exception.InvalidLoginPayloadException;
+import io.github.renhaowan.multilogin.core.exception.LoginPayloadTooLargeException;
+import io.github.renhaowan.multilogin.core.exception.UnsupportedLoginMediaTypeException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 基于 Jackson 流式解析的参数提取器（JSON、CBOR、Smile、MessagePack 共用）
+ * 逐个读取顶层字段，只物化需要的参数，其余字段整体跳过；所需参数全部读到后即停止解析。
+ * 请求体超过 maxBodySize 时抛出 LoginPayloadTooLargeException，格式错误时抛出 InvalidLoginPayloadException，
+ * Content-Type 不受支持时抛出 UnsupportedLoginMediaTypeException（415）。
+ * 参数值语义与按 Map 反序列化一致：字符串、数字、布尔按原类型，对象/数组为 Map/List，二进制为 byte[]，
+ * null 值不放入结果；重复字段以首次出现为准。
+ *
+ * @author wan
+ */
+public abstract class AbstractJacksonParameterExtractor extends AbstractInlineParameterExtractor {
+
+    /**
+     * 对应格式的 ObjectMapper，用于解析嵌套对象/数组，也供预热生成请求体
+     */
+    @Getter
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 支持的请求体类型
+     */
+    @Getter
+    private final List<MediaType> supportedMediaTypes;
+    private final Set<String> supportedMediaTypeKeys;
+
+    protected AbstractJacksonParameterExtractor(ObjectMapper objectMapper, MediaType... supportedMediaTypes) {
+        this.objectMapper = objectMapper;
+        this.supportedMediaTypes = List.of(supportedMediaTypes);
+        this.supportedMediaTypeKeys = this.supportedMediaTypes.stream()
+                .map(mediaType -> ContentNegotiatingParameterExtractor.mediaTypeKey(mediaType.toString()))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    protected Map<String, Object> doExtractParameters(HttpServletRequest request, Set<String> paramNames) {
+        if (!supports(request.getContentType())) {
+            throw new UnsupportedLoginMediaTypeException("Unsupported login content type: " + request.getContentType());
+        }
+        long maxBodySize = getMaxBodySize();
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > maxBodySize) {
+            throw new LoginPayloadTooLargeException("Login payload exceeds " + maxBodySize + " bytes");
+        }
+
+        Map<String, Object> params = new HashMap<>();
+        try (JsonParser parser = objectMapper.createParser(
+                openBody(request, new LimitedInputStream(request.getInputStream(), maxBodySize)))) {
+            readSelectedFields(parser, paramNames, params);
+        } catch (PayloadLimitExceededException e) {
+            throw new LoginPayloadTooLargeException("Login payload exceeds " + maxBodySize + " bytes");
+        } catch (InflatingInputStream.LimitExceededException e) {
+            throw new LoginPayloadTooLargeException(e.getMessage());
+        } catch (IOException e) {
+            throw new InvalidLoginPayloadException("Malformed login payload", e);
+        }
+        return params;
+    }
+
+    /**
+     * 判断请求体类型是否受支持
+     *
+     * @param contentType 请求的 Content-Type
+     * @return 是否支持
+     */
+    public boolean supports(String contentType) {
+        return StringUtils.hasText(contentType)
+                && supportedMediaTypeKeys.contains(ContentNegotiatingParameterExtractor.mediaTypeKey(contentType));
+    }
+
+    private void readSelectedFields(JsonParser parser, Set<String> paramNames, Map<String, Object> params) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Login payload must be an object");
+        }
+        Set<String> seen = new HashSet<>();
+        int remaining = paramNames.size();
+        while (remaining > 0 && parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+            if (!paramNames.contains(name) || !seen.add(name)) {
+                parser.skipChildren();
+                continue;
+            }
+            remaining--;
+            Object value = readValue(parser, valueToken);
+            if (value != null) {
+                params.put(name, value);
+            }
+        }
+    }
+
+    private Object readValue(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue();
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_EMBEDDED_OBJECT -> parser.getEmbeddedObject();
+            case START_OBJECT, START_ARRAY -> objectMapper.readValue(parser, Object.class);
+            default -> null;
+        };
+    }
+
+    /**
+     * 读取超过上限时中断解析
+     */
+    private static final class PayloadLimitExceededException extends IOException {
+        private PayloadLimitExceededException() {
+            super("Login payload too large");
+        }
+    }
+
+    /**
+     * 限制读取字节数的输入流
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private long remaining;
+
+        private LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0 && --remaining < 0) {
+                throw new PayloadLimitExceededException();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                remaining -= n;
+                if (remaining < 0) {
+                    throw new PayloadLimitExceededException();
+                }
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.renhaowan.multilogin.core.service.extractor;
+
+import io.github.renhaowan.multilogin.core.exception.UnsupportedLoginMediaTypeException;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 按 Content-Type 分派的组合参数提取器
+ * 启动时由 媒体类型 -> 提取器 的映射编译出分派表，运行期只做一次 type/subtype 截取与哈希查找；
+ * 无 Content-Type 的请求按表单（查询参数）处理，未映射的类型抛出 UnsupportedLoginMediaTypeException（415）。
+ *
+ * @author wan
+ */
+public class ContentNegotiatingParameterExtractor implements ParameterExtractor {
+
+    public static final String FORM_URLENCODED = "application/x-www-form-urlencoded";
+
+    /**
+     * 默认映射：媒体类型 -> 提取器 Bean 名称，容器中不存在的 Bean 会被忽略
+     */
+    public static final Map<String, String> DEFAULT_MAPPINGS;
+
+    static {
+        Map<String, String> mappings = new LinkedHashMap<>();
+        mappings.put("application/json", "jsonParameterExtractor");
+        mappings.put("application/vnd.api+json", "jsonParameterExtractor");
+        mappings.put(FORM_URLENCODED, "formParameterExtractor");
+        mappings.put("multipart/form-data", "formParameterExtractor");
+        mappings.put("application/cbor", "cborParameterExtractor");
+        mappings.put("application/x-jackson-smile", "smileParameterExtractor");
+        mappings.put("application/msgpack", "messagePackParameterExtractor");
+        mappings.put("application/x-msgpack", "messagePackParameterExtractor");
+        DEFAULT_MAPPINGS = Collections.unmodifiableMap(mappings);
+    }
+
+    private final Map<String, ParameterExtractor> dispatchTable = new HashMap<>();
+
+    /**
+     * 注册媒体类型对应的提取器，仅在启动阶段调用
+     *
+     * @param mediaType 媒体类型（type/subtype）
+     * @param extractor 提取器
+     */
+    public void register(String mediaType, ParameterExtractor extractor) {
+        dispatchTable.put(mediaTypeKey(mediaType), extractor);
+    }
+
+    /**
+     * @return 已注册的媒体类型
+     */
+    public Map<String, ParameterExtractor> getDispatchTable() {
+        return Collections.unmodifiableMap(dispatchTable);
+    }
+
+    @Override
+    public Map<String, Object> extractParameters(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        String key = contentType == null ? FORM_URLENCODED : mediaTypeKey(contentType);
+        ParameterExtractor extractor = dispatchTable.get(key);
+        if (extractor == null) {
+            throw new UnsupportedLoginMediaTypeException("Unsupported login content type: " + key);
+        }
+        return extractor.extractParameters(request);
+    }
+
+    /**
+     * 截取 Content-Type 的 type/subtype 部分并转为小写，不解析参数
+     *
+     * @param contentType Content-Type 请求头
+     * @return type/subtype
+     */
+    public static String mediaTypeKey(String contentType) {
+        int end = contentType.indexOf(';');
+        String mediaType = (end < 0 ? contentType : contentType.substring(0, end)).trim();
+        return mediaType.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,331 @@
+package io.github.renhaowan.multilogin.core.service.extractor;
+
+import io.github.renhaowan.multilogin.core.exception.UnsupportedLoginMediaTypeException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * 有界的 gzip / deflate 解压输入流
+ * 解压结果直接写入调用方（流式解析器）的缓冲区，不生成完整请求体的中间数组；Inflater 与输入缓冲区从池中复用。
+ * 同时限制读取的压缩字节数、解压后的字节数与压缩比，超出时抛出 {@link LimitExceededException}，防御解压炸弹。
+ * deflate 同时接受 zlib 封装（RFC 1950）与裸 deflate（RFC 1951）；gzip、zlib 尾部的校验和会被校验。
+ *
+ * @author wan
+ */
+public final class InflatingInputStream extends InputStream {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * 解压字节数低于该值时不检查压缩比，避免小请求体因头部开销被误判
+     */
+    private static final long RATIO_CHECK_FLOOR = 16 * 1024;
+
+    private static final BlockingQueue<PooledInflater> POOL =
+            new ArrayBlockingQueue<>(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+
+    private final InputStream in;
+    private final long maxCompressedSize;
+    private final long maxInflatedSize;
+    private final int maxRatio;
+    private final boolean gzip;
+
+    private PooledInflater pooled;
+    private Inflater inflater;
+    private byte[] buffer;
+    private int position;
+    private int limit;
+    private Checksum checksum;
+    private long compressed;
+    private long inflated;
+    private boolean finished;
+
+    private InflatingInputStream(InputStream in, boolean gzip, long maxCompressedSize, long maxInflatedSize, int maxRatio) {
+        this.in = in;
+        this.gzip = gzip;
+        this.maxCompressedSize = maxCompressedSize;
+        this.maxInflatedSize = maxInflatedSize;
+        this.maxRatio = maxRatio;
+        PooledInflater acquired = POOL.poll();
+        this.pooled = acquired != null ? acquired : new PooledInflater();
+        this.inflater = pooled.inflater;
+        this.buffer = pooled.buffer;
+    }
+
+    /**
+     * 判断 Content-Encoding 是否表示未压缩
+     *
+     * @param contentEncoding 请求的 Content-Encoding
+     * @return 是否未压缩
+     */
+    public static boolean isIdentity(String contentEncoding) {
+        return contentEncoding == null || contentEncoding.isBlank() || "identity".equalsIgnoreCase(contentEncoding.trim());
+    }
+
+    /**
+     * 按 Content-Encoding 打开解压流
+     *
+     * @param contentEncoding   请求的 Content-Encoding（gzip、x-gzip 或 deflate）
+     * @param in                压缩的请求体
+     * @param maxCompressedSize 最多读取的压缩字节数
+     * @param maxInflatedSize   解压后的最大字节数
+     * @param maxRatio          最大压缩比
+     * @return 解压流，关闭时归还 Inflater
+     * @throws IOException 压缩头格式错误或读取失败
+     */
+    public static InflatingInputStream open(String contentEncoding, InputStream in, long maxCompressedSize,
+                                            long maxInflatedSize, int maxRatio) throws IOException {
+        String encoding = contentEncoding.trim();
+        boolean gzip = "gzip".equalsIgnoreCase(encoding) || "x-gzip".equalsIgnoreCase(encoding);
+        if (!gzip && !"deflate".equalsIgnoreCase(encoding)) {
+            throw new UnsupportedLoginMediaTypeException("Unsupported login content encoding: " + contentEncoding);
+        }
+        InflatingInputStream stream = new InflatingInputStream(in, gzip, maxCompressedSize, maxInflatedSize, maxRatio);
+        try {
+            stream.readHeader();
+        } catch (IOException | RuntimeException e) {
+            stream.release();
+            throw e;
+        }
+        return stream;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        int n = read(single, 0, 1);
+        return n < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (finished || inflater == null) {
+            return -1;
+        }
+        if (len == 0) {
+            return 0;
+        }
+        while (true) {
+            int n;
+            try {
+                n = inflater.inflate(b, off, len);
+            } catch (DataFormatException e) {
+                throw new ZipException("Malformed compressed login payload: " + e.getMessage());
+            }
+            if (n > 0) {
+                inflated += n;
+                if (checksum != null) {
+                    checksum.update(b, off, n);
+                }
+                checkLimits();
+                return n;
+            }
+            if (inflater.finished()) {
+                position = limit - inflater.getRemaining();
+                readTrailer();
+                finished = true;
+                release();
+                return -1;
+            }
+            if (inflater.needsDictionary()) {
+                throw new ZipException("Preset deflate dictionaries are not supported");
+            }
+            if (inflater.needsInput()) {
+                position = limit;
+                fill();
+                inflater.setInput(buffer, position, limit - position);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        release();
+        in.close();
+    }
+
+    /**
+     * @return 已读取的压缩字节数
+     */
+    public long getCompressedSize() {
+        return compressed;
+    }
+
+    /**
+     * @return 已解压的字节数
+     */
+    public long getInflatedSize() {
+        return inflated;
+    }
+
+    private void checkLimits() throws LimitExceededException {
+        if (inflated > maxInflatedSize) {
+            throw new LimitExceededException("Decompressed login payload exceeds " + maxInflatedSize + " bytes");
+        }
+        if (inflated > RATIO_CHECK_FLOOR && inflated > (long) maxRatio * compressed) {
+            throw new LimitExceededException("Login payload compression ratio exceeds " + maxRatio);
+        }
+    }
+
+    private void readHeader() throws IOException {
+        if (gzip) {
+            readGzipHeader();
+            checksum = new CRC32();
+        } else if (isZlibHeader()) {
+            readByte();
+            if ((readByte() & 0x20) != 0) {
+                throw new ZipException("Preset deflate dictionaries are not supported");
+            }
+            checksum = new Adler32();
+        }
+        inflater.setInput(buffer, position, limit - position);
+    }
+
+    private void readGzipHeader() throws IOException {
+        if (readByte() != 0x1F || readByte() != 0x8B) {
+            throw new ZipException("Not in gzip format");
+        }
+        if (readByte() != 8) {
+            throw new ZipException("Unsupported gzip compression method");
+        }
+        int flags = readByte();
+        // MTIME(4)、XFL、OS
+        skip(6);
+        if ((flags & 0x04) != 0) {
+            skip(readByte() | (readByte() << 8));
+        }
+        if ((flags & 0x08) != 0) {
+            skipZeroTerminated();
+        }
+        if ((flags & 0x10) != 0) {
+            skipZeroTerminated();
+        }
+        if ((flags & 0x02) != 0) {
+            skip(2);
+        }
+    }
+
+    /**
+     * zlib 头：CM 为 8，CINFO 不超过 7，且两个字节组成的值是 31 的倍数
+     */
+    private boolean isZlibHeader() throws IOException {
+        while (limit - position < 2) {
+            if (!fillAvailable()) {
+                return false;
+            }
+        }
+        int cmf = buffer[position] & 0xFF;
+        int flg = buffer[position + 1] & 0xFF;
+        return (cmf & 0x0F) == 8 && (cmf >> 4) <= 7 && ((cmf << 8) | flg) % 31 == 0;
+    }
+
+    private void readTrailer() throws IOException {
+        if (gzip) {
+            long crc = readIntLittleEndian();
+            long size = readIntLittleEndian();
+            if (crc != checksum.getValue() || size != (inflated & 0xFFFFFFFFL)) {
+                throw new ZipException("Corrupt gzip trailer");
+            }
+        } else if (checksum != null) {
+            long adler = ((long) readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+            if (adler != checksum.getValue()) {
+                throw new ZipException("Corrupt zlib trailer");
+            }
+        }
+    }
+
+    private long readIntLittleEndian() throws IOException {
+        return readByte() | (readByte() << 8) | (readByte() << 16) | ((long) readByte() << 24);
+    }
+
+    private void skipZeroTerminated() throws IOException {
+        while (readByte() != 0) {
+            // 跳过文件名、注释
+        }
+    }
+
+    private void skip(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            readByte();
+        }
+    }
+
+    private int readByte() throws IOException {
+        if (position == limit) {
+            fill();
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private void fill() throws IOException {
+        if (!fillAvailable()) {
+            throw new EOFException("Unexpected end of compressed login payload");
+        }
+    }
+
+    /**
+     * 向缓冲区追加数据，已消费的部分先前移
+     *
+     * @return 是否读到了数据
+     */
+    private boolean fillAvailable() throws IOException {
+        if (position == limit) {
+            position = 0;
+            limit = 0;
+        } else if (limit == buffer.length) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+        int n = in.read(buffer, limit, buffer.length - limit);
+        if (n <= 0) {
+            return false;
+        }
+        compressed += n;
+        if (compressed > maxCompressedSize) {
+            throw new LimitExceededException("Login payload exceeds " + maxCompressedSize + " bytes");
+        }
+        limit += n;
+        return true;
+    }
+
+    private void release() {
+        if (pooled == null) {
+            return;
+        }
+        pooled.inflater.reset();
+        if (!POOL.offer(pooled)) {
+            pooled.inflater.end();
+        }
+        pooled = null;
+        inflater = null;
+        buffer = null;
+    }
+
+    /**
+     * 超出压缩字节数、解压字节数或压缩比上限
+     */
+    public static final class LimitExceededException extends IOException {
+        private LimitExceededException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * 池化的 Inflater 与输入缓冲区
+     */
+    private static final class PooledInflater {
+        private final Inflater inflater = new Inflater(true);
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+    }
+}
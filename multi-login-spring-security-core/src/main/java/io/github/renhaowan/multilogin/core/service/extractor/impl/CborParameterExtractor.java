@@ -0,0 +1,21 @@
+package io.github.renhaowan.multilogin.core.service.extractor.impl;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.github.renhaowan.multilogin.core.service.extractor.AbstractJacksonParameterExtractor;
+import io.github.renhaowan.multilogin.core.service.extractor.ParameterExtractor;
+import org.springframework.http.MediaType;
+
+/**
+ * CBOR 参数提取器
+ * 从 application/cbor 请求体中提取配置指定的参数，二进制字段以 byte[] 返回
+ *
+ * @author wan
+ */
+public class CborParameterExtractor extends AbstractJacksonParameterExtractor implements ParameterExtractor {
+
+    public static final MediaType APPLICATION_CBOR = new MediaType("application", "cbor");
+
+    public CborParameterExtractor() {
+        super(new CBORMapper(), APPLICATION_CBOR);
+    }
+}
@@ -1,16 +1,28 @@
 package io.github.renhaowan.multilogin.core.service.extractor.impl;
 
+import io.github.renhaowan.multilogin.core.exception.InvalidLoginPayloadException;
+import io.github.renhaowan.multilogin.core.exception.LoginPayloadTooLargeException;
+import io.github.renhaowan.multilogin.core.exception.UnsupportedLoginMediaTypeException;
 import io.github.renhaowan.multilogin.core.service.extractor.AbstractInlineParameterExtractor;
+import io.github.renhaowan.multilogin.core.service.extractor.InflatingInputStream;
 import io.github.renhaowan.multilogin.core.service.extractor.ParameterExtractor;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * 表单参数提取器
- * 从 HTTP 请求参数（Form 表单）中提取配置指定的参数
+ * 从 HTTP 请求参数（Form 表单）中提取配置指定的参数；
+ * 带 Content-Encoding: gzip / deflate 的 urlencoded 请求体边解压边解析，只物化需要的参数，其余参数由查询参数补充；
+ * 压缩的 multipart 请求体无法由容器拆分，以 415 拒绝。
  *
  * @author wan
  */
@@ -25,7 +37,17 @@ public class FormParameterExtractor extends AbstractInlineParameterExtractor imp
     @Override
     protected Map<String, Object> doExtractParameters(HttpServletRequest request, Set<String> paramNames) {
         Map<String, Object> params = new HashMap<>();
+        if (!InflatingInputStream.isIdentity(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+            String contentType = request.getContentType();
+            if (contentType != null && contentType.regionMatches(true, 0, "multipart/", 0, 10)) {
+                throw new UnsupportedLoginMediaTypeException("Compressed multipart login payloads are not supported");
+            }
+            readCompressedBody(request, paramNames, params);
+        }
         for (String paramName : paramNames) {
+            if (params.containsKey(paramName)) {
+                continue;
+            }
             String value = request.getParameter(paramName);
             if (value != null) {
                 params.put(paramName, value);
@@ -33,4 +55,97 @@ public class FormParameterExtractor extends AbstractInlineParameterExtractor imp
         }
         return params;
     }
+
+    private void readCompressedBody(HttpServletRequest request, Set<String> paramNames, Map<String, Object> params) {
+        String encoding = request.getCharacterEncoding();
+        Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+        try (InputStream body = openBody(request, request.getInputStream())) {
+            readSelectedFields(body, charset, paramNames, params);
+        } catch (InflatingInputStream.LimitExceededException e) {
+            throw new LoginPayloadTooLargeException(e.getMessage());
+        } catch (IOException e) {
+            throw new InvalidLoginPayloadException("Malformed login payload", e);
+        }
+    }
+
+    /**
+     * 流式解析 application/x-www-form-urlencoded 请求体
+     * 逐字节解码，不需要的参数值直接丢弃；重复参数以首次出现为准，所需参数全部读到后即停止读取。
+     */
+    private static void readSelectedFields(InputStream in, Charset charset, Set<String> paramNames,
+                                           Map<String, Object> params) throws IOException {
+        byte[] chunk = new byte[1024];
+        ByteArrayOutputStream token = new ByteArrayOutputStream(64);
+        String name = null;
+        boolean keep = true;
+        // 百分号编码状态：0 普通字节，1 读到 %，2 读到 % 与高位
+        int escape = 0;
+        int high = 0;
+        int remaining = paramNames.size();
+        int n;
+        while (remaining > 0 && (n = in.read(chunk)) > 0) {
+            for (int i = 0; i < n && remaining > 0; i++) {
+                int b = chunk[i] & 0xFF;
+                if (escape == 1) {
+                    high = hex(b);
+                    escape = 2;
+                } else if (escape == 2) {
+                    if (keep) {
+                        token.write((high << 4) | hex(b));
+                    }
+                    escape = 0;
+                } else if (b == '&') {
+                    remaining -= complete(name, token, keep, charset, paramNames, params);
+                    name = null;
+                    keep = true;
+                    token.reset();
+                } else if (b == '=' && name == null) {
+                    name = token.toString(charset);
+                    keep = paramNames.contains(name) && !params.containsKey(name);
+                    token.reset();
+                } else if (b == '%') {
+                    escape = 1;
+                } else if (keep) {
+                    token.write(b == '+' ? ' ' : b);
+                }
+            }
+        }
+        if (remaining > 0) {
+            if (escape != 0) {
+                throw new IOException("Incomplete percent-encoding in form body");
+            }
+            complete(name, token, keep, charset, paramNames, params);
+        }
+    }
+
+    /**
+     * 结束一个参数
+     *
+     * @return 新读到的所需参数数
+     */
+    private static int complete(String name, ByteArrayOutputStream token, boolean keep, Charset charset,
+                                Set<String> paramNames, Map<String, Object> params) {
+        if (name == null) {
+            // 只有参数名没有 = 时值为空串
+            name = token.toString(charset);
+            if (name.isEmpty() || !paramNames.contains(name) || params.containsKey(name)) {
+                return 0;
+            }
+            params.put(name, "");
+            return 1;
+        }
+        if (!keep) {
+            return 0;
+        }
+        params.put(name, token.toString(charset));
+        return 1;
+    }
+
+    private static int hex(int b) throws IOException {
+        int digit = Character.digit(b, 16);
+        if (digit < 0) {
+            throw new IOException("Malformed percent-encoding in form body");
+        }
+        return digit;
+    }
 }
@@ -0,0 +1,22 @@
+package io.github.renhaowan.multilogin.core.service.extractor.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.renhaowan.multilogin.core.service.extractor.AbstractJacksonParameterExtractor;
+import io.github.renhaowan.multilogin.core.service.extractor.ParameterExtractor;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.http.MediaType;
+
+/**
+ * MessagePack 参数提取器
+ * 从 application/msgpack（或 application/x-msgpack）请求体中提取配置指定的参数，二进制字段以 byte[] 返回
+ *
+ * @author wan
+ */
+public class MessagePackParameterExtractor extends AbstractJacksonParameterExtractor implements ParameterExtractor {
+
+    public static final MediaType APPLICATION_MSGPACK = new MediaType("application", "msgpack");
+
+    public MessagePackParameterExtractor() {
+        super(new ObjectMapper(new MessagePackFactory()), APPLICATION_MSGPACK, new MediaType("application", "x-msgpack"));
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.renhaowan.multilogin.core.service.extractor.impl;
+
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.github.renhaowan.multilogin.core.service.extractor.AbstractJacksonParameterExtractor;
+import io.github.renhaowan.multilogin.core.service.extractor.ParameterExtractor;
+import org.springframework.http.MediaType;
+
+/**
+ * Smile 参数提取器
+ * 从 application/x-jackson-smile 请求体中提取配置指定的参数，二进制字段以 byte[] 返回
+ *
+ * @author wan
+ */
+public class SmileParameterExtractor extends AbstractJacksonParameterExtractor implements ParameterExtractor {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    public SmileParameterExtractor() {
+        super(new SmileMapper(), APPLICATION_SMILE);
+    }
+}
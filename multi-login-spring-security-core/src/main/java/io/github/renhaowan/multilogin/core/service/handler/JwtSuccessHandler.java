@@ -0,0 +1,275 @@
+package io.github.renhaowan.multilogin.core.service.handler;
+
+import io.github.renhaowan.multilogin.core.MultiLoginAuthentication;
+import io.github.renhaowan.multilogin.core.properties.config.JwtConfig;
+import io.github.renhaowan.multilogin.core.service.handler.jwt.JwtSigner;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 内置 JWT 签发成功处理器
+ * 签名器在构造时创建；JWT 头（Base64URL）与静态声明按 登录方式/客户端类型 只编码一次；
+ * 每次签发只拼接动态声明，并在线程复用的缓冲区中完成编码、签名与响应体输出。
+ * 响应体：{"access_token":"...","token_type":"Bearer","expires_in":7200}
+ *
+ * @author wan
+ */
+public class JwtSuccessHandler implements AuthenticationSuccessHandler {
+
+    private static final byte[] BASE64_URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RESPONSE_PREFIX = "{\"access_token\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RESPONSE_SUFFIX = "\",\"token_type\":\"Bearer\",\"expires_in\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SUB = "\"sub\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IAT = "\",\"iat\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EXP = ",\"exp\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CONTROL_ESCAPE = "\\u00".getBytes(StandardCharsets.US_ASCII);
+
+    private final JwtConfig config;
+    private final JwtSigner signer;
+    private final Map<TemplateKey, TokenTemplate> templates = new ConcurrentHashMap<>();
+    private final ThreadLocal<Buffers> buffers = ThreadLocal.withInitial(Buffers::new);
+
+    public JwtSuccessHandler(JwtConfig config) {
+        this(config, JwtSigner.create(config.getAlgorithm(), config.getSecret(), config.getPrivateKey()));
+    }
+
+    public JwtSuccessHandler(JwtConfig config, JwtSigner signer) {
+        this.config = config;
+        this.signer = signer;
+    }
+
+    @Override
+    public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response, Authentication authentication) throws IOException, ServletException {
+        String loginMethod = null;
+        String clientType = null;
+        if (authentication instanceof MultiLoginAuthentication token) {
+            loginMethod = token.getLoginMethod();
+            clientType = token.getClientType();
+        }
+        TokenTemplate template = templates.computeIfAbsent(new TemplateKey(loginMethod, clientType), this::compile);
+
+        Buffers buf = buffers.get();
+        long now = System.currentTimeMillis() / 1000;
+
+        // 动态声明：sub、iat、exp，拼接在静态声明之后
+        Buffer payload = buf.payload.reset();
+        payload.append(template.staticClaims);
+        payload.append(SUB);
+        appendJsonString(payload, authentication.getName());
+        payload.append(IAT);
+        appendLong(payload, now);
+        payload.append(EXP);
+        appendLong(payload, now + template.ttlSeconds);
+        payload.append((byte) '}');
+
+        // 响应体中的 header.payload 即签名输入，原地签名无需额外拷贝
+        Buffer body = buf.body.reset();
+        body.append(RESPONSE_PREFIX);
+        int signingStart = body.length;
+        body.append(template.encodedHeader);
+        appendBase64Url(body, payload.bytes, 0, payload.length);
+        byte[] signature = signer.sign(body.bytes, signingStart, body.length - signingStart);
+        body.append((byte) '.');
+        appendBase64Url(body, signature, 0, signature.length);
+        body.append(RESPONSE_SUFFIX);
+        appendLong(body, template.ttlSeconds);
+        body.append((byte) '}');
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("application/json;charset=UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body.bytes, 0, body.length);
+    }
+
+    /**
+     * 编译 登录方式/客户端类型 对应的模板：编码后的头部（含结尾的 "."）与静态声明前缀
+     */
+    private TokenTemplate compile(TemplateKey key) {
+        Buffer header = new Buffer(64);
+        header.append("{\"alg\":\"".getBytes(StandardCharsets.US_ASCII));
+        appendJsonString(header, signer.algorithm());
+        header.append("\",\"typ\":\"JWT\"".getBytes(StandardCharsets.US_ASCII));
+        if (config.getKeyId() != null) {
+            header.append(",\"kid\":\"".getBytes(StandardCharsets.US_ASCII));
+            appendJsonString(header, config.getKeyId());
+            header.append((byte) '"');
+        }
+        header.append((byte) '}');
+        Buffer encodedHeader = new Buffer(128);
+        appendBase64Url(encodedHeader, header.bytes, 0, header.length);
+        encodedHeader.append((byte) '.');
+
+        JwtConfig.ClientType clientConfig = key.clientType() == null ? null : config.getClientTypes().get(key.clientType());
+        Buffer claims = new Buffer(128);
+        claims.append((byte) '{');
+        if (config.getIssuer() != null) {
+            appendClaim(claims, "iss", config.getIssuer());
+        }
+        if (key.loginMethod() != null) {
+            appendClaim(claims, "login_method", key.loginMethod());
+        }
+        if (key.clientType() != null) {
+            appendClaim(claims, "client_type", key.clientType());
+        }
+        if (clientConfig != null) {
+            clientConfig.getClaims().forEach((name, value) -> appendClaim(claims, name, value));
+        }
+
+        Duration ttl = clientConfig != null && clientConfig.getTtl() != null ? clientConfig.getTtl() : config.getTtl();
+        return new TokenTemplate(encodedHeader.toByteArray(), claims.toByteArray(), ttl.getSeconds());
+    }
+
+    private static void appendClaim(Buffer buffer, String name, String value) {
+        buffer.append((byte) '"');
+        appendJsonString(buffer, name);
+        buffer.append("\":\"".getBytes(StandardCharsets.US_ASCII));
+        appendJsonString(buffer, value);
+        buffer.append("\",".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 以 UTF-8 写入 JSON 字符串内容（不含两侧引号），按 RFC 8259 转义
+     */
+    private static void appendJsonString(Buffer buffer, String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer.append((byte) '\\');
+                buffer.append((byte) c);
+            } else if (c < 0x20) {
+                buffer.append(CONTROL_ESCAPE);
+                buffer.append((byte) Character.forDigit(c >> 4, 16));
+                buffer.append((byte) Character.forDigit(c & 0xf, 16));
+            } else if (c < 0x80) {
+                buffer.append((byte) c);
+            } else if (c < 0x800) {
+                buffer.append((byte) (0xc0 | (c >> 6)));
+                buffer.append((byte) (0x80 | (c & 0x3f)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                buffer.append((byte) (0xf0 | (cp >> 18)));
+                buffer.append((byte) (0x80 | ((cp >> 12) & 0x3f)));
+                buffer.append((byte) (0x80 | ((cp >> 6) & 0x3f)));
+                buffer.append((byte) (0x80 | (cp & 0x3f)));
+            } else {
+                buffer.append((byte) (0xe0 | (c >> 12)));
+                buffer.append((byte) (0x80 | ((c >> 6) & 0x3f)));
+                buffer.append((byte) (0x80 | (c & 0x3f)));
+            }
+        }
+    }
+
+    private static void appendLong(Buffer buffer, long value) {
+        if (value < 0) {
+            buffer.append((byte) '-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        buffer.ensure(digits);
+        for (int i = buffer.length + digits - 1; i >= buffer.length; i--) {
+            buffer.bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        buffer.length += digits;
+    }
+
+    /**
+     * 无填充 Base64URL 编码，直接写入目标缓冲区
+     */
+    private static void appendBase64Url(Buffer buffer, byte[] src, int offset, int length) {
+        buffer.ensure((length + 2) / 3 * 4);
+        byte[] dst = buffer.bytes;
+        int d = buffer.length;
+        int end = offset + length - length % 3;
+        int s = offset;
+        while (s < end) {
+            int bits = (src[s++] & 0xff) << 16 | (src[s++] & 0xff) << 8 | (src[s++] & 0xff);
+            dst[d++] = BASE64_URL[(bits >>> 18) & 0x3f];
+            dst[d++] = BASE64_URL[(bits >>> 12) & 0x3f];
+            dst[d++] = BASE64_URL[(bits >>> 6) & 0x3f];
+            dst[d++] = BASE64_URL[bits & 0x3f];
+        }
+        int remaining = offset + length - s;
+        if (remaining == 1) {
+            int bits = (src[s] & 0xff) << 16;
+            dst[d++] = BASE64_URL[(bits >>> 18) & 0x3f];
+            dst[d++] = BASE64_URL[(bits >>> 12) & 0x3f];
+        } else if (remaining == 2) {
+            int bits = (src[s] & 0xff) << 16 | (src[s + 1] & 0xff) << 8;
+            dst[d++] = BASE64_URL[(bits >>> 18) & 0x3f];
+            dst[d++] = BASE64_URL[(bits >>> 12) & 0x3f];
+            dst[d++] = BASE64_URL[(bits >>> 6) & 0x3f];
+        }
+        buffer.length = d;
+    }
+
+    private record TemplateKey(String loginMethod, String clientType) {
+    }
+
+    private record TokenTemplate(byte[] encodedHeader, byte[] staticClaims, long ttlSeconds) {
+    }
+
+    /**
+     * 线程复用的缓冲区
+     */
+    private static final class Buffers {
+        private final Buffer payload = new Buffer(512);
+        private final Buffer body = new Buffer(1024);
+    }
+
+    /**
+     * 可增长的字节缓冲区
+     */
+    private static final class Buffer {
+        private byte[] bytes;
+        private int length;
+
+        private Buffer(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        private Buffer reset() {
+            length = 0;
+            return this;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+
+        private void append(byte b) {
+            ensure(1);
+            bytes[length++] = b;
+        }
+
+        private void append(byte[] src) {
+            ensure(src.length);
+            System.arraycopy(src, 0, bytes, length, src.length);
+            length += src.length;
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.renhaowan.multilogin.core.service.handler.jwt;
+
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.ECPrivateKey;
+
+/**
+ * ECDSA 签名器（ES256、ES384、ES512）
+ * Signature 按线程缓存并只初始化一次；JDK 输出的 DER 签名转换为 JWS 要求的定长 R||S 格式
+ * （P-256、P-384、P-521 分别为 32、48、66 字节）。私钥曲线与算法不匹配时在构造时报错。
+ *
+ * @author wan
+ */
+public class EcJwtSigner implements JwtSigner {
+
+    private final String algorithm;
+    private final int componentLength;
+    private final ThreadLocal<Signature> signatures;
+
+    /**
+     * 构造 ECDSA 签名器
+     *
+     * @param algorithm  ES256、ES384、ES512
+     * @param privateKey EC 私钥，曲线需与算法对应（P-256、P-384、P-521）
+     */
+    public EcJwtSigner(String algorithm, PrivateKey privateKey) {
+        String bits = algorithm.substring(2);
+        String signatureAlgorithm = "SHA" + bits + "withECDSA";
+        this.componentLength = switch (bits) {
+            case "256" -> 32;
+            case "384" -> 48;
+            case "512" -> 66;
+            default -> throw new IllegalArgumentException("Unsupported JWT algorithm: " + algorithm);
+        };
+        if (privateKey instanceof ECPrivateKey ecKey
+                && (ecKey.getParams().getCurve().getField().getFieldSize() + 7) / 8 != componentLength) {
+            throw new IllegalArgumentException("EC private key curve does not match " + algorithm);
+        }
+        newSignature(signatureAlgorithm, privateKey);
+        this.algorithm = algorithm;
+        this.signatures = ThreadLocal.withInitial(() -> newSignature(signatureAlgorithm, privateKey));
+    }
+
+    @Override
+    public String algorithm() {
+        return algorithm;
+    }
+
+    @Override
+    public byte[] sign(byte[] input, int offset, int length) {
+        Signature signature = signatures.get();
+        try {
+            signature.update(input, offset, length);
+            return derToJose(signature.sign());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign JWT", e);
+        }
+    }
+
+    /**
+     * DER: 0x30 len 0x02 rLen r 0x02 sLen s  ->  R||S（各自左补零到定长）
+     */
+    private byte[] derToJose(byte[] der) {
+        int offset = (der[1] & 0x80) != 0 ? 3 : 2;
+        byte[] jose = new byte[componentLength * 2];
+        offset = copyComponent(der, offset, jose, 0);
+        copyComponent(der, offset, jose, componentLength);
+        return jose;
+    }
+
+    private int copyComponent(byte[] der, int offset, byte[] jose, int target) {
+        int length = der[offset + 1] & 0xff;
+        int start = offset + 2;
+        int end = start + length;
+        // 去掉 DER 整数的符号位前导零
+        while (length > componentLength && der[start] == 0) {
+            start++;
+            length--;
+        }
+        System.arraycopy(der, start, jose, target + componentLength - length, length);
+        return end;
+    }
+
+    private static Signature newSignature(String signatureAlgorithm, PrivateKey privateKey) {
+        try {
+            Signature signature = Signature.getInstance(signatureAlgorithm);
+            signature.initSign(privateKey);
+            return signature;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to initialize " + signatureAlgorithm, e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.renhaowan.multilogin.core.service.handler.jwt;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+
+/**
+ * HMAC 签名器（HS256、HS384、HS512）
+ * Mac 非线程安全，每个线程持有一个已初始化的实例，签名后由 doFinal 自动重置。
+ *
+ * @author wan
+ */
+public class HmacJwtSigner implements JwtSigner {
+
+    private final String algorithm;
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * 构造 HMAC 签名器
+     *
+     * @param algorithm HS256、HS384、HS512
+     * @param secret    密钥
+     */
+    public HmacJwtSigner(String algorithm, byte[] secret) {
+        String macAlgorithm = "HmacSHA" + algorithm.substring(2);
+        int minLength = Integer.parseInt(algorithm.substring(2)) / 8;
+        if (secret.length < minLength) {
+            throw new IllegalArgumentException(algorithm + " requires a secret of at least " + minLength + " bytes");
+        }
+        SecretKeySpec key = new SecretKeySpec(secret, macAlgorithm);
+        // 启动时校验一次，避免首次登录时才暴露配置错误
+        newMac(macAlgorithm, key);
+        this.algorithm = algorithm;
+        this.macs = ThreadLocal.withInitial(() -> newMac(macAlgorithm, key));
+    }
+
+    @Override
+    public String algorithm() {
+        return algorithm;
+    }
+
+    @Override
+    public byte[] sign(byte[] input, int offset, int length) {
+        Mac mac = macs.get();
+        mac.update(input, offset, length);
+        return mac.doFinal();
+    }
+
+    private static Mac newMac(String macAlgorithm, SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(macAlgorithm);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to initialize " + macAlgorithm, e);
+        }
+    }
+}
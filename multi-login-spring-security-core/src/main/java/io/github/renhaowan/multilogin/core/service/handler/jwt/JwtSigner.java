@@ -0,0 +1,69 @@
+package io.github.renhaowan.multilogin.core.service.handler.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * JWT 签名器
+ * 实现类在构造时完成密钥解析，签名对象按线程缓存复用，签名调用本身不再做任何初始化。
+ *
+ * @author wan
+ */
+public interface JwtSigner {
+
+    /**
+     * JWS 算法名称，写入 JWT 头的 alg
+     *
+     * @return 算法名称
+     */
+    String algorithm();
+
+    /**
+     * 对签名输入（header.payload 的 ASCII 字节）签名
+     *
+     * @param input  签名输入
+     * @param offset 起始位置
+     * @param length 长度
+     * @return JWS 格式的签名字节
+     */
+    byte[] sign(byte[] input, int offset, int length);
+
+    /**
+     * 按算法名称创建签名器
+     *
+     * @param algorithm  HS256、HS384、HS512、ES256、ES384、ES512
+     * @param secret     HMAC 密钥（HS* 使用）
+     * @param privateKey EC 私钥 PKCS#8 PEM 或 Base64（ES* 使用）
+     * @return 签名器
+     */
+    static JwtSigner create(String algorithm, String secret, String privateKey) {
+        String alg = algorithm.toUpperCase(Locale.ROOT);
+        if (alg.startsWith("HS")) {
+            if (secret == null) {
+                throw new IllegalArgumentException("multi-login.jwt.secret is required for " + alg);
+            }
+            return new HmacJwtSigner(alg, secret.getBytes(StandardCharsets.UTF_8));
+        }
+        if (alg.startsWith("ES")) {
+            if (privateKey == null) {
+                throw new IllegalArgumentException("multi-login.jwt.private-key is required for " + alg);
+            }
+            return new EcJwtSigner(alg, parsePrivateKey(privateKey));
+        }
+        throw new IllegalArgumentException("Unsupported JWT algorithm: " + algorithm);
+    }
+
+    private static PrivateKey parsePrivateKey(String pem) {
+        String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]*PRIVATE KEY-----", "").replaceAll("\\s", "");
+        try {
+            return KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(base64)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid EC private key, PKCS#8 is required", e);
+        }
+    }
+}
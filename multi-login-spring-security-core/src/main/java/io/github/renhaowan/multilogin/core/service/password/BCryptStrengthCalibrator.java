@@ -0,0 +1,63 @@
+package io.github.renhaowan.multilogin.core.service.password;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * BCrypt 强度测算
+ * BCrypt 强度每加 1 耗时翻倍：先在低强度下多次测量单次校验耗时（取最小值排除 JIT 与调度噪声），
+ * 按倍数推算不超过耗时预算的最高强度，再在该强度下实测确认，超出预算则逐级下调。
+ *
+ * @author wan
+ */
+public final class BCryptStrengthCalibrator {
+
+    private static final int PROBE_STRENGTH = 8;
+    private static final int PROBE_ROUNDS = 5;
+    private static final String PROBE_PASSWORD = "multi-login-calibration";
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    /**
+     * 测算当前主机上满足耗时预算的 BCrypt 强度
+     *
+     * @param latencyBudget 单次校验的耗时预算
+     * @param minStrength   下限，预算过小时仍返回下限
+     * @param maxStrength   上限
+     * @return BCrypt 强度
+     */
+    public static int calibrate(Duration latencyBudget, int minStrength, int maxStrength) {
+        if (minStrength < 4 || maxStrength > 31 || minStrength > maxStrength) {
+            throw new IllegalArgumentException("BCrypt strength range must be within 4..31, got "
+                    + minStrength + ".." + maxStrength);
+        }
+        long budgetNanos = latencyBudget.toNanos();
+        long probeNanos = measure(PROBE_STRENGTH, PROBE_ROUNDS);
+
+        int strength = minStrength;
+        while (strength < maxStrength && probeNanos * Math.pow(2, strength + 1 - PROBE_STRENGTH) <= budgetNanos) {
+            strength++;
+        }
+        while (strength > minStrength && measure(strength, 1) > budgetNanos) {
+            strength--;
+        }
+        return strength;
+    }
+
+    /**
+     * 测量指定强度下单次校验的最小耗时
+     */
+    private static long measure(int strength, int rounds) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        String encoded = encoder.encode(PROBE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            encoder.matches(PROBE_PASSWORD, encoded);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
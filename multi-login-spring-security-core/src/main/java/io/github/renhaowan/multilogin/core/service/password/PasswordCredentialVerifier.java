@@ -0,0 +1,243 @@
+package io.github.renhaowan.multilogin.core.service.password;
+
+import io.github.renhaowan.multilogin.core.properties.config.PasswordConfig;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.MessageDigestPasswordEncoder;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.password.StandardPasswordEncoder;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 内置密码校验器
+ * 业务 Provider 可直接委托它按登录方式的 credentialParamName 取出密码并校验：
+ * 新哈希统一使用 BCrypt，强度在启动时按耗时预算测算；存量哈希（带 {id} 前缀的 pbkdf2、scrypt、argon2、SHA-256、MD5 等，
+ * 以及按 unprefixedEncodingId 识别的无前缀哈希）照常校验。校验通过且哈希已过时时，在有界后台线程池中重新哈希，
+ * 经 {@link PasswordRehashCallback} 写回，登录请求本身不承担升级开销；队列满时放弃本次升级，下次登录再尝试。
+ * 用户不存在（encodedPassword 为 null）时仍以当前强度校验一个占位哈希，响应时间不暴露账号是否存在。
+ * 租户登录方式在编译租户登录方案时通过 {@link #register(String, String)} 登记密码参数名。
+ *
+ * @author wan
+ */
+@Slf4j
+public class PasswordCredentialVerifier implements AutoCloseable {
+
+    /**
+     * 新哈希使用的算法 id
+     */
+    public static final String ENCODING_ID = "bcrypt";
+
+    @Getter
+    private final int strength;
+    private final DelegatingPasswordEncoder passwordEncoder;
+    private final String dummyHash;
+    private final Map<String, String> credentialParamNames;
+    private final PasswordRehashCallback rehashCallback;
+    private final ThreadPoolExecutor rehashExecutor;
+    private final Set<Object> pendingRehash = ConcurrentHashMap.newKeySet();
+    private final LongAdder rehashed = new LongAdder();
+    private final LongAdder rehashDropped = new LongAdder();
+
+    /**
+     * 构造密码校验器
+     *
+     * @param config               密码校验器配置
+     * @param credentialParamNames 登录方式名称 → 密码参数名
+     * @param rehashCallback       哈希升级回调，为 null 时不做升级
+     */
+    public PasswordCredentialVerifier(PasswordConfig config, Map<String, String> credentialParamNames,
+                                      PasswordRehashCallback rehashCallback) {
+        long start = System.nanoTime();
+        this.strength = config.getStrength() != null
+                ? config.getStrength()
+                : BCryptStrengthCalibrator.calibrate(config.getLatencyBudget(), config.getMinStrength(), config.getMaxStrength());
+        log.info("Password verifier uses BCrypt strength {} (latency budget {}, selected in {} ms)", strength,
+                config.getLatencyBudget(), (System.nanoTime() - start) / 1_000_000);
+
+        this.passwordEncoder = createPasswordEncoder(strength, config.getUnprefixedEncodingId());
+        this.dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+        this.credentialParamNames = new ConcurrentHashMap<>(credentialParamNames);
+        this.rehashCallback = rehashCallback;
+        this.rehashExecutor = rehashCallback == null ? null : createRehashExecutor(config);
+    }
+
+    /**
+     * 按登录方式的 credentialParamName 取出密码并校验
+     *
+     * @param loginMethod     登录方式名称
+     * @param params          认证参数
+     * @param encodedPassword 存储的密码哈希
+     * @param principal       主体标识，哈希升级时原样传给回调，为 null 时不升级
+     * @return 是否匹配
+     */
+    public boolean verify(String loginMethod, Map<String, Object> params, String encodedPassword, Object principal) {
+        String paramName = credentialParamNames.get(loginMethod);
+        if (paramName == null) {
+            throw new IllegalArgumentException("No credentialParamName configured for login method: " + loginMethod);
+        }
+        Object rawPassword = params.get(paramName);
+        return verify(rawPassword == null ? null : rawPassword.toString(), encodedPassword, loginMethod, principal);
+    }
+
+    /**
+     * 校验密码
+     *
+     * @param rawPassword     明文密码
+     * @param encodedPassword 存储的密码哈希
+     * @param loginMethod     登录方式名称，原样传给回调
+     * @param principal       主体标识，哈希升级时原样传给回调，为 null 时不升级
+     * @return 是否匹配
+     */
+    public boolean verify(String rawPassword, String encodedPassword, String loginMethod, Object principal) {
+        if (rawPassword == null) {
+            return false;
+        }
+        if (encodedPassword == null) {
+            // 用户不存在时同样付出一次哈希校验的耗时
+            passwordEncoder.matches(rawPassword, dummyHash);
+            return false;
+        }
+        boolean matched = passwordEncoder.matches(rawPassword, encodedPassword);
+        if (matched && passwordEncoder.upgradeEncoding(encodedPassword)) {
+            scheduleRehash(loginMethod, principal, rawPassword);
+        }
+        return matched;
+    }
+
+    /**
+     * 登记登录方式的密码参数名（租户登录方式在编译时登记）
+     *
+     * @param loginMethod 登录方式名称
+     * @param paramName   密码参数名
+     */
+    public void register(String loginMethod, String paramName) {
+        credentialParamNames.put(loginMethod, paramName);
+    }
+
+    /**
+     * 移除登录方式的密码参数名（租户登录方案淘汰时调用）
+     *
+     * @param loginMethod 登录方式名称
+     */
+    public void unregister(String loginMethod) {
+        credentialParamNames.remove(loginMethod);
+    }
+
+    /**
+     * 使用当前算法与强度生成密码哈希（注册、改密时使用）
+     *
+     * @param rawPassword 明文密码
+     * @return 带 {bcrypt} 前缀的密码哈希
+     */
+    public String encode(CharSequence rawPassword) {
+        return passwordEncoder.encode(rawPassword);
+    }
+
+    /**
+     * @param encodedPassword 存储的密码哈希
+     * @return 哈希的算法或强度是否低于当前配置
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * @return 已完成的哈希升级次数
+     */
+    public long getRehashedCount() {
+        return rehashed.sum();
+    }
+
+    /**
+     * @return 因队列已满而放弃的哈希升级次数
+     */
+    public long getRehashDroppedCount() {
+        return rehashDropped.sum();
+    }
+
+    private void scheduleRehash(String loginMethod, Object principal, String rawPassword) {
+        // 同一主体的升级任务未完成前不重复提交
+        if (rehashExecutor == null || principal == null || !pendingRehash.add(principal)) {
+            return;
+        }
+        try {
+            rehashExecutor.execute(() -> {
+                try {
+                    rehashCallback.updatePassword(loginMethod, principal, passwordEncoder.encode(rawPassword));
+                    rehashed.increment();
+                } catch (RuntimeException e) {
+                    log.warn("Failed to upgrade password hash of [{}]", principal, e);
+                } finally {
+                    pendingRehash.remove(principal);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingRehash.remove(principal);
+            rehashDropped.increment();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (rehashExecutor != null) {
+            rehashExecutor.shutdown();
+            if (!rehashExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Password rehash executor did not finish {} pending tasks", rehashExecutor.getQueue().size());
+            }
+        }
+    }
+
+    /**
+     * 组装委托式编码器：新哈希用 BCrypt，同时兼容 Spring Security 内置的存量算法 id
+     */
+    @SuppressWarnings("deprecation")
+    private static DelegatingPasswordEncoder createPasswordEncoder(int strength, String unprefixedEncodingId) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(ENCODING_ID, new BCryptPasswordEncoder(strength));
+        encoders.put("noop", NoOpPasswordEncoder.getInstance());
+        encoders.put("pbkdf2@SpringSecurity_v5_8", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        encoders.put("scrypt@SpringSecurity_v5_8", SCryptPasswordEncoder.defaultsForSpringSecurity_v5_8());
+        encoders.put("argon2@SpringSecurity_v5_8", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_5());
+        encoders.put("scrypt", SCryptPasswordEncoder.defaultsForSpringSecurity_v4_1());
+        encoders.put("argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_2());
+        encoders.put("SHA-256", new StandardPasswordEncoder());
+        encoders.put("SHA-1", new MessageDigestPasswordEncoder("SHA-1"));
+        encoders.put("MD5", new MessageDigestPasswordEncoder("MD5"));
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(ENCODING_ID, encoders);
+        PasswordEncoder unprefixed = encoders.get(unprefixedEncodingId);
+        if (unprefixed == null) {
+            throw new IllegalArgumentException("Unknown password encoding id: " + unprefixedEncodingId);
+        }
+        passwordEncoder.setDefaultPasswordEncoderForMatches(unprefixed);
+        return passwordEncoder;
+    }
+
+    private static ThreadPoolExecutor createRehashExecutor(PasswordConfig config) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        return new ThreadPoolExecutor(config.getRehashThreads(), config.getRehashThreads(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getRehashQueueCapacity()), runnable -> {
+            Thread thread = new Thread(runnable, "multi-login-password-rehash-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.renhaowan.multilogin.core.service.password;
+
+/**
+ * 密码哈希升级回调
+ * 登录成功但存储的哈希已过时（算法或强度低于当前配置）时，PasswordCredentialVerifier 在后台线程重新哈希后回调此接口，
+ * 由业务方把新哈希写回用户存储。
+ *
+ * @author wan
+ */
+@FunctionalInterface
+public interface PasswordRehashCallback {
+
+    /**
+     * 写回新的密码哈希
+     *
+     * @param loginMethod     登录方式名称，未指定时为 null
+     * @param principal       业务方传入的主体标识
+     * @param encodedPassword 新的密码哈希（带 {id} 前缀）
+     */
+    void updatePassword(String loginMethod, Object principal, String encodedPassword);
+}
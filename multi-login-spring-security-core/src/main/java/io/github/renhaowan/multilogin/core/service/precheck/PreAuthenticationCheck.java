@@ -0,0 +1,27 @@
+package io.github.renhaowan.multilogin.core.service.precheck;
+
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * @author wan
+ * 认证前置检查（如图形验证码、IP 信誉、设备指纹、账号状态）。
+ * 同一登录方式下配置的多个检查会并发执行，任一检查失败即取消其余检查并终止登录；
+ * 检查结果以 Bean 名称为 key 汇总后放入参数集合的 {@link #RESULTS_PARAM}，供业务逻辑读取。
+ * 实现需线程安全，并响应中断以便被取消。
+ */
+public interface PreAuthenticationCheck {
+
+    /**
+     * 前置检查结果在 allParams 中的保留参数名，值类型为 Map&lt;String, Object&gt;
+     */
+    String RESULTS_PARAM = "multi-login.preAuthenticationResults";
+
+    /**
+     * 执行检查
+     * @param context 检查上下文
+     * @return 检查结果，可为 null
+     * @throws AuthenticationException 检查不通过
+     * @throws Exception               检查出错（如外部服务不可用），按认证服务异常处理
+     */
+    Object check(PreAuthenticationContext context) throws Exception;
+}
@@ -0,0 +1,88 @@
+package io.github.renhaowan.multilogin.core.service.precheck;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.core.AuthenticationException;
+
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author wan
+ * 前置检查执行器：同一批检查并发执行并共享一个总截止时间，
+ * 任一检查失败或超时即取消（中断）其余检查，整体耗时接近最慢的检查而非所有检查之和。
+ * 只有一个检查时同样提交到线程池执行，超时由调用线程等待截止时间保证；线程池拒绝提交时按失败处理。
+ */
+public class PreAuthenticationCheckRunner {
+
+    private final Map<String, PreAuthenticationCheck> checks;
+    private final ExecutorService executor;
+    private final long timeoutNanos;
+
+    /**
+     * @param checks   Bean 名称 -> 检查，按配置顺序
+     * @param executor 执行检查的线程池
+     * @param timeout  所有检查的总超时
+     */
+    public PreAuthenticationCheckRunner(Map<String, PreAuthenticationCheck> checks, ExecutorService executor, Duration timeout) {
+        this.checks = new LinkedHashMap<>(checks);
+        this.executor = executor;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    /**
+     * 执行全部检查
+     * @param context 检查上下文
+     * @return Bean 名称 -> 检查结果
+     * @throws AuthenticationException 任一检查失败或超时
+     */
+    public Map<String, Object> run(PreAuthenticationContext context) throws AuthenticationException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        CompletionService<Map.Entry<String, Object>> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<Map.Entry<String, Object>>> futures = new ArrayList<>(checks.size());
+        Map<String, Object> results = new HashMap<>(checks.size() * 2);
+        try {
+            for (Map.Entry<String, PreAuthenticationCheck> entry : checks.entrySet()) {
+                String name = entry.getKey();
+                PreAuthenticationCheck check = entry.getValue();
+                futures.add(completionService.submit(() -> new AbstractMap.SimpleImmutableEntry<>(name, check.check(context))));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                Future<Map.Entry<String, Object>> done = completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    throw new AuthenticationServiceException("Pre-authentication checks timed out");
+                }
+                Map.Entry<String, Object> result = done.get();
+                results.put(result.getKey(), result.getValue());
+            }
+            return Collections.unmodifiableMap(results);
+        } catch (RejectedExecutionException e) {
+            throw new AuthenticationServiceException("Pre-authentication checks rejected", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof AuthenticationException authenticationException) {
+                throw authenticationException;
+            }
+            throw new AuthenticationServiceException("Pre-authentication check failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Pre-authentication checks interrupted", e);
+        } finally {
+            // 成功时均已完成，cancel 为空操作；失败或超时时中断仍在执行的检查
+            for (Future<Map.Entry<String, Object>> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.renhaowan.multilogin.core.service.precheck;
+
+import java.util.Map;
+
+/**
+ * @author wan
+ * 前置检查上下文
+ *
+ * @param loginMethod 登录方式名称
+ * @param clientType  客户端类型
+ * @param allParams   登录请求参数（只读）
+ * @param details     认证附加信息（默认为 WebAuthenticationDetails，含远端地址与会话 ID）
+ */
+public record PreAuthenticationContext(String loginMethod, String clientType, Map<String, Object> allParams,
+                                       Object details) {
+}
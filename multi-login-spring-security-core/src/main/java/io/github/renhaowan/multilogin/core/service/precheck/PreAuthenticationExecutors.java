@@ -0,0 +1,47 @@
+package io.github.renhaowan.multilogin.core.service.precheck;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author wan
+ * 前置检查线程池工厂：运行在 JDK 21+ 时使用虚拟线程（每个检查一个虚拟线程），
+ * 否则退化为有界平台线程池；平台线程池队列满时拒绝提交（登录按前置检查失败处理），
+ * 不在调用线程中执行，避免检查绕过总超时。
+ */
+public final class PreAuthenticationExecutors {
+
+    private PreAuthenticationExecutors() {
+    }
+
+    /**
+     * 创建前置检查线程池
+     * @param maxThreads 平台线程池的最大线程数（虚拟线程不受此限制）
+     * @return 线程池
+     */
+    public static ExecutorService newExecutor(int maxThreads) {
+        try {
+            // 项目以 JDK 17 编译，通过反射获取 JDK 21 的虚拟线程执行器
+            Object executor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            return (ExecutorService) executor;
+        } catch (ReflectiveOperationException e) {
+            return newPlatformExecutor(maxThreads);
+        }
+    }
+
+    private static ExecutorService newPlatformExecutor(int maxThreads) {
+        AtomicInteger index = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(maxThreads * 16), runnable -> {
+            Thread thread = new Thread(runnable, "multi-login-precheck-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
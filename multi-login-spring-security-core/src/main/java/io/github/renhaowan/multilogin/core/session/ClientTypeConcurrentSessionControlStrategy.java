@@ -0,0 +1,57 @@
+package io.github.renhaowan.multilogin.core.session;
+
+import io.github.renhaowan.multilogin.core.MultiLoginAuthentication;
+import io.github.renhaowan.multilogin.core.properties.config.SessionLimitConfig;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.session.SessionAuthenticationException;
+import org.springframework.security.web.authentication.session.SessionAuthenticationStrategy;
+
+/**
+ * 按客户端类型控制并发会话数的会话认证策略
+ * 登录成功后把会话登记到 ClientTypeSessionRegistry，同一用户同一客户端类型的会话超出限制时淘汰最早的会话，
+ * 或在 preventLogin 开启时拒绝本次登录。
+ *
+ * @author wan
+ */
+public class ClientTypeConcurrentSessionControlStrategy implements SessionAuthenticationStrategy {
+
+    private final ClientTypeSessionRegistry sessionRegistry;
+    private final SessionLimitConfig config;
+
+    public ClientTypeConcurrentSessionControlStrategy(ClientTypeSessionRegistry sessionRegistry, SessionLimitConfig config) {
+        this.sessionRegistry = sessionRegistry;
+        this.config = config;
+    }
+
+    @Override
+    public void onAuthentication(Authentication authentication, HttpServletRequest request, HttpServletResponse response)
+            throws SessionAuthenticationException {
+        String clientType = authentication instanceof MultiLoginAuthentication multiLoginAuthentication
+                ? multiLoginAuthentication.getClientType()
+                : null;
+        int maxSessions = getMaxSessions(clientType);
+        Object principal = authentication.getPrincipal();
+
+        String sessionId = request.getSession().getId();
+        if (config.isPreventLogin()) {
+            // 统计与注册在注册表内原子完成，并发登录不会超出限制
+            if (!sessionRegistry.registerNewSessionIfBelowLimit(sessionId, principal, clientType, maxSessions)) {
+                throw new SessionAuthenticationException("Maximum sessions of " + maxSessions + " for client type "
+                        + clientType + " exceeded");
+            }
+            return;
+        }
+        sessionRegistry.registerNewSession(sessionId, principal, clientType, maxSessions);
+    }
+
+    /**
+     * @param clientType 客户端类型
+     * @return 该客户端类型允许的最大会话数，小于等于 0 表示不限制
+     */
+    public int getMaxSessions(String clientType) {
+        Integer maxSessions = clientType == null ? null : config.getMaxSessions().get(clientType);
+        return maxSessions != null ? maxSessions : config.getDefaultMaxSessions();
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.renhaowan.multilogin.core.session;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.session.SessionInformation;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * 按 主体 + 客户端类型 管理会话的注册表
+ * 在 SessionRegistry 的基础上增加客户端类型维度，注册新会话时原子地淘汰该客户端类型下超出限制的最早会话。
+ * 被淘汰的会话只标记为过期，由 ConcurrentSessionFilter 在其下一次请求时注销。
+ * 内置内存实现 {@link StripedSessionRegistry} 与 JDBC 实现 {@link JdbcSessionRegistry}，集群可提供自定义实现。
+ *
+ * @author wan
+ */
+public interface ClientTypeSessionRegistry extends SessionRegistry {
+
+    /**
+     * 注册新会话，并将同一主体、同一客户端类型下超出限制的最早会话标记为过期
+     *
+     * @param sessionId   会话 ID
+     * @param principal   主体
+     * @param clientType  客户端类型
+     * @param maxSessions 最大会话数，小于等于 0 表示不限制
+     * @return 本次被淘汰的会话
+     */
+    List<SessionInformation> registerNewSession(String sessionId, Object principal, String clientType, int maxSessions);
+
+    /**
+     * 统计主体在某客户端类型下未过期的会话数
+     *
+     * @param principal  主体
+     * @param clientType 客户端类型
+     * @return 会话数
+     */
+    int countSessions(Object principal, String clientType);
+
+    /**
+     * 同一主体、同一客户端类型的会话数未达到上限时注册新会话，否则不注册（preventLogin）
+     * 内置实现保证并发登录不会超出上限；默认实现先统计再注册，自定义实现需自行保证原子性。
+     *
+     * @param sessionId   会话 ID
+     * @param principal   主体
+     * @param clientType  客户端类型
+     * @param maxSessions 最大会话数，小于等于 0 表示不限制
+     * @return 是否已注册
+     */
+    default boolean registerNewSessionIfBelowLimit(String sessionId, Object principal, String clientType, int maxSessions) {
+        if (maxSessions > 0 && countSessions(principal, clientType) >= maxSessions) {
+            return false;
+        }
+        registerNewSession(sessionId, principal, clientType, -1);
+        return true;
+    }
+
+    @Override
+    default void registerNewSession(String sessionId, Object principal) {
+        registerNewSession(sessionId, principal, null, -1);
+    }
+
+    /**
+     * 主体的索引键：UserDetails 取用户名，Principal 取名称，其它取 toString
+     *
+     * @param principal 主体
+     * @return 索引键
+     */
+    static String principalKey(Object principal) {
+        if (principal instanceof UserDetails userDetails) {
+            return userDetails.getUsername();
+        }
+        if (principal instanceof AuthenticatedPrincipal authenticatedPrincipal) {
+            return authenticatedPrincipal.getName();
+        }
+        if (principal instanceof Principal namedPrincipal) {
+            return namedPrincipal.getName();
+        }
+        return String.valueOf(principal);
+    }
+}
@@ -0,0 +1,371 @@
+package io.github.renhaowan.multilogin.core.session;
+
+import io.github.renhaowan.multilogin.core.cache.BoundedLocalCache;
+import io.github.renhaowan.multilogin.core.jdbc.JdbcTables;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.security.core.session.AbstractSessionEvent;
+import org.springframework.security.core.session.SessionDestroyedEvent;
+import org.springframework.security.core.session.SessionIdChangedEvent;
+import org.springframework.security.core.session.SessionInformation;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JDBC 共享会话注册表，集群内各节点共用一张会话表，表结构见 {@link #CREATE_TABLE_SQL}
+ * 注册时先插入新会话（创建时间不早于已有会话），再按 创建时间、会话 ID 倒序保留前 N 个，其余标记为过期；
+ * 排序规则对所有节点一致，并发登录最终收敛到同一结果。被淘汰的会话在任意节点的下一次请求时由 ConcurrentSessionFilter 注销。
+ * 最近访问时间按 touchInterval 节流写回，避免每个请求都产生一次写操作。
+ * 最近访问时间早于 staleTimeout 的会话（如节点宕机后未注销的会话）不计入会话数，并由后台线程按 cleanupInterval 删除。
+ * 按会话 ID 的查询（ConcurrentSessionFilter 每个请求一次）在本地缓存 lookupCacheTtl，其他节点淘汰的会话最迟在该时间后生效。
+ * preventLogin 时先插入新会话再统计其他会话，并发登录中最后完成统计的一方必然看到其余会话，不会超出上限（同时到达时可能都被拒绝）。
+ * 主体按 SHA-256 摘要（principal_hash）匹配，任意长度的用户名都能登录；principal 列只保存展示用的取值，超出列宽时截断。
+ *
+ * @author wan
+ */
+@Slf4j
+public class JdbcSessionRegistry implements ClientTypeSessionRegistry, ApplicationListener<AbstractSessionEvent>, AutoCloseable {
+
+    /**
+     * 默认建表语句，%s 为表名
+     */
+    public static final String CREATE_TABLE_SQL = "CREATE TABLE %s ("
+            + "session_id VARCHAR(128) NOT NULL PRIMARY KEY, "
+            + "principal_hash CHAR(64) NOT NULL, "
+            + "principal VARCHAR(1024) NOT NULL, "
+            + "client_type VARCHAR(64) NOT NULL, "
+            + "created_at BIGINT NOT NULL, "
+            + "last_request BIGINT NOT NULL, "
+            + "expired BOOLEAN NOT NULL)";
+
+    /**
+     * 默认索引语句，%s 依次为表名、表名
+     */
+    public static final String CREATE_INDEX_SQL = "CREATE INDEX %s_principal ON %s (principal_hash, client_type)";
+
+    /**
+     * 未区分客户端类型时写入的取值
+     */
+    private static final String NO_CLIENT_TYPE = "";
+
+    private static final int PRINCIPAL_LENGTH = 1024;
+    private static final int CLIENT_TYPE_LENGTH = 64;
+
+    /**
+     * 按会话 ID 查询的本地缓存条目数上限
+     */
+    private static final int LOOKUP_CACHE_SIZE = 65536;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long touchIntervalMillis;
+    private final long staleTimeoutMillis;
+    private final Map<String, Long> lastTouched = new ConcurrentHashMap<>();
+    private final BoundedLocalCache<String, Optional<SessionInformation>> lookups;
+    private final ScheduledExecutorService cleaner;
+
+    private final String insertSql;
+    private final String deleteSql;
+    private final String selectActiveSql;
+    private final String expireSql;
+    private final String countSql;
+    private final String countOthersSql;
+    private final String deleteStaleSql;
+    private final String selectPrincipalsSql;
+    private final String selectByPrincipalSql;
+    private final String selectActiveByPrincipalSql;
+    private final String selectByIdSql;
+    private final String touchSql;
+
+    /**
+     * 构造 JDBC 会话注册表
+     *
+     * @param jdbcTemplate    JdbcTemplate
+     * @param tableName       会话表名
+     * @param touchInterval   最近访问时间的最小写回间隔
+     * @param staleTimeout    最近访问时间早于此时长的会话视为失效
+     * @param cleanupInterval 删除失效会话的间隔，0 表示不清理
+     * @param lookupCacheTtl  按会话 ID 查询的本地缓存时间，0 表示不缓存
+     */
+    public JdbcSessionRegistry(JdbcTemplate jdbcTemplate, String tableName, Duration touchInterval,
+                               Duration staleTimeout, Duration cleanupInterval, Duration lookupCacheTtl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.touchIntervalMillis = touchInterval.toMillis();
+        this.staleTimeoutMillis = staleTimeout.toMillis();
+        this.lookups = lookupCacheTtl.isZero() || lookupCacheTtl.isNegative()
+                ? null
+                : new BoundedLocalCache<>(LOOKUP_CACHE_SIZE, lookupCacheTtl, null);
+        this.insertSql = "INSERT INTO " + tableName
+                + " (session_id, principal_hash, principal, client_type, created_at, last_request, expired)"
+                + " VALUES (?, ?, ?, ?, ?, ?, FALSE)";
+        this.deleteSql = "DELETE FROM " + tableName + " WHERE session_id = ?";
+        this.selectActiveSql = "SELECT session_id, principal_hash, principal, client_type, created_at, last_request, expired FROM " + tableName
+                + " WHERE principal_hash = ? AND client_type = ? AND expired = FALSE AND last_request > ?"
+                + " ORDER BY created_at DESC, session_id DESC";
+        this.expireSql = "UPDATE " + tableName + " SET expired = TRUE WHERE session_id = ?";
+        this.countSql = "SELECT COUNT(*) FROM " + tableName
+                + " WHERE principal_hash = ? AND client_type = ? AND expired = FALSE AND last_request > ?";
+        this.countOthersSql = countSql + " AND session_id <> ?";
+        this.deleteStaleSql = "DELETE FROM " + tableName + " WHERE last_request <= ?";
+        this.selectPrincipalsSql = "SELECT DISTINCT principal FROM " + tableName + " WHERE last_request > ?";
+        this.selectByPrincipalSql = "SELECT session_id, principal_hash, principal, client_type, created_at, last_request, expired FROM " + tableName
+                + " WHERE principal_hash = ? AND last_request > ?";
+        this.selectActiveByPrincipalSql = selectByPrincipalSql + " AND expired = FALSE";
+        this.selectByIdSql = "SELECT session_id, principal_hash, principal, client_type, created_at, last_request, expired FROM " + tableName
+                + " WHERE session_id = ?";
+        this.touchSql = "UPDATE " + tableName + " SET last_request = ? WHERE session_id = ?";
+
+        long cleanupMillis = cleanupInterval.toMillis();
+        if (cleanupMillis > 0) {
+            this.cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "multi-login-session-cleanup");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.cleaner.scheduleWithFixedDelay(this::cleanUp, cleanupMillis, cleanupMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.cleaner = null;
+        }
+    }
+
+    /**
+     * 表不存在时建表
+     *
+     * @param tableName 会话表名
+     */
+    public void createTable(String tableName) {
+        JdbcTables.createIfAbsent(jdbcTemplate, tableName, String.format(CREATE_TABLE_SQL, tableName),
+                String.format(CREATE_INDEX_SQL, tableName, tableName));
+    }
+
+    @Override
+    public List<SessionInformation> registerNewSession(String sessionId, Object principal, String clientType, int maxSessions) {
+        String key = ClientTypeSessionRegistry.principalKey(principal);
+        return register(sessionId, hash(key), truncate(key, PRINCIPAL_LENGTH), typeOf(clientType), maxSessions);
+    }
+
+    private List<SessionInformation> register(String sessionId, String hash, String display, String type, int maxSessions) {
+        jdbcTemplate.update(deleteSql, sessionId);
+
+        long now = System.currentTimeMillis();
+        List<Row> existing = jdbcTemplate.query(selectActiveSql, ROW_MAPPER, hash, type, now - staleTimeoutMillis);
+        insert(sessionId, hash, display, type, existing, now);
+
+        List<SessionInformation> evicted = new ArrayList<>();
+        if (maxSessions <= 0) {
+            return evicted;
+        }
+        List<Row> active = jdbcTemplate.query(selectActiveSql, ROW_MAPPER, hash, type, now - staleTimeoutMillis);
+        for (int i = maxSessions; i < active.size(); i++) {
+            SessionInformation information = active.get(i).toSessionInformation();
+            information.expireNow();
+            evicted.add(information);
+        }
+        if (!evicted.isEmpty()) {
+            jdbcTemplate.batchUpdate(expireSql, evicted, evicted.size(),
+                    (ps, information) -> ps.setString(1, information.getSessionId()));
+            if (lookups != null) {
+                evicted.forEach(information -> lookups.invalidate(information.getSessionId()));
+            }
+        }
+        return evicted;
+    }
+
+    @Override
+    public boolean registerNewSessionIfBelowLimit(String sessionId, Object principal, String clientType, int maxSessions) {
+        if (maxSessions <= 0) {
+            registerNewSession(sessionId, principal, clientType, -1);
+            return true;
+        }
+        String key = ClientTypeSessionRegistry.principalKey(principal);
+        String hash = hash(key);
+        String type = typeOf(clientType);
+        jdbcTemplate.update(deleteSql, sessionId);
+
+        long now = System.currentTimeMillis();
+        List<Row> existing = jdbcTemplate.query(selectActiveSql, ROW_MAPPER, hash, type, now - staleTimeoutMillis);
+        if (existing.size() >= maxSessions) {
+            return false;
+        }
+        insert(sessionId, hash, truncate(key, PRINCIPAL_LENGTH), type, existing, now);
+        // 插入后再统计其他会话，并发插入的会话至少会被其中一方看到
+        Integer others = jdbcTemplate.queryForObject(countOthersSql, Integer.class, hash, type, now - staleTimeoutMillis, sessionId);
+        if (others != null && others >= maxSessions) {
+            removeSessionInformation(sessionId);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int countSessions(Object principal, String clientType) {
+        Integer count = jdbcTemplate.queryForObject(countSql, Integer.class,
+                hash(ClientTypeSessionRegistry.principalKey(principal)), typeOf(clientType),
+                System.currentTimeMillis() - staleTimeoutMillis);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public List<Object> getAllPrincipals() {
+        return new ArrayList<>(jdbcTemplate.queryForList(selectPrincipalsSql, String.class,
+                System.currentTimeMillis() - staleTimeoutMillis));
+    }
+
+    @Override
+    public List<SessionInformation> getAllSessions(Object principal, boolean includeExpiredSessions) {
+        String sql = includeExpiredSessions ? selectByPrincipalSql : selectActiveByPrincipalSql;
+        return jdbcTemplate.query(sql, ROW_MAPPER, hash(ClientTypeSessionRegistry.principalKey(principal)),
+                        System.currentTimeMillis() - staleTimeoutMillis).stream()
+                .map(Row::toSessionInformation)
+                .toList();
+    }
+
+    @Override
+    public SessionInformation getSessionInformation(String sessionId) {
+        if (lookups == null) {
+            return load(sessionId).orElse(null);
+        }
+        return lookups.get(sessionId, this::load).orElse(null);
+    }
+
+    @Override
+    public void refreshLastRequest(String sessionId) {
+        long now = System.currentTimeMillis();
+        Long last = lastTouched.get(sessionId);
+        if (last != null && now - last < touchIntervalMillis) {
+            return;
+        }
+        lastTouched.put(sessionId, now);
+        jdbcTemplate.update(touchSql, now, sessionId);
+    }
+
+    @Override
+    public void removeSessionInformation(String sessionId) {
+        lastTouched.remove(sessionId);
+        jdbcTemplate.update(deleteSql, sessionId);
+        if (lookups != null) {
+            lookups.invalidate(sessionId);
+        }
+    }
+
+    /**
+     * 删除最近访问时间早于 staleTimeout 的会话
+     *
+     * @return 删除的会话数
+     */
+    public int deleteStaleSessions() {
+        long cutoff = System.currentTimeMillis() - staleTimeoutMillis;
+        lastTouched.values().removeIf(touched -> touched <= cutoff);
+        return jdbcTemplate.update(deleteStaleSql, cutoff);
+    }
+
+    /**
+     * 停止清理线程
+     */
+    @Override
+    public void close() {
+        if (cleaner != null) {
+            cleaner.shutdownNow();
+        }
+    }
+
+    /**
+     * 插入新会话，创建时间不早于已有会话，节点间时钟略有偏差时也不会被立即淘汰
+     */
+    private void insert(String sessionId, String hash, String display, String type, List<Row> existing, long now) {
+        long createdAt = existing.isEmpty() ? now : Math.max(now, existing.get(0).createdAt() + 1);
+        jdbcTemplate.update(insertSql, sessionId, hash, display, type, createdAt, now);
+        lastTouched.put(sessionId, now);
+        if (lookups != null) {
+            lookups.invalidate(sessionId);
+        }
+    }
+
+    private Optional<SessionInformation> load(String sessionId) {
+        List<Row> rows = jdbcTemplate.query(selectByIdSql, ROW_MAPPER, sessionId);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0).toSessionInformation());
+    }
+
+    private void cleanUp() {
+        try {
+            deleteStaleSessions();
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete stale sessions", e);
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(AbstractSessionEvent event) {
+        if (event instanceof SessionDestroyedEvent destroyedEvent) {
+            removeSessionInformation(destroyedEvent.getId());
+        } else if (event instanceof SessionIdChangedEvent idChangedEvent) {
+            List<Row> rows = jdbcTemplate.query(selectByIdSql, ROW_MAPPER, idChangedEvent.getOldSessionId());
+            if (!rows.isEmpty()) {
+                removeSessionInformation(idChangedEvent.getOldSessionId());
+                Row row = rows.get(0);
+                register(idChangedEvent.getNewSessionId(), row.principalHash(), row.principal(),
+                        typeOf(row.clientType()), -1);
+            }
+        }
+    }
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, rowNum) -> new Row(rs.getString("session_id"),
+            rs.getString("principal_hash"), rs.getString("principal"), clientTypeOf(rs.getString("client_type")), rs.getLong("created_at"), rs.getLong("last_request"), rs.getBoolean("expired"));
+
+    /**
+     * 主体的 SHA-256 摘要（十六进制），定长，用于匹配
+     */
+    private static String hash(String principalKey) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(principalKey.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * 写入与查询使用同一截断规则，超长的客户端类型同样能匹配
+     */
+    private static String typeOf(String clientType) {
+        return clientType == null ? NO_CLIENT_TYPE : truncate(clientType, CLIENT_TYPE_LENGTH);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value.length() <= maxLength) {
+            return value;
+        }
+        int end = Character.isHighSurrogate(value.charAt(maxLength - 1)) ? maxLength - 1 : maxLength;
+        return value.substring(0, end);
+    }
+
+    private static String clientTypeOf(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private record Row(String sessionId, String principalHash, String principal, String clientType, long createdAt,
+                       long lastRequest, boolean expired) {
+
+        private SessionInformation toSessionInformation() {
+            SessionInformation information = new SessionInformation(principal, sessionId, new Date(lastRequest));
+            if (expired) {
+                information.expireNow();
+            }
+            return information;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package io.github.renhaowan.multilogin.core.session;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.core.session.AbstractSessionEvent;
+import org.springframework.security.core.session.SessionDestroyedEvent;
+import org.springframework.security.core.session.SessionIdChangedEvent;
+import org.springframework.security.core.session.SessionInformation;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 分段锁内存会话注册表
+ * 会话按 主体 → 客户端类型 组织，同一主体的修改在按主体哈希选出的分段锁内完成，不同用户的登录互不阻塞；
+ * 每个客户端类型的有效会话保存在按注册顺序排列的 LinkedHashMap 中，淘汰最早会话与按 ID 删除都是 O(1)。
+ * 被淘汰的会话移入过期集合，直到容器销毁该会话（需注册 HttpSessionEventPublisher）。
+ *
+ * @author wan
+ */
+public class StripedSessionRegistry implements ClientTypeSessionRegistry, ApplicationListener<AbstractSessionEvent> {
+
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final ReentrantLock[] locks;
+    private final Map<String, PrincipalSessions> principals = new ConcurrentHashMap<>();
+    private final Map<String, Registration> sessionIds = new ConcurrentHashMap<>();
+
+    public StripedSessionRegistry() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param stripes 分段锁数量，向上取整为 2 的幂
+     */
+    public StripedSessionRegistry(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public List<SessionInformation> registerNewSession(String sessionId, Object principal, String clientType, int maxSessions) {
+        // 同一会话重复登录时先移除旧的注册信息
+        removeSessionInformation(sessionId);
+
+        String key = ClientTypeSessionRegistry.principalKey(principal);
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            PrincipalSessions sessions = principals.computeIfAbsent(key, k -> new PrincipalSessions());
+            sessions.principal = principal;
+            LinkedHashMap<String, SessionInformation> active = sessions.active.computeIfAbsent(clientType, type -> new LinkedHashMap<>());
+
+            List<SessionInformation> evicted = new ArrayList<>();
+            if (maxSessions > 0) {
+                Iterator<SessionInformation> oldest = active.values().iterator();
+                while (active.size() >= maxSessions) {
+                    SessionInformation information = oldest.next();
+                    oldest.remove();
+                    information.expireNow();
+                    sessions.expired.put(information.getSessionId(), information);
+                    evicted.add(information);
+                }
+            }
+
+            SessionInformation information = new SessionInformation(principal, sessionId, new Date());
+            active.put(sessionId, information);
+            sessionIds.put(sessionId, new Registration(information, key, clientType));
+            return evicted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean registerNewSessionIfBelowLimit(String sessionId, Object principal, String clientType, int maxSessions) {
+        removeSessionInformation(sessionId);
+
+        String key = ClientTypeSessionRegistry.principalKey(principal);
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            PrincipalSessions sessions = principals.computeIfAbsent(key, k -> new PrincipalSessions());
+            LinkedHashMap<String, SessionInformation> active = sessions.active.computeIfAbsent(clientType, type -> new LinkedHashMap<>());
+            if (maxSessions > 0 && active.size() >= maxSessions) {
+                return false;
+            }
+            sessions.principal = principal;
+            SessionInformation information = new SessionInformation(principal, sessionId, new Date());
+            active.put(sessionId, information);
+            sessionIds.put(sessionId, new Registration(information, key, clientType));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int countSessions(Object principal, String clientType) {
+        String key = ClientTypeSessionRegistry.principalKey(principal);
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            PrincipalSessions sessions = principals.get(key);
+            Map<String, SessionInformation> active = sessions == null ? null : sessions.active.get(clientType);
+            return active == null ? 0 : active.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Object> getAllPrincipals() {
+        List<Object> result = new ArrayList<>(principals.size());
+        for (PrincipalSessions sessions : principals.values()) {
+            result.add(sessions.principal);
+        }
+        return result;
+    }
+
+    @Override
+    public List<SessionInformation> getAllSessions(Object principal, boolean includeExpiredSessions) {
+        String key = ClientTypeSessionRegistry.principalKey(principal);
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            PrincipalSessions sessions = principals.get(key);
+            if (sessions == null) {
+                return new ArrayList<>();
+            }
+            List<SessionInformation> result = new ArrayList<>();
+            sessions.active.values().forEach(active -> result.addAll(active.values()));
+            if (includeExpiredSessions) {
+                result.addAll(sessions.expired.values());
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public SessionInformation getSessionInformation(String sessionId) {
+        Registration registration = sessionIds.get(sessionId);
+        return registration == null ? null : registration.information();
+    }
+
+    @Override
+    public void refreshLastRequest(String sessionId) {
+        Registration registration = sessionIds.get(sessionId);
+        if (registration != null) {
+            registration.information().refreshLastRequest();
+        }
+    }
+
+    @Override
+    public void removeSessionInformation(String sessionId) {
+        Registration registration = sessionIds.remove(sessionId);
+        if (registration == null) {
+            return;
+        }
+        ReentrantLock lock = lockFor(registration.principalKey());
+        lock.lock();
+        try {
+            PrincipalSessions sessions = principals.get(registration.principalKey());
+            if (sessions == null) {
+                return;
+            }
+            Map<String, SessionInformation> active = sessions.active.get(registration.clientType());
+            if (active != null && active.remove(sessionId) != null && active.isEmpty()) {
+                sessions.active.remove(registration.clientType());
+            }
+            sessions.expired.remove(sessionId);
+            if (sessions.active.isEmpty() && sessions.expired.isEmpty()) {
+                principals.remove(registration.principalKey());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(AbstractSessionEvent event) {
+        if (event instanceof SessionDestroyedEvent destroyedEvent) {
+            removeSessionInformation(destroyedEvent.getId());
+        } else if (event instanceof SessionIdChangedEvent idChangedEvent) {
+            Registration registration = sessionIds.get(idChangedEvent.getOldSessionId());
+            if (registration != null) {
+                removeSessionInformation(idChangedEvent.getOldSessionId());
+                registerNewSession(idChangedEvent.getNewSessionId(), registration.information().getPrincipal(),
+                        registration.clientType(), -1);
+            }
+        }
+    }
+
+    private ReentrantLock lockFor(String principalKey) {
+        int h = principalKey.hashCode();
+        return locks[(h ^ (h >>> 16)) & (locks.length - 1)];
+    }
+
+    /**
+     * 单个主体的全部会话，只在对应分段锁内访问
+     */
+    private static final class PrincipalSessions {
+        private Object principal;
+        private final Map<String, LinkedHashMap<String, SessionInformation>> active = new HashMap<>(4);
+        private final Map<String, SessionInformation> expired = new HashMap<>(4);
+    }
+
+    private record Registration(SessionInformation information, String principalKey, String clientType) {
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.renhaowan.multilogin.core.signature;
+
+/**
+ * 签名密钥提供者
+ * 按应用 ID 返回 HMAC 密钥，结果由 RequestSignatureVerifier 缓存，未知应用也会被短暂缓存，避免反复查询存储。
+ *
+ * @author wan
+ */
+@FunctionalInterface
+public interface AppKeyProvider {
+
+    /**
+     * 获取应用的签名密钥
+     *
+     * @param appId 应用 ID
+     * @return 密钥，应用不存在或已停用时返回 null
+     */
+    byte[] getKey(String appId);
+}
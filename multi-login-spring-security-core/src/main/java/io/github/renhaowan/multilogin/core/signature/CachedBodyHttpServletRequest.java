@@ -0,0 +1,178 @@
+package io.github.renhaowan.multilogin.core.signature;
+
+import io.github.renhaowan.multilogin.core.service.extractor.InflatingInputStream;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 缓存请求体的请求包装
+ * 签名校验已读取请求体，后续的参数提取从缓存的字节重新读取；表单请求体在首次读取参数时解析。
+ * 查询参数不在签名范围内，请求参数只来自已签名的请求体，篡改或追加的查询参数不会进入登录参数。
+ *
+ * @author wan
+ */
+public class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+    private Map<String, String[]> parameters;
+
+    public CachedBodyHttpServletRequest(HttpServletRequest request, byte[] body) {
+        super(request);
+        this.body = body;
+    }
+
+    /**
+     * @return 缓存的请求体
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream in = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return in.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException("Cached request body does not support non-blocking reads");
+            }
+
+            @Override
+            public int read() {
+                return in.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return in.read(b, off, len);
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset()));
+    }
+
+    @Override
+    public int getContentLength() {
+        return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return body.length;
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = getParameterMap().get(name);
+        return values == null || values.length == 0 ? null : values[0];
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        if (parameters == null) {
+            parameters = parseParameters();
+        }
+        return parameters;
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(getParameterMap().keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        return getParameterMap().get(name);
+    }
+
+    /**
+     * 只从缓存的表单请求体解析参数，不包含原请求的查询参数
+     */
+    private Map<String, String[]> parseParameters() {
+        String contentType = getContentType();
+        // 压缩的表单请求体由 FormParameterExtractor 解压解析
+        if (body.length == 0 || contentType == null || !InflatingInputStream.isIdentity(getHeader(HttpHeaders.CONTENT_ENCODING))
+                || !MediaType.APPLICATION_FORM_URLENCODED.includes(MediaType.parseMediaType(contentType))) {
+            return Collections.emptyMap();
+        }
+        Map<String, List<String>> merged = new LinkedHashMap<>();
+        Charset charset = charset();
+        for (String pair : new String(body, StandardCharsets.ISO_8859_1).split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int separator = pair.indexOf('=');
+            String name = URLDecoder.decode(separator < 0 ? pair : pair.substring(0, separator), charset);
+            String value = separator < 0 ? "" : URLDecoder.decode(pair.substring(separator + 1), charset);
+            merged.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        }
+        Map<String, String[]> result = new LinkedHashMap<>();
+        merged.forEach((name, values) -> result.put(name, values.toArray(new String[0])));
+        return Collections.unmodifiableMap(result);
+    }
+
+    private Charset charset() {
+        String encoding = getCharacterEncoding();
+        return encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+    }
+
+    /**
+     * 读取不超过 maxBytes 的请求体
+     *
+     * @param request  HTTP 请求对象
+     * @param maxBytes 最大字节数
+     * @return 请求体，超出上限时返回 null
+     * @throws IOException 读取失败
+     */
+    static byte[] readBody(HttpServletRequest request, long maxBytes) throws IOException {
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > maxBytes) {
+            return null;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(contentLength > 0 ? (int) contentLength : 256);
+        byte[] chunk = new byte[4096];
+        try (InputStream in = request.getInputStream()) {
+            int n;
+            while ((n = in.read(chunk)) > 0) {
+                if (out.size() + n > maxBytes) {
+                    return null;
+                }
+                out.write(chunk, 0, n);
+            }
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.renhaowan.multilogin.core.signature;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 按时间桶轮换的 nonce 防重放表
+ * 时间戳偏差不超过 window 的请求才会到达这里，同一 nonce 的重放最晚出现在首次请求后 2 * window，
+ * 因此只需保留覆盖 2 * window 的若干时间桶：新 nonce 写入当前桶，桶过期后整体替换，内存只与接受窗口内的请求量有关。
+ * 使用精确集合而非 Bloom 过滤器，避免误判拒绝合法登录。
+ *
+ * @author wan
+ */
+public class NonceReplayGuard {
+
+    private final long bucketMillis;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    /**
+     * @param window      时间戳允许的偏差
+     * @param bucketWidth 时间桶宽度
+     */
+    public NonceReplayGuard(Duration window, Duration bucketWidth) {
+        this.bucketMillis = Math.max(1, bucketWidth.toMillis());
+        int count = (int) ((2 * window.toMillis() + bucketMillis - 1) / bucketMillis) + 1;
+        this.buckets = new AtomicReferenceArray<>(count);
+    }
+
+    /**
+     * 记录 nonce
+     *
+     * @param nonce      nonce（调用方负责加上应用 ID 等命名空间）
+     * @param nowMillis  当前时间
+     * @return 首次出现返回 true，窗口内重复出现返回 false
+     */
+    public boolean tryAccept(String nonce, long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        long oldest = epoch - buckets.length() + 1;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.epoch >= oldest && bucket.nonces.contains(nonce)) {
+                return false;
+            }
+        }
+        // 并发的相同 nonce 以写入当前桶的结果为准
+        return current(epoch).nonces.add(nonce);
+    }
+
+    /**
+     * @return 当前保留的 nonce 数
+     */
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null) {
+                size += bucket.nonces.size();
+            }
+        }
+        return size;
+    }
+
+    private Bucket current(long epoch) {
+        int index = (int) Math.floorMod(epoch, (long) buckets.length());
+        while (true) {
+            Bucket bucket = buckets.get(index);
+            if (bucket != null && bucket.epoch >= epoch) {
+                return bucket;
+            }
+            Bucket fresh = new Bucket(epoch);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private static final class Bucket {
+        private final long epoch;
+        private final Set<String> nonces = ConcurrentHashMap.newKeySet();
+
+        private Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package io.github.renhaowan.multilogin.core.signature;
+
+import io.github.renhaowan.multilogin.core.cache.BoundedLocalCache;
+import io.github.renhaowan.multilogin.core.exception.InvalidRequestSignatureException;
+import io.github.renhaowan.multilogin.core.exception.LoginPayloadTooLargeException;
+import io.github.renhaowan.multilogin.core.properties.config.SignatureConfig;
+import jakarta.servlet.http.HttpServletRequest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 请求签名校验阶段
+ * 对配置的客户端类型，在解析请求体与调用 Provider 之前依次校验：签名请求头齐全、时间戳在窗口内、应用密钥存在（本地缓存）、
+ * HMAC 签名正确，最后才登记 nonce，伪造的请求不会占用 nonce 表。
+ * 签名内容为 HTTP 方法、请求 URI、时间戳、nonce 各占一行，后接原始请求体：
+ * <pre>
+ * POST\n/login/app\n1735689600\n3f2a9c...\n{"mobile":"..."}
+ * </pre>
+ * 查询参数不在签名范围内，校验通过后返回缓存了请求体的请求包装，后续的参数提取只读取已签名的请求体，忽略查询参数。
+ *
+ * @author wan
+ */
+public class RequestSignatureVerifier {
+
+    private final SignatureConfig config;
+    private final Set<String> clientTypes;
+    private final AppKeyProvider keyProvider;
+    private final BoundedLocalCache<String, Optional<SecretKeySpec>> keys;
+    private final NonceReplayGuard nonceGuard;
+    private final long maxBodySize;
+    private final long windowMillis;
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * 构造请求签名校验阶段
+     *
+     * @param config      签名配置
+     * @param keyProvider 签名密钥提供者
+     * @param maxBodySize 请求体最大字节数
+     */
+    public RequestSignatureVerifier(SignatureConfig config, AppKeyProvider keyProvider, long maxBodySize) {
+        this.config = config;
+        this.clientTypes = Set.copyOf(config.getClientTypes());
+        this.keyProvider = keyProvider;
+        this.keys = new BoundedLocalCache<>(config.getKeyCacheSize(), config.getKeyCacheTtl(), null);
+        this.nonceGuard = new NonceReplayGuard(config.getWindow(), config.getBucketWidth());
+        this.maxBodySize = maxBodySize;
+        this.windowMillis = config.getWindow().toMillis();
+        String algorithm = config.getAlgorithm();
+        newMac(algorithm);
+        this.macs = ThreadLocal.withInitial(() -> newMac(algorithm));
+    }
+
+    /**
+     * @param clientType 客户端类型
+     * @return 该客户端类型是否需要签名
+     */
+    public boolean requiresSignature(String clientType) {
+        return clientType != null && clientTypes.contains(clientType);
+    }
+
+    /**
+     * 校验请求签名
+     *
+     * @param request    HTTP 请求对象
+     * @param clientType 客户端类型
+     * @return 不需要签名时返回原请求，否则返回缓存了请求体的请求包装
+     * @throws IOException 读取请求体失败
+     */
+    public HttpServletRequest verify(HttpServletRequest request, String clientType) throws IOException {
+        if (!requiresSignature(clientType)) {
+            return request;
+        }
+        String appId = request.getHeader(config.getAppIdHeader());
+        String timestamp = request.getHeader(config.getTimestampHeader());
+        String nonce = request.getHeader(config.getNonceHeader());
+        String signature = request.getHeader(config.getSignatureHeader());
+        if (appId == null || timestamp == null || nonce == null || signature == null) {
+            throw new InvalidRequestSignatureException("Missing request signature headers");
+        }
+        if (nonce.isEmpty() || nonce.length() > config.getMaxNonceLength()) {
+            throw new InvalidRequestSignatureException("Invalid request nonce");
+        }
+
+        long now = System.currentTimeMillis();
+        long timestampMillis = parseTimestamp(timestamp);
+        if (Math.abs(now - timestampMillis) > windowMillis) {
+            throw new InvalidRequestSignatureException("Request timestamp is outside the accepted window");
+        }
+
+        SecretKeySpec key = keys.get(appId, this::loadKey).orElse(null);
+        if (key == null) {
+            throw new InvalidRequestSignatureException("Unknown app id");
+        }
+
+        // multipart 请求体无法在缓存后重新拆分为 Part
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.regionMatches(true, 0, "multipart/", 0, 10)) {
+            throw new InvalidRequestSignatureException("Signed login does not support multipart bodies");
+        }
+        byte[] body = CachedBodyHttpServletRequest.readBody(request, maxBodySize);
+        if (body == null) {
+            throw new LoginPayloadTooLargeException("Login payload exceeds " + maxBodySize + " bytes");
+        }
+
+        byte[] expected = sign(key, request, timestamp, nonce, body);
+        byte[] actual;
+        try {
+            actual = Base64.getDecoder().decode(signature);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestSignatureException("Malformed request signature");
+        }
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new InvalidRequestSignatureException("Request signature mismatch");
+        }
+
+        // 签名通过后才登记 nonce
+        if (!nonceGuard.tryAccept(appId + ':' + nonce, now)) {
+            throw new InvalidRequestSignatureException("Replayed request nonce");
+        }
+        return new CachedBodyHttpServletRequest(request, body);
+    }
+
+    private byte[] sign(SecretKeySpec key, HttpServletRequest request, String timestamp, String nonce, byte[] body) {
+        Mac mac = macs.get();
+        try {
+            mac.init(key);
+        } catch (InvalidKeyException e) {
+            throw new InvalidRequestSignatureException("Invalid app key");
+        }
+        mac.update(request.getMethod().getBytes(StandardCharsets.US_ASCII));
+        mac.update((byte) '\n');
+        mac.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) '\n');
+        mac.update(timestamp.getBytes(StandardCharsets.US_ASCII));
+        mac.update((byte) '\n');
+        mac.update(nonce.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) '\n');
+        mac.update(body);
+        return mac.doFinal();
+    }
+
+    /**
+     * 未知应用同样缓存，避免伪造的 appId 反复穿透到存储
+     */
+    private Optional<SecretKeySpec> loadKey(String appId) {
+        byte[] key = keyProvider.getKey(appId);
+        return key == null || key.length == 0 ? Optional.empty() : Optional.of(new SecretKeySpec(key, config.getAlgorithm()));
+    }
+
+    /**
+     * 时间戳按数值大小区分秒与毫秒
+     */
+    private static long parseTimestamp(String timestamp) {
+        long value;
+        try {
+            value = Long.parseLong(timestamp.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestSignatureException("Malformed request timestamp");
+        }
+        return value < 100_000_000_000L ? value * 1000 : value;
+    }
+
+    private static Mac newMac(String algorithm) {
+        try {
+            return Mac.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unsupported signature algorithm: " + algorithm, e);
+        }
+    }
+}
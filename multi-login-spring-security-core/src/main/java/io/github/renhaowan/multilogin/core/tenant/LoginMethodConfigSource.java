@@ -0,0 +1,22 @@
+package io.github.renhaowan.multilogin.core.tenant;
+
+import io.github.renhaowan.multilogin.core.properties.config.LoginMethodConfig;
+
+import java.util.Map;
+
+/**
+ * 租户登录方式配置源（SPI）
+ * 按租户返回其允许的登录方式配置，通常来自数据库。只在租户登录方案首次使用或过期后调用。
+ *
+ * @author wan
+ */
+public interface LoginMethodConfigSource {
+
+    /**
+     * 获取租户的登录方式配置
+     *
+     * @param tenantId 租户标识
+     * @return key 为登录方式名称的配置，租户不存在时返回 null 或空 Map
+     */
+    Map<String, LoginMethodConfig> getMethods(String tenantId);
+}
@@ -0,0 +1,158 @@
+package io.github.renhaowan.multilogin.core.tenant;
+
+import io.github.renhaowan.multilogin.core.DynamicAuthenticationFilter;
+import io.github.renhaowan.multilogin.core.cache.BoundedLocalCache;
+import io.github.renhaowan.multilogin.core.properties.config.TenantConfig;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 多租户登录过滤器
+ * 按域名或路径前缀识别租户，首次访问时才编译该租户的登录方案并放入有界缓存，
+ * 缓存按容量与空闲时间淘汰，淘汰时释放方案占用的资源。匹配到登录地址的请求交给对应的 DynamicAuthenticationFilter 处理。
+ * 租户标识来自请求（Host 或路径），只接受已知租户或配置后缀下的合法标识；不存在或编译失败的租户记录在单独的短期缓存中，
+ * 随机 Host、路径不会挤出登录方案缓存中的真实租户。
+ *
+ * @author wan
+ */
+public class TenantLoginFilter extends OncePerRequestFilter {
+
+    /**
+     * 合法的租户标识：字母、数字、下划线与连字符，不超过 64 个字符
+     */
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_-]{0,63}");
+
+    private final TenantConfig config;
+    private final RequestMatcher requestMatcher;
+    private final Function<String, TenantLoginPlan> planCompiler;
+    private final Set<String> knownTenants;
+    private final BoundedLocalCache<String, TenantLoginPlan> plans;
+    private final BoundedLocalCache<String, Boolean> unknownTenants;
+
+    /**
+     * 构造多租户登录过滤器
+     *
+     * @param config       多租户配置
+     * @param planCompiler 租户登录方案编译函数
+     * @param planReleaser 方案被淘汰时的资源释放回调
+     */
+    public TenantLoginFilter(TenantConfig config, Function<String, TenantLoginPlan> planCompiler,
+                             Consumer<TenantLoginPlan> planReleaser) {
+        boolean pathPrefix = config.getResolveBy() == TenantResolveStrategy.PATH_PREFIX;
+        if (!pathPrefix && !StringUtils.hasText(config.getHostSuffix()) && config.getTenants() == null) {
+            throw new IllegalArgumentException("Tenant resolution by host requires multi-login.tenant.host-suffix or multi-login.tenant.tenants");
+        }
+        this.config = config;
+        this.planCompiler = planCompiler;
+        this.knownTenants = config.getTenants() == null ? null : Set.copyOf(config.getTenants());
+        List<String> patterns = config.getRequestPatterns() == null || config.getRequestPatterns().isEmpty()
+                ? List.of(pathPrefix ? "/*/login/**" : "/login/**")
+                : config.getRequestPatterns();
+        this.requestMatcher = new OrRequestMatcher(patterns.stream()
+                .map(pattern -> (RequestMatcher) new AntPathRequestMatcher(pattern))
+                .toList());
+        this.plans = new BoundedLocalCache<>(config.getMaxTenants(), config.getTtl(), config.getIdleTimeout(),
+                (tenantId, plan) -> planReleaser.accept(plan));
+        this.unknownTenants = new BoundedLocalCache<>(config.getMaxUnknownTenants(), config.getUnknownTenantTtl(), null);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String tenantId = requestMatcher.matches(request) ? resolveTenant(request) : null;
+        if (tenantId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        TenantLoginPlan plan = unknownTenants.get(tenantId) != null ? null : plans.get(tenantId, this::compile);
+        List<DynamicAuthenticationFilter> filters = plan == null ? List.of() : plan.filters();
+        for (DynamicAuthenticationFilter filter : filters) {
+            if (filter.getAntPathRequestMatcher().matches(request)) {
+                filter.doFilter(request, response, filterChain);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * 使租户登录方案失效（租户配置变更后调用），下次请求时重新编译
+     *
+     * @param tenantId 租户标识
+     */
+    public void evict(String tenantId) {
+        unknownTenants.invalidate(tenantId);
+        plans.invalidate(tenantId);
+    }
+
+    /**
+     * 编译租户登录方案，空方案记入未知租户缓存并返回 null（不进入登录方案缓存）
+     */
+    private TenantLoginPlan compile(String tenantId) {
+        TenantLoginPlan plan = planCompiler.apply(tenantId);
+        if (plan == null || plan.filters().isEmpty()) {
+            unknownTenants.put(tenantId, Boolean.TRUE);
+            return null;
+        }
+        return plan;
+    }
+
+    /**
+     * 识别租户
+     *
+     * @param request HTTP 请求对象
+     * @return 租户标识，无法识别、不合法或不在已知租户中时返回 null
+     */
+    protected String resolveTenant(HttpServletRequest request) {
+        String tenantId = extractTenant(request);
+        if (tenantId == null) {
+            return null;
+        }
+        // 配置了已知租户时只按集合判断（HOST 模式下可以是完整域名），否则要求标识合法
+        if (knownTenants != null) {
+            return knownTenants.contains(tenantId) ? tenantId : null;
+        }
+        return TENANT_ID.matcher(tenantId).matches() ? tenantId : null;
+    }
+
+    private String extractTenant(HttpServletRequest request) {
+        if (config.getResolveBy() == TenantResolveStrategy.PATH_PREFIX) {
+            String path = request.getServletPath();
+            if (request.getPathInfo() != null) {
+                path = path + request.getPathInfo();
+            }
+            int end = path.indexOf('/', 1);
+            return end > 1 ? path.substring(1, end) : null;
+        }
+
+        String host = request.getServerName();
+        if (!StringUtils.hasText(host)) {
+            return null;
+        }
+        host = host.toLowerCase(Locale.ROOT);
+        String suffix = config.getHostSuffix();
+        if (StringUtils.hasText(suffix)) {
+            suffix = suffix.toLowerCase(Locale.ROOT);
+            return host.endsWith(suffix) && host.length() > suffix.length()
+                    ? host.substring(0, host.length() - suffix.length())
+                    : null;
+        }
+        return host;
+    }
+}
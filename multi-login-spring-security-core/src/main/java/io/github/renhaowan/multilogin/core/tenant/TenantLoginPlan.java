@@ -0,0 +1,26 @@
+package io.github.renhaowan.multilogin.core.tenant;
+
+import io.github.renhaowan.multilogin.core.DynamicAuthenticationFilter;
+
+import java.util.List;
+
+/**
+ * 租户登录方案：某个租户编译好的全部登录过滤器
+ *
+ * @param tenantId     租户标识
+ * @param methodNames  登录方式名称（已带租户前缀）
+ * @param filters      登录过滤器
+ * @author wan
+ */
+public record TenantLoginPlan(String tenantId, List<String> methodNames, List<DynamicAuthenticationFilter> filters) {
+
+    /**
+     * 租户不存在、未配置任何登录方式或编译失败时的空方案，不进入登录方案缓存，只在短期的未知租户缓存中记录
+     *
+     * @param tenantId 租户标识
+     * @return 空方案
+     */
+    public static TenantLoginPlan empty(String tenantId) {
+        return new TenantLoginPlan(tenantId, List.of(), List.of());
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.renhaowan.multilogin.core.tenant;
+
+/**
+ * 租户识别方式
+ *
+ * @author wan
+ */
+public enum TenantResolveStrategy {
+
+    /**
+     * 按请求域名识别
+     */
+    HOST,
+
+    /**
+     * 按路径第一段识别，如 /acme/login/phone 的租户为 acme
+     */
+    PATH_PREFIX
+}
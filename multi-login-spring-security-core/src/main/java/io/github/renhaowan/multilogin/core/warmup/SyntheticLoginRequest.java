@@ -0,0 +1,149 @@
+package io.github.renhaowan.multilogin.core.warmup;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 预热用的合成登录请求
+ * 只实现登录链路会用到的方法（路径、请求方式、请求头、表单参数、请求体、远端地址、属性），其余方法返回默认值。
+ *
+ * @author wan
+ */
+public final class SyntheticLoginRequest {
+
+    private static final String REMOTE_ADDRESS = "127.0.0.1";
+
+    private SyntheticLoginRequest() {
+    }
+
+    /**
+     * 创建合成请求
+     *
+     * @param httpMethod  请求方式
+     * @param path        请求路径
+     * @param contentType 请求体类型
+     * @param body        请求体
+     * @param parameters  表单参数
+     * @param headers     请求头（名称不区分大小写）
+     * @return 合成请求，每次读取请求体都从头开始
+     */
+    public static HttpServletRequest create(String httpMethod, String path, String contentType, byte[] body,
+                                            Map<String, String> parameters, Map<String, String> headers) {
+        Map<String, String> lowerCaseHeaders = new HashMap<>();
+        headers.forEach((name, value) -> lowerCaseHeaders.put(name.toLowerCase(), value));
+        if (contentType != null) {
+            lowerCaseHeaders.put("content-type", contentType);
+        }
+        Map<String, String[]> parameterMap = new HashMap<>();
+        parameters.forEach((name, value) -> parameterMap.put(name, new String[]{value}));
+        Map<String, Object> attributes = new HashMap<>();
+
+        return (HttpServletRequest) Proxy.newProxyInstance(SyntheticLoginRequest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getMethod" -> httpMethod;
+                    case "getServletPath", "getRequestURI" -> path;
+                    case "getRequestURL" -> new StringBuffer("http://localhost").append(path);
+                    case "getContextPath" -> "";
+                    case "getScheme" -> "http";
+                    case "getServerName", "getRemoteHost", "getLocalName" -> "localhost";
+                    case "getRemoteAddr", "getLocalAddr" -> REMOTE_ADDRESS;
+                    case "getContentType" -> contentType;
+                    case "getContentLength" -> body.length;
+                    case "getContentLengthLong" -> (long) body.length;
+                    case "getCharacterEncoding" -> StandardCharsets.UTF_8.name();
+                    case "getHeader" -> lowerCaseHeaders.get(((String) args[0]).toLowerCase());
+                    case "getHeaders" -> {
+                        String value = lowerCaseHeaders.get(((String) args[0]).toLowerCase());
+                        yield value == null ? Collections.emptyEnumeration() : Collections.enumeration(Collections.singletonList(value));
+                    }
+                    case "getHeaderNames" -> Collections.enumeration(lowerCaseHeaders.keySet());
+                    case "getParameter" -> parameters.get((String) args[0]);
+                    case "getParameterValues" -> parameterMap.get((String) args[0]);
+                    case "getParameterMap" -> Collections.unmodifiableMap(parameterMap);
+                    case "getParameterNames" -> Collections.enumeration(parameterMap.keySet());
+                    case "getInputStream" -> inputStream(new ByteArrayInputStream(body));
+                    case "getAttribute" -> attributes.get((String) args[0]);
+                    case "setAttribute" -> attributes.put((String) args[0], args[1]);
+                    case "removeAttribute" -> attributes.remove((String) args[0]);
+                    case "getAttributeNames" -> Collections.enumeration(attributes.keySet());
+                    case "getDispatcherType" -> DispatcherType.REQUEST;
+                    case "getServerPort", "getLocalPort", "getRemotePort" -> 80;
+                    case "toString" -> "SyntheticLoginRequest[" + httpMethod + " " + path + "]";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> defaultValue(method.getReturnType());
+                });
+    }
+
+    private static ServletInputStream inputStream(InputStream source) {
+        return new ServletInputStream() {
+            @Override
+            public int read() throws IOException {
+                return source.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return source.read(b, off, len);
+            }
+
+            @Override
+            public boolean isFinished() {
+                try {
+                    return source.available() == 0;
+                } catch (IOException e) {
+                    return true;
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                // 同步读取
+            }
+        };
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == double.class) {
+            return 0d;
+        }
+        if (type == float.class) {
+            return 0f;
+        }
+        if (type == char.class) {
+            return (char) 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        return (byte) 0;
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.renhaowan.multilogin.core;
+
+import io.github.renhaowan.multilogin.core.cache.BoundedLocalCache;
+import io.github.renhaowan.multilogin.core.service.TwoPhaseBusinessAuthenticationLogic;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RouterAuthenticationProvider 经 ProviderManager 认证时的行为
+ *
+ * @author wan
+ */
+class RouterAuthenticationProviderTest {
+
+    @Test
+    void cachedCandidateSurvivesCredentialErasure() {
+        AccountLogic logic = new AccountLogic();
+        RouterAuthenticationProvider routerProvider = new RouterAuthenticationProvider(List.of(logic), List.of("app"));
+        routerProvider.setCandidateCaches(Map.of("app", new BoundedLocalCache<>(100, Duration.ofMinutes(5), null)));
+        ProviderManager providerManager = new ProviderManager(routerProvider);
+
+        Authentication first = providerManager.authenticate(loginToken());
+        Authentication second = providerManager.authenticate(loginToken());
+
+        assertThat(first.getName()).isEqualTo("alice");
+        assertThat(second.getName()).isEqualTo("alice");
+        assertThat(logic.loads).hasValue(1);
+        assertThat(((UserDetails) second.getPrincipal()).getPassword()).isEqualTo("secret");
+    }
+
+    private static BaseMultiLoginToken loginToken() {
+        return new BaseMultiLoginToken(Map.of("username", "alice", "password", "secret"), "app", "account",
+                List.of("username"), List.of("password"));
+    }
+
+    private static class AccountLogic implements TwoPhaseBusinessAuthenticationLogic<UserDetails> {
+
+        private final AtomicInteger loads = new AtomicInteger();
+
+        @Override
+        public UserDetails loadCandidate(Map<String, Object> principalParams) {
+            loads.incrementAndGet();
+            return User.withUsername((String) principalParams.get("username")).password("secret").roles("USER").build();
+        }
+
+        @Override
+        public Object verify(UserDetails candidate, Map<String, Object> credentialParams) {
+            if (!credentialParams.get("password").equals(candidate.getPassword())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return candidate;
+        }
+    }
+}
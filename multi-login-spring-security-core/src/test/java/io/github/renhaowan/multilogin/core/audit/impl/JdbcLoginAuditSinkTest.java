@@ -0,0 +1,54 @@
+package io.github.renhaowan.multilogin.core.audit.impl;
+
+import io.github.renhaowan.multilogin.core.audit.LoginAuditEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JdbcLoginAuditSink 在 H2 上的行为
+ *
+ * @author wan
+ */
+class JdbcLoginAuditSinkTest {
+
+    private static final String TABLE = "multi_login_audit";
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcLoginAuditSink sink;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        sink = new JdbcLoginAuditSink(jdbcTemplate, TABLE);
+        sink.createTable(TABLE);
+    }
+
+    @Test
+    void overLongValuesDoNotDropTheBatch() {
+        String longValue = "x".repeat(1000);
+        sink.write(List.of(
+                new LoginAuditEvent(System.currentTimeMillis(), "password", "app", "alice", "10.0.0.1", true, null, 10),
+                new LoginAuditEvent(System.currentTimeMillis(), "tenant/" + longValue, "app", longValue, "10.0.0.2",
+                        false, longValue, 20)));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + TABLE, Integer.class)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT principal FROM " + TABLE + " WHERE ip = '10.0.0.2'",
+                String.class)).hasSize(128);
+    }
+
+    @Test
+    void truncateKeepsSurrogatePairsWhole() {
+        String value = "ab😀";
+
+        assertThat(JdbcLoginAuditSink.truncate(value, 3)).isEqualTo("ab");
+        assertThat(JdbcLoginAuditSink.truncate(value, 4)).isEqualTo(value);
+    }
+}
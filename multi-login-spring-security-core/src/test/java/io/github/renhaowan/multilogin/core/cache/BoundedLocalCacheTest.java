@@ -0,0 +1,75 @@
+package io.github.renhaowan.multilogin.core.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * BoundedLocalCache 加载与移除并发时的行为
+ *
+ * @author wan
+ */
+class BoundedLocalCacheTest {
+
+    @Test
+    void loadInFlightDuringInvalidateIsNotCached() throws Exception {
+        BoundedLocalCache<String, String> cache = new BoundedLocalCache<>(100, Duration.ofMinutes(5), null);
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<String> staleLoad = CompletableFuture.supplyAsync(() -> cache.get("alice", key -> {
+            loads.incrementAndGet();
+            loaderStarted.countDown();
+            await(releaseLoader);
+            return "old";
+        }));
+        assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        cache.invalidate("alice");
+        // 移除后的请求不再等待失效的加载
+        assertThat(cache.get("alice", key -> {
+            loads.incrementAndGet();
+            return "new";
+        })).isEqualTo("new");
+        releaseLoader.countDown();
+
+        assertThat(staleLoad.get(5, TimeUnit.SECONDS)).isEqualTo("old");
+        assertThat(cache.get("alice")).isEqualTo("new");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void loadInFlightDuringInvalidateAllIsNotCached() throws Exception {
+        BoundedLocalCache<String, String> cache = new BoundedLocalCache<>(100, Duration.ofMinutes(5), null);
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+
+        CompletableFuture<String> staleLoad = CompletableFuture.supplyAsync(() -> cache.get("alice", key -> {
+            loaderStarted.countDown();
+            await(releaseLoader);
+            return "old";
+        }));
+        assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        cache.invalidateAll();
+        releaseLoader.countDown();
+
+        assertThat(staleLoad.get(5, TimeUnit.SECONDS)).isEqualTo("old");
+        assertThat(cache.get("alice")).isNull();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.renhaowan.multilogin.core.rememberme;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.web.authentication.rememberme.PersistentRememberMeToken;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * CachingJdbcTokenRepository 在 H2 上的行为
+ *
+ * @author wan
+ */
+class CachingJdbcTokenRepositoryTest {
+
+    private static final String TABLE = "multi_login_remember_me";
+    private static final String SERIES = "s1.app.password";
+
+    private JdbcTemplate jdbcTemplate;
+    private CachingJdbcTokenRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        repository = newRepository();
+        repository.createTable(TABLE);
+    }
+
+    @Test
+    void createTableIsIdempotent() {
+        assertThatCode(() -> repository.createTable(TABLE)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void knownSeriesIsServedFromCache() {
+        repository.createNewToken(new PersistentRememberMeToken("alice", SERIES, "t1", new Date()));
+
+        PersistentRememberMeToken token = repository.getTokenForSeries(SERIES);
+        assertThat(repository.replaceToken(token, "t2", new Date())).isTrue();
+
+        assertThat(repository.getTokenForSeries(SERIES).getTokenValue()).isEqualTo("t2");
+        assertThat(repository.getLoadCount()).isEqualTo(1);
+    }
+
+    @Test
+    void replaceTokenFailsWhenTokenAlreadyRotated() {
+        repository.createNewToken(new PersistentRememberMeToken("alice", SERIES, "t1", new Date()));
+        PersistentRememberMeToken token = repository.getTokenForSeries(SERIES);
+
+        assertThat(repository.replaceToken(token, "t2", new Date())).isTrue();
+        assertThat(repository.replaceToken(token, "t3", new Date())).isFalse();
+        assertThat(repository.getTokenForSeries(SERIES).getTokenValue()).isEqualTo("t2");
+        assertThat(repository.getConflictCount()).isEqualTo(1);
+    }
+
+    @Test
+    void staleCachedTokenCannotBeRotatedAndIsReloaded() {
+        CachingJdbcTokenRepository other = newRepository();
+        repository.createNewToken(new PersistentRememberMeToken("alice", SERIES, "t1", new Date()));
+        PersistentRememberMeToken cached = repository.getTokenForSeries(SERIES);
+
+        assertThat(other.replaceToken(other.getTokenForSeries(SERIES), "t2", new Date())).isTrue();
+
+        assertThat(repository.getTokenForSeries(SERIES).getTokenValue()).isEqualTo("t1");
+        assertThat(repository.replaceToken(cached, "t3", new Date())).isFalse();
+        assertThat(repository.reloadTokenForSeries(SERIES).getTokenValue()).isEqualTo("t2");
+    }
+
+    @Test
+    void unknownSeriesIsCachedUntilCreated() {
+        assertThat(repository.getTokenForSeries(SERIES)).isNull();
+        assertThat(repository.getTokenForSeries(SERIES)).isNull();
+        assertThat(repository.getLoadCount()).isEqualTo(1);
+        assertThat(repository.getCachedSeriesCount()).isEqualTo(1);
+
+        repository.createNewToken(new PersistentRememberMeToken("alice", SERIES, "t1", new Date()));
+
+        assertThat(repository.getTokenForSeries(SERIES).getTokenValue()).isEqualTo("t1");
+    }
+
+    @Test
+    void removeUserTokensEvictsCachedSeries() {
+        repository.createNewToken(new PersistentRememberMeToken("alice", SERIES, "t1", new Date()));
+        repository.getTokenForSeries(SERIES);
+
+        repository.removeUserTokens("alice");
+
+        assertThat(repository.getTokenForSeries(SERIES)).isNull();
+    }
+
+    private CachingJdbcTokenRepository newRepository() {
+        return new CachingJdbcTokenRepository(jdbcTemplate, TABLE, 100, Duration.ofMinutes(5));
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.renhaowan.multilogin.core.rememberme;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.authentication.rememberme.CookieTheftException;
+import org.springframework.security.web.authentication.rememberme.PersistentRememberMeToken;
+import org.springframework.security.web.authentication.rememberme.RememberMeAuthenticationException;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 两个节点共用 CachingJdbcTokenRepository 表时的自动登录
+ *
+ * @author wan
+ */
+class ClientTypeRememberMeServicesTest {
+
+    private static final String TABLE = "multi_login_remember_me";
+    private static final String SERIES = "s1.app.password";
+
+    private CachingJdbcTokenRepository nodeA;
+    private CachingJdbcTokenRepository nodeB;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        nodeA = new CachingJdbcTokenRepository(jdbcTemplate, TABLE, 100, Duration.ofMinutes(5));
+        nodeB = new CachingJdbcTokenRepository(jdbcTemplate, TABLE, 100, Duration.ofMinutes(5));
+        nodeA.createTable(TABLE);
+        nodeA.createNewToken(new PersistentRememberMeToken("alice", SERIES, "t1", new Date()));
+    }
+
+    @Test
+    void rotationOnOtherNodeIsNotTakenForTheft() {
+        // 节点 A 缓存了 t1，随后客户端在节点 B 自动登录，令牌轮换为新值
+        nodeA.getTokenForSeries(SERIES);
+        String rotated = autoLogin(nodeB, "t1");
+
+        String next = autoLogin(nodeA, rotated);
+
+        assertThat(next).isNotEqualTo(rotated);
+        assertThat(nodeB.reloadTokenForSeries(SERIES).getTokenValue()).isEqualTo(next);
+    }
+
+    @Test
+    void staleCookieReplayedOnOtherNodeIsRejectedAsConcurrentRotation() {
+        nodeA.getTokenForSeries(SERIES);
+        autoLogin(nodeB, "t1");
+
+        assertThatThrownBy(() -> autoLogin(nodeA, "t1"))
+                .isInstanceOf(RememberMeAuthenticationException.class)
+                .isNotInstanceOf(CookieTheftException.class);
+    }
+
+    @Test
+    void mismatchAfterReloadIsTheft() {
+        assertThatThrownBy(() -> autoLogin(nodeA, "forged"))
+                .isInstanceOf(CookieTheftException.class);
+        assertThat(nodeB.getTokenForSeries(SERIES)).isNull();
+    }
+
+    /**
+     * @return 轮换后写入 Cookie 的新令牌
+     */
+    private static String autoLogin(CachingJdbcTokenRepository repository, String presentedToken) {
+        ClientTypeRememberMeServices services = new ClientTypeRememberMeServices("key",
+                new InMemoryUserDetailsManager(User.withUsername("alice").password("secret").roles("USER").build()),
+                repository, "password", "app");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        services.processAutoLoginCookie(new String[]{SERIES, presentedToken}, new MockHttpServletRequest(), response);
+        String cookie = new String(Base64.getDecoder().decode(response.getCookie("remember-me").getValue()),
+                StandardCharsets.UTF_8);
+        return URLDecoder.decode(cookie.split(":")[1], StandardCharsets.UTF_8);
+    }
+}
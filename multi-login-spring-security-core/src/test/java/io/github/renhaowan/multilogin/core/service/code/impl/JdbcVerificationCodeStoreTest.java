@@ -0,0 +1,106 @@
+package io.github.renhaowan.multilogin.core.service.code.impl;
+
+import io.github.renhaowan.multilogin.core.service.code.VerificationCodeResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * JdbcVerificationCodeStore 在 H2 上的行为
+ *
+ * @author wan
+ */
+class JdbcVerificationCodeStoreTest {
+
+    private static final String TABLE = "verification_code";
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcVerificationCodeStore store;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        store = new JdbcVerificationCodeStore(jdbcTemplate, TABLE, 3);
+        store.createTable(TABLE);
+    }
+
+    @Test
+    void createTableIsIdempotent() {
+        assertThatCode(() -> store.createTable(TABLE)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void codeIsConsumedOnce() {
+        store.save("sms", "13800000000", "123456", Duration.ofMinutes(5));
+
+        assertThat(store.verify("sms", "13800000000", "123456")).isEqualTo(VerificationCodeResult.SUCCESS);
+        assertThat(store.verify("sms", "13800000000", "123456")).isEqualTo(VerificationCodeResult.NOT_FOUND);
+    }
+
+    @Test
+    void resendReplacesCodeAndResetsAttempts() {
+        store.save("sms", "13800000000", "111111", Duration.ofMinutes(5));
+        store.verify("sms", "13800000000", "000000");
+        store.verify("sms", "13800000000", "000000");
+        store.save("sms", "13800000000", "222222", Duration.ofMinutes(5));
+
+        assertThat(store.verify("sms", "13800000000", "111111")).isEqualTo(VerificationCodeResult.MISMATCH);
+        assertThat(store.verify("sms", "13800000000", "222222")).isEqualTo(VerificationCodeResult.SUCCESS);
+    }
+
+    @Test
+    void tooManyAttemptsDiscardsCode() {
+        store.save("sms", "13800000000", "123456", Duration.ofMinutes(5));
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.verify("sms", "13800000000", "000000")).isEqualTo(VerificationCodeResult.MISMATCH);
+        }
+
+        assertThat(store.verify("sms", "13800000000", "123456")).isEqualTo(VerificationCodeResult.TOO_MANY_ATTEMPTS);
+        assertThat(store.verify("sms", "13800000000", "123456")).isEqualTo(VerificationCodeResult.NOT_FOUND);
+    }
+
+    @Test
+    void expiredCodeIsRejected() {
+        store.save("sms", "13800000000", "123456", Duration.ofMillis(-1));
+
+        assertThat(store.verify("sms", "13800000000", "123456")).isEqualTo(VerificationCodeResult.EXPIRED);
+        assertThat(store.purgeExpired()).isZero();
+    }
+
+    @Test
+    void concurrentSavesForSamePrincipalDoNotFail() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            String code = String.valueOf(100000 + i);
+            futures.add(executor.submit(() -> {
+                start.await();
+                store.save("sms", "13800000000", code, Duration.ofMinutes(5));
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + TABLE, Integer.class)).isEqualTo(1);
+    }
+}
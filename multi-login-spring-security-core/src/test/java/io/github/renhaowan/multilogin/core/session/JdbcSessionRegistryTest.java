@@ -0,0 +1,149 @@
+package io.github.renhaowan.multilogin.core.session;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.core.session.SessionIdChangedEvent;
+import org.springframework.security.core.session.SessionInformation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * JdbcSessionRegistry 在 H2 上的行为
+ *
+ * @author wan
+ */
+class JdbcSessionRegistryTest {
+
+    private static final String TABLE = "multi_login_session";
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcSessionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        registry = newRegistry(Duration.ZERO);
+        registry.createTable(TABLE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.close();
+    }
+
+    @Test
+    void createTableIsIdempotent() {
+        assertThatCode(() -> registry.createTable(TABLE)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void evictsOldestSessionBeyondLimit() {
+        registry.registerNewSession("s1", "alice", "app", 1);
+        List<SessionInformation> evicted = registry.registerNewSession("s2", "alice", "app", 1);
+
+        assertThat(evicted).extracting(SessionInformation::getSessionId).containsExactly("s1");
+        assertThat(registry.getSessionInformation("s1").isExpired()).isTrue();
+        assertThat(registry.getSessionInformation("s2").isExpired()).isFalse();
+        assertThat(registry.countSessions("alice", "app")).isEqualTo(1);
+    }
+
+    @Test
+    void staleSessionsAreIgnoredAndDeleted() {
+        registry.registerNewSession("s1", "alice", "app", -1);
+        long stale = System.currentTimeMillis() - Duration.ofHours(1).toMillis();
+        jdbcTemplate.update("UPDATE " + TABLE + " SET last_request = ? WHERE session_id = ?", stale, "s1");
+
+        assertThat(registry.countSessions("alice", "app")).isZero();
+        assertThat(registry.registerNewSessionIfBelowLimit("s2", "alice", "app", 1)).isTrue();
+        assertThat(registry.deleteStaleSessions()).isEqualTo(1);
+        assertThat(registry.getSessionInformation("s1")).isNull();
+    }
+
+    @Test
+    void preventLoginRejectsBeyondLimit() {
+        assertThat(registry.registerNewSessionIfBelowLimit("s1", "alice", "app", 1)).isTrue();
+        assertThat(registry.registerNewSessionIfBelowLimit("s2", "alice", "app", 1)).isFalse();
+        assertThat(registry.registerNewSessionIfBelowLimit("s3", "alice", "web", 1)).isTrue();
+        assertThat(registry.getSessionInformation("s2")).isNull();
+    }
+
+    @Test
+    void concurrentPreventLoginNeverExceedsLimit() throws Exception {
+        int logins = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(logins);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < logins; i++) {
+                String sessionId = "s" + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return registry.registerNewSessionIfBelowLimit(sessionId, "alice", "app", 2);
+                }));
+            }
+            start.countDown();
+            int accepted = 0;
+            for (Future<Boolean> result : results) {
+                accepted += result.get() ? 1 : 0;
+            }
+            assertThat(accepted).isLessThanOrEqualTo(2);
+            assertThat(registry.countSessions("alice", "app")).isEqualTo(accepted);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void longPrincipalCanRegisterAndIsEvicted() {
+        String principal = "u".repeat(2000);
+        registry.registerNewSession("s1", principal, "app", 1);
+        registry.registerNewSession("s2", principal, "app", 1);
+        registry.onApplicationEvent(new SessionIdChangedEvent(this) {
+            @Override
+            public String getOldSessionId() {
+                return "s2";
+            }
+
+            @Override
+            public String getNewSessionId() {
+                return "s3";
+            }
+        });
+
+        assertThat(registry.countSessions(principal, "app")).isEqualTo(1);
+        assertThat(registry.getAllSessions(principal, true)).extracting(SessionInformation::getSessionId)
+                .containsExactlyInAnyOrder("s1", "s3");
+        assertThat(registry.getSessionInformation("s1").isExpired()).isTrue();
+    }
+
+    @Test
+    void lookupCacheIsInvalidatedOnLocalEviction() {
+        registry.close();
+        registry = newRegistry(Duration.ofMinutes(1));
+        registry.registerNewSession("s1", "alice", "app", 1);
+        assertThat(registry.getSessionInformation("s1").isExpired()).isFalse();
+
+        registry.registerNewSession("s2", "alice", "app", 1);
+
+        assertThat(registry.getSessionInformation("s1").isExpired()).isTrue();
+    }
+
+    private JdbcSessionRegistry newRegistry(Duration lookupCacheTtl) {
+        return new JdbcSessionRegistry(jdbcTemplate, TABLE, Duration.ofMinutes(1), Duration.ofMinutes(35),
+                Duration.ZERO, lookupCacheTtl);
+    }
+}